@@ -0,0 +1,55 @@
+package software.amazon.emr.walworkspace;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import software.amazon.awssdk.services.emrwal.EmrwalClient;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+/**
+ * Fixtures shared by the benchmarks.
+ */
+final class BenchmarkSupport {
+    static final Credentials CREDENTIALS = new Credentials("accessKey", "secretKey", "token");
+    static final LoggerProxy LOGGER = new LoggerProxy();
+    static final String PARTITION = "aws";
+    static final String REGION = "us-east-1";
+    static final String ACCOUNT_ID = "123456789012";
+
+    private BenchmarkSupport() {
+    }
+
+    static AmazonWebServicesClientProxy proxy() {
+        return new AmazonWebServicesClientProxy(LOGGER, CREDENTIALS, () -> Duration.ofMinutes(10).toMillis());
+    }
+
+    static ProxyClient<EmrwalClient> proxyClient(final AmazonWebServicesClientProxy proxy, final EmrwalClient client) {
+        return AbstractTestBase.MOCK_PROXY(proxy, client);
+    }
+
+    static Set<Tag> modelTags(final int count) {
+        final Set<Tag> tags = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            tags.add(new Tag("tag-key-" + i, "tag-value-" + i));
+        }
+        return tags;
+    }
+
+    static Map<String, String> tagMap(final String keyPrefix, final int count) {
+        final Map<String, String> tags = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            tags.put(keyPrefix + i, "tag-value-" + i);
+        }
+        return tags;
+    }
+
+    static String arn(final String walWorkspaceName) {
+        return "arn:" + PARTITION + ":emrwal:" + REGION + ":" + ACCOUNT_ID + ":workspace/" + walWorkspaceName;
+    }
+}
@@ -0,0 +1,113 @@
+package software.amazon.emr.walworkspace;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.emrwal.EmrwalClient;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+/**
+ * Time to create a fleet of workspaces against a service with a fixed per-call latency: one CreateHandler
+ * invocation after the other, against the bulk provisioner at several pool sizes. The parallelism parameter
+ * only applies to the bulk benchmark, which gets an executor of that size so the shared one does not cap it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkProvisioningBenchmark {
+    private static final Duration SERVICE_LATENCY = Duration.ofMillis(10);
+
+    @Param({"100"})
+    public int workspaceCount;
+
+    @Param({"1", "4", "16"})
+    public int parallelism;
+
+    private final CreateHandler handler = new CreateHandler();
+    private final AdaptiveRateLimiter limiter = AdaptiveRateLimiter.builder()
+        .bucket(ApiNames.CREATE_WORKSPACE, new AdaptiveRateLimiter.BucketConfig(10_000, 10_000, 10_000))
+        .build();
+
+    private List<ResourceModel> models;
+    private InMemoryEmrwalClient client;
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void models() {
+        models = new ArrayList<>(workspaceCount);
+        for (int i = 0; i < workspaceCount; i++) {
+            models.add(ResourceModel.builder()
+                .wALWorkspaceName("workspace" + i)
+                .tags(BenchmarkSupport.modelTags(5))
+                .build());
+        }
+        executor = Executors.newFixedThreadPool(parallelism);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Setup(Level.Invocation)
+    public void emptyService() {
+        client = new InMemoryEmrwalClient()
+            .withLatency(InMemoryEmrwalClient.LatencyDistribution.fixed(SERVICE_LATENCY));
+    }
+
+    @Benchmark
+    public int oneAtATime() {
+        final AmazonWebServicesClientProxy proxy = BenchmarkSupport.proxy();
+        final ProxyClient<EmrwalClient> proxyClient = BenchmarkSupport.proxyClient(proxy, client);
+        int created = 0;
+        for (final ResourceModel model : models) {
+            final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+            if (handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, BenchmarkSupport.LOGGER)
+                .getStatus() == OperationStatus.SUCCESS) {
+                created++;
+            }
+        }
+        return created;
+    }
+
+    @Benchmark
+    public int bulk() {
+        final List<BulkWorkspaceProvisioner.Outcome> outcomes = BulkWorkspaceProvisioner.builder()
+            .client(client)
+            .parallelism(parallelism)
+            .executor(executor)
+            .rateLimiter(limiter)
+            .build()
+            .createAll(models);
+        int created = 0;
+        for (final BulkWorkspaceProvisioner.Outcome outcome : outcomes) {
+            created += outcome.isSucceeded() ? 1 : 0;
+        }
+        return created;
+    }
+}
@@ -0,0 +1,68 @@
+package software.amazon.emr.walworkspace;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.emrwal.EmrwalClient;
+import software.amazon.awssdk.services.emrwal.model.ListWorkspacesRequest;
+import software.amazon.awssdk.services.emrwal.model.ListWorkspacesResponse;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+/**
+ * Time from a fresh JVM to the first client call made through the proxy, which is what the first invocation after
+ * a Lambda cold start pays. Each measurement forks a new JVM so the client holder is initialised exactly once;
+ * the request function only touches the client, so nothing goes over the network.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(value = 20, jvmArgsAppend = {"-Daws.region=us-east-1", "-Daws.accessKeyId=x", "-Daws.secretAccessKey=y"})
+public class ClientStartupBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Cold {
+    }
+
+    @State(Scope.Benchmark)
+    public static class Warm {
+        /**
+         * In Lambda this runs during the init phase, before and outside of the first invocation.
+         */
+        @Setup(Level.Trial)
+        public void warmUp() {
+            ClientBuilder.warmUp();
+        }
+    }
+
+    @Benchmark
+    public ListWorkspacesResponse firstCall(final Cold state) {
+        return firstInvocation();
+    }
+
+    @Benchmark
+    public ListWorkspacesResponse firstCallAfterWarmUp(final Warm state) {
+        return firstInvocation();
+    }
+
+    private static ListWorkspacesResponse firstInvocation() {
+        final ProxyClient<EmrwalClient> proxyClient =
+            BenchmarkSupport.proxyClient(BenchmarkSupport.proxy(), ClientBuilder.getClient());
+        return proxyClient.injectCredentialsAndInvokeV2(
+            ListWorkspacesRequest.builder().maxResults(BaseHandlerStd.MAX_RESULT).build(),
+            request -> {
+                proxyClient.client();
+                return ListWorkspacesResponse.builder().build();
+            });
+    }
+}
@@ -0,0 +1,102 @@
+package software.amazon.emr.walworkspace;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.emrwal.model.EmrwalException;
+import software.amazon.awssdk.services.emrwal.model.TaggingFailedException;
+import software.amazon.awssdk.services.emrwal.model.WalThrottlingException;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+
+/**
+ * ErrorClassifier against the chain of message checks it replaced, for the failures a handler sees most.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ErrorClassifierBenchmark {
+    private static final Set<Class<? extends Exception>> LEGACY_RETRYABLE_EXCEPTIONS = new HashSet<>();
+
+    static {
+        LEGACY_RETRYABLE_EXCEPTIONS.add(TaggingFailedException.class);
+        LEGACY_RETRYABLE_EXCEPTIONS.add(WalThrottlingException.class);
+    }
+
+    @Param({"throttling", "notFound", "general"})
+    public String failure;
+
+    private String operation;
+    private Exception exception;
+
+    @Setup
+    public void setup() {
+        switch (failure) {
+            case "throttling":
+                operation = CreateHandler.OPERATION;
+                exception = WalThrottlingException.builder().message("Rate exceeded").build();
+                break;
+            case "notFound":
+                operation = UpdateHandler.OPERATION;
+                exception = TaggingFailedException.builder()
+                    .message("Unable to list tag, please make sure Workspace is created first").build();
+                break;
+            default:
+                operation = ListHandler.OPERATION;
+                exception = EmrwalException.builder().message("Internal failure").build();
+                break;
+        }
+    }
+
+    @Benchmark
+    public ErrorClassifier.Classification classifier() {
+        return ErrorClassifier.DEFAULT.classify(operation, exception);
+    }
+
+    @Benchmark
+    public ErrorClassifier.Classification legacy() {
+        return legacyClassify(operation, exception);
+    }
+
+    /**
+     * The checks handleError used to run inline, in the same order.
+     */
+    private static ErrorClassifier.Classification legacyClassify(final String operation, final Exception exception) {
+        if (operation.equals(CreateHandler.OPERATION)) {
+            if (exception.getMessage() != null && exception.getMessage().contains("already exists")) {
+                return ErrorClassifier.ALREADY_EXISTS;
+            }
+        }
+        if (operation.equals(UpdateHandler.OPERATION) && exception instanceof TaggingFailedException) {
+            if (exception.getMessage() != null
+                && exception.getMessage().contains("Unable to retrieve workspace for tagging")) {
+                return ErrorClassifier.NOT_FOUND;
+            }
+        }
+        if ((operation.equals(ReadHandler.OPERATION) || operation.equals(UpdateHandler.OPERATION))
+            && exception instanceof TaggingFailedException) {
+            if (exception.getMessage() != null && exception.getMessage()
+                .contains("Unable to list tag, please make sure Workspace is created first")) {
+                return ErrorClassifier.NOT_FOUND;
+            }
+        }
+        if (LEGACY_RETRYABLE_EXCEPTIONS.contains(exception.getClass())) {
+            return ErrorClassifier.RETRYABLE_FAILURE;
+        }
+        return new ErrorClassifier.Classification(HandlerErrorCode.GeneralServiceException, false);
+    }
+}
@@ -0,0 +1,105 @@
+package software.amazon.emr.walworkspace;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.emrwal.EmrwalClient;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+/**
+ * Full handleRequest calls against the in-memory EmrwalClient: everything a handler does except the network.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class HandlerBenchmark {
+    private static final String WORKSPACE = "benchmark";
+
+    @Param({"0", "10", "50"})
+    public int tagCount;
+
+    private final CreateHandler createHandler = new CreateHandler();
+    private final ReadHandler readHandler = new ReadHandler();
+    private final UpdateHandler updateHandler = new UpdateHandler();
+    private final DeleteHandler deleteHandler = new DeleteHandler();
+    private final ListHandler listHandler = new ListHandler();
+
+    private AmazonWebServicesClientProxy proxy;
+    private ProxyClient<EmrwalClient> proxyClient;
+
+    private ResourceHandlerRequest<ResourceModel> createRequest;
+    private ResourceHandlerRequest<ResourceModel> readRequest;
+    private ResourceHandlerRequest<ResourceModel> listRequest;
+    private ResourceHandlerRequest<ResourceModel> updateToSecondRequest;
+    private ResourceHandlerRequest<ResourceModel> updateToFirstRequest;
+    private boolean toggle;
+
+    @Setup
+    public void setup() {
+        final InMemoryEmrwalClient client = new InMemoryEmrwalClient()
+            .withWorkspaces("workspace", BaseHandlerStd.MAX_RESULT)
+            .withWorkspace(WORKSPACE, BenchmarkSupport.tagMap("tag-key-", tagCount));
+        proxy = BenchmarkSupport.proxy();
+        proxyClient = BenchmarkSupport.proxyClient(proxy, client);
+
+        final Set<Tag> firstTags = BenchmarkSupport.modelTags(tagCount);
+        final Set<Tag> secondTags = BenchmarkSupport.modelTags(tagCount / 2);
+        secondTags.add(new Tag("changed", "value"));
+
+        createRequest = request(ResourceModel.builder().wALWorkspaceName("created").tags(firstTags).build());
+        readRequest = request(ResourceModel.builder().wALWorkspaceName(WORKSPACE).build());
+        listRequest = request(ResourceModel.builder().build());
+        updateToSecondRequest = request(ResourceModel.builder().wALWorkspaceName(WORKSPACE).tags(secondTags).build());
+        updateToFirstRequest = request(ResourceModel.builder().wALWorkspaceName(WORKSPACE).tags(firstTags).build());
+    }
+
+    @Benchmark
+    public ProgressEvent<ResourceModel, CallbackContext> createAndDelete() {
+        createHandler.handleRequest(proxy, createRequest, new CallbackContext(), proxyClient, BenchmarkSupport.LOGGER);
+        return deleteHandler.handleRequest(proxy, createRequest, new CallbackContext(), proxyClient,
+            BenchmarkSupport.LOGGER);
+    }
+
+    @Benchmark
+    public ProgressEvent<ResourceModel, CallbackContext> read() {
+        return readHandler.handleRequest(proxy, readRequest, new CallbackContext(), proxyClient, BenchmarkSupport.LOGGER);
+    }
+
+    @Benchmark
+    public ProgressEvent<ResourceModel, CallbackContext> update() {
+        toggle = !toggle;
+        return updateHandler.handleRequest(proxy, toggle ? updateToSecondRequest : updateToFirstRequest,
+            new CallbackContext(), proxyClient, BenchmarkSupport.LOGGER);
+    }
+
+    @Benchmark
+    public ProgressEvent<ResourceModel, CallbackContext> listPage() {
+        return listHandler.handleRequest(proxy, listRequest, new CallbackContext(), proxyClient, BenchmarkSupport.LOGGER);
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> request(final ResourceModel model) {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(model)
+            .awsPartition(BenchmarkSupport.PARTITION)
+            .region(BenchmarkSupport.REGION)
+            .awsAccountId(BenchmarkSupport.ACCOUNT_ID)
+            .build();
+    }
+}
@@ -0,0 +1,296 @@
+package software.amazon.emr.walworkspace;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.amazonaws.services.lambda.runtime.ClientContext;
+import com.amazonaws.services.lambda.runtime.CognitoIdentity;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.emrwal.EmrwalClient;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerTestPayload;
+import software.amazon.cloudformation.resource.Serializer;
+
+/**
+ * One handler invocation end to end, through the generated HandlerWrapper's testEntrypoint with the JSON payload
+ * CloudFormation's SAM tests send, and each stage of it on its own:
+ *
+ * - deserialize: payload JSON to ResourceHandlerTestPayload, i.e. the ResourceHandlerRequest and CallbackContext
+ * - newProxy: the credentials proxy and the ProxyClient over the shared client
+ * - handle: the handler's handleRequest, including the EMR WAL calls
+ * - serialize: the ProgressEvent, with its CallbackContext, back to JSON
+ * - invoke: all of the above plus the wrapper's own logging and stream handling
+ *
+ * The shared client is pointed at a loopback HTTP stub with the endpoint override. The stub answers every call with
+ * an empty JSON object, a valid and empty response for each of the six APIs, so the handlers take their success
+ * paths and the service time is a loopback round trip. The handlers still go through the shared rate limiter, so
+ * once its budget is spent an invocation returns IN_PROGRESS without calling the stub; compare runs at the same
+ * rate. With the gc profiler on, gc.alloc.rate.norm of each stage shows where the bytes of an invocation are
+ * allocated.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class InvocationBenchmark {
+    private static final byte[] EMPTY_RESPONSE = "{}".getBytes(StandardCharsets.UTF_8);
+    private static final TypeReference<ResourceHandlerTestPayload<ResourceModel, CallbackContext>> PAYLOAD_TYPE =
+        new TypeReference<ResourceHandlerTestPayload<ResourceModel, CallbackContext>>() {
+        };
+
+    @Param({"CREATE", "READ", "UPDATE", "DELETE", "LIST"})
+    public String action;
+
+    private final Serializer serializer = new Serializer();
+    private final Context context = new StubContext();
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream(4096);
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private HandlerWrapper wrapper;
+    private BaseHandlerStd handler;
+    private String payloadJson;
+    private byte[] payloadBytes;
+    private ResourceHandlerTestPayload<ResourceModel, CallbackContext> payload;
+    private AmazonWebServicesClientProxy proxy;
+    private ProgressEvent<ResourceModel, CallbackContext> event;
+
+    @Setup
+    public void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", InvocationBenchmark::respond);
+        serverExecutor = Executors.newFixedThreadPool(4);
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        // Read once by ClientBuilder when the shared client is first built, which has not happened in this fork yet
+        System.setProperty(ProviderSettings.ENDPOINT_PROPERTY, "http://localhost:" + server.getAddress().getPort());
+        System.setProperty("aws.region", BenchmarkSupport.REGION);
+        System.setProperty("aws.accessKeyId", "accessKey");
+        System.setProperty("aws.secretAccessKey", "secretKey");
+
+        wrapper = new HandlerWrapper();
+        handler = handlerFor(action);
+        payloadJson = payload(action);
+        payloadBytes = payloadJson.getBytes(StandardCharsets.UTF_8);
+        payload = serializer.deserialize(payloadJson, PAYLOAD_TYPE);
+        proxy = newProxy();
+
+        event = handle();
+        // A callback context as a re-invoked Create or Update carries it, so its serialization is measured too
+        final CallbackContext callbackContext = new CallbackContext();
+        callbackContext.setWalWorkspaceArn(BenchmarkSupport.arn("benchmark"));
+        callbackContext.setPendingTagsToAdd(BenchmarkSupport.tagMap("tag-key-", 10));
+        event.setCallbackContext(callbackContext);
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public ResourceHandlerTestPayload<ResourceModel, CallbackContext> deserialize() throws IOException {
+        return serializer.deserialize(payloadJson, PAYLOAD_TYPE);
+    }
+
+    @Benchmark
+    public ProxyClient<EmrwalClient> newProxy() {
+        return new AmazonWebServicesClientProxy(BenchmarkSupport.LOGGER, payload.getCredentials(),
+            () -> (long) context.getRemainingTimeInMillis()).newProxy(ClientBuilder::getClient);
+    }
+
+    @Benchmark
+    public ProgressEvent<ResourceModel, CallbackContext> handle() {
+        return handler.handleRequest(proxy, payload.getRequest(), payload.getCallbackContext(),
+            BenchmarkSupport.LOGGER);
+    }
+
+    @Benchmark
+    public String serialize() throws IOException {
+        return serializer.serialize(event);
+    }
+
+    @Benchmark
+    public int invoke() throws IOException {
+        output.reset();
+        wrapper.testEntrypoint(new ByteArrayInputStream(payloadBytes), output, context);
+        return output.size();
+    }
+
+    private static BaseHandlerStd handlerFor(final String action) {
+        switch (action) {
+            case "CREATE":
+                return new CreateHandler();
+            case "READ":
+                return new ReadHandler();
+            case "UPDATE":
+                return new UpdateHandler();
+            case "DELETE":
+                return new DeleteHandler();
+            case "LIST":
+                return new ListHandler();
+            default:
+                throw new IllegalArgumentException("Unknown action " + action);
+        }
+    }
+
+    /**
+     * The payload of a SAM test event for the action, see README.
+     */
+    private static String payload(final String action) {
+        final String named = "{\"WALWorkspaceName\":\"benchmark\"}";
+        final String tagged = "{\"WALWorkspaceName\":\"benchmark\",\"Tags\":" + tags("tag-key-", 10) + "}";
+        final String retagged = "{\"WALWorkspaceName\":\"benchmark\",\"Tags\":" + tags("tag-key-", 5) + "}";
+        final String request;
+        switch (action) {
+            case "CREATE":
+                request = "\"desiredResourceState\":" + tagged;
+                break;
+            case "UPDATE":
+                request = "\"desiredResourceState\":" + retagged + ",\"previousResourceState\":" + tagged;
+                break;
+            case "LIST":
+                request = "\"desiredResourceState\":{},\"nextToken\":null";
+                break;
+            default:
+                request = "\"desiredResourceState\":" + named;
+        }
+        return "{\"credentials\":{\"accessKeyId\":\"accessKey\",\"secretAccessKey\":\"secretKey\","
+            + "\"sessionToken\":\"token\"},"
+            + "\"action\":\"" + action + "\","
+            + "\"request\":{\"clientRequestToken\":\"4b90a7e4-b790-456b-a937-0cfdfa211dfe\","
+            + "\"awsPartition\":\"" + BenchmarkSupport.PARTITION + "\","
+            + "\"region\":\"" + BenchmarkSupport.REGION + "\","
+            + "\"awsAccountId\":\"" + BenchmarkSupport.ACCOUNT_ID + "\","
+            + "\"logicalResourceIdentifier\":\"WALWorkspace\","
+            + request + "},"
+            + "\"callbackContext\":null}";
+    }
+
+    private static String tags(final String keyPrefix, final int count) {
+        final StringBuilder tags = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                tags.append(',');
+            }
+            tags.append("{\"Key\":\"").append(keyPrefix).append(i)
+                .append("\",\"Value\":\"tag-value-").append(i).append("\"}");
+        }
+        return tags.append(']').toString();
+    }
+
+    private static void respond(final HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            while (body.read() != -1) {
+                // drain the request so the connection can be reused
+            }
+        }
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, EMPTY_RESPONSE.length);
+        try (OutputStream response = exchange.getResponseBody()) {
+            response.write(EMPTY_RESPONSE);
+        }
+    }
+
+    /**
+     * Lambda context of a function with plenty of time left. The wrapper's log lines are dropped.
+     */
+    private static final class StubContext implements Context {
+        private static final LambdaLogger DISCARD = new LambdaLogger() {
+            @Override
+            public void log(final String message) {
+            }
+
+            @Override
+            public void log(final byte[] message) {
+            }
+        };
+
+        @Override
+        public String getAwsRequestId() {
+            return "benchmark";
+        }
+
+        @Override
+        public String getLogGroupName() {
+            return "benchmark";
+        }
+
+        @Override
+        public String getLogStreamName() {
+            return "benchmark";
+        }
+
+        @Override
+        public String getFunctionName() {
+            return "benchmark";
+        }
+
+        @Override
+        public String getFunctionVersion() {
+            return "$LATEST";
+        }
+
+        @Override
+        public String getInvokedFunctionArn() {
+            return "arn:" + BenchmarkSupport.PARTITION + ":lambda:" + BenchmarkSupport.REGION + ":"
+                + BenchmarkSupport.ACCOUNT_ID + ":function:benchmark";
+        }
+
+        @Override
+        public CognitoIdentity getIdentity() {
+            return null;
+        }
+
+        @Override
+        public ClientContext getClientContext() {
+            return null;
+        }
+
+        @Override
+        public int getRemainingTimeInMillis() {
+            return (int) TimeUnit.MINUTES.toMillis(10);
+        }
+
+        @Override
+        public int getMemoryLimitInMB() {
+            return 512;
+        }
+
+        @Override
+        public LambdaLogger getLogger() {
+            return DISCARD;
+        }
+    }
+}
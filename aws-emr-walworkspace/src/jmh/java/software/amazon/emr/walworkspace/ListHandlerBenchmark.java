@@ -0,0 +1,73 @@
+package software.amazon.emr.walworkspace;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.emrwal.EmrwalClient;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+/**
+ * ListHandler over an account with a million workspaces. A single invocation must cost one page regardless of the
+ * account size; the full scan follows nextToken the way CloudFormation does and is measured once per iteration.
+ */
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ListHandlerBenchmark {
+    private static final int WORKSPACE_COUNT = 1_000_000;
+
+    private final ListHandler handler = new ListHandler();
+    private AmazonWebServicesClientProxy proxy;
+    private ProxyClient<EmrwalClient> proxyClient;
+
+    @Setup
+    public void setup() {
+        proxy = BenchmarkSupport.proxy();
+        proxyClient = BenchmarkSupport.proxyClient(proxy,
+            new InMemoryEmrwalClient().withWorkspaces("workspace", WORKSPACE_COUNT));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public ProgressEvent<ResourceModel, CallbackContext> singlePage() {
+        return handler.handleRequest(proxy, request(null), new CallbackContext(), proxyClient, BenchmarkSupport.LOGGER);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    public int fullScan() {
+        int models = 0;
+        String nextToken = null;
+        do {
+            final ProgressEvent<ResourceModel, CallbackContext> event = handler.handleRequest(proxy,
+                request(nextToken), new CallbackContext(), proxyClient, BenchmarkSupport.LOGGER);
+            models += event.getResourceModels().size();
+            nextToken = event.getNextToken();
+        } while (nextToken != null);
+        return models;
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> request(final String nextToken) {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(ResourceModel.builder().build())
+            .nextToken(nextToken)
+            .awsPartition(BenchmarkSupport.PARTITION)
+            .region(BenchmarkSupport.REGION)
+            .awsAccountId(BenchmarkSupport.ACCOUNT_ID)
+            .build();
+    }
+}
@@ -0,0 +1,127 @@
+package software.amazon.emr.walworkspace;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.emrwal.EmrwalClient;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+/**
+ * Create, update, read and delete of one workspace, served from a recording by {@link ReplayEmrwalClient}. Every
+ * run makes the same calls and gets the same answers, so two builds can be compared on identical traffic.
+ *
+ * The recording is the file named by the emrwal.replayFile system property, e.g. this lifecycle run once against the
+ * service through a {@link RecordingProxyClient}; without it the lifecycle is recorded against the in-memory service
+ * with a log-normal latency.
+ * A speed of 0 measures the handlers alone, 1 adds the recorded service latencies.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ReplayBenchmark {
+    static final String REPLAY_FILE_PROPERTY = "emrwal.replayFile";
+    private static final String WORKSPACE = "replayed";
+
+    @Param({"0", "1"})
+    public double speed;
+
+    private final ProviderSettings settings = ProviderSettings.builder().asyncTagging(true).build();
+    private final CreateHandler createHandler = new CreateHandler(settings);
+    private final UpdateHandler updateHandler = new UpdateHandler(settings);
+    private final ReadHandler readHandler = new ReadHandler(settings);
+    private final DeleteHandler deleteHandler = new DeleteHandler(settings);
+    private AmazonWebServicesClientProxy proxy;
+    private List<RecordedCall> calls;
+    private ReplayEmrwalClient replay;
+
+    private ResourceHandlerRequest<ResourceModel> createRequest;
+    private ResourceHandlerRequest<ResourceModel> updateRequest;
+    private ResourceHandlerRequest<ResourceModel> identifierRequest;
+
+    @Setup
+    public void setup() throws IOException {
+        proxy = BenchmarkSupport.proxy();
+        final ResourceModel created = ResourceModel.builder()
+            .wALWorkspaceName(WORKSPACE)
+            .tags(BenchmarkSupport.modelTags(10))
+            .build();
+        final Set<Tag> updatedTags = BenchmarkSupport.modelTags(5);
+        updatedTags.add(new Tag("changed", "value"));
+        createRequest = request(created);
+        updateRequest = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(ResourceModel.builder().wALWorkspaceName(WORKSPACE).tags(updatedTags).build())
+            .previousResourceState(created)
+            .awsPartition(BenchmarkSupport.PARTITION)
+            .region(BenchmarkSupport.REGION)
+            .awsAccountId(BenchmarkSupport.ACCOUNT_ID)
+            .build();
+        identifierRequest = request(ResourceModel.builder().wALWorkspaceName(WORKSPACE).build());
+
+        final String replayFile = System.getProperty(REPLAY_FILE_PROPERTY);
+        calls = TrafficCodec.read(replayFile != null ? Paths.get(replayFile) : record());
+    }
+
+    @Setup(Level.Invocation)
+    public void rewind() {
+        replay = new ReplayEmrwalClient(calls, speed);
+    }
+
+    @Benchmark
+    public ProgressEvent<ResourceModel, CallbackContext> lifecycle() {
+        return lifecycle(BenchmarkSupport.proxyClient(proxy, replay));
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> lifecycle(final ProxyClient<EmrwalClient> proxyClient) {
+        createHandler.handleRequest(proxy, createRequest, new CallbackContext(), proxyClient, BenchmarkSupport.LOGGER);
+        updateHandler.handleRequest(proxy, updateRequest, new CallbackContext(), proxyClient, BenchmarkSupport.LOGGER);
+        readHandler.handleRequest(proxy, identifierRequest, new CallbackContext(), proxyClient,
+            BenchmarkSupport.LOGGER);
+        return deleteHandler.handleRequest(proxy, identifierRequest, new CallbackContext(), proxyClient,
+            BenchmarkSupport.LOGGER);
+    }
+
+    private Path record() throws IOException {
+        final Path recording = Files.createTempFile("emrwal-replay", ".jsonl");
+        recording.toFile().deleteOnExit();
+        final InMemoryEmrwalClient service = new InMemoryEmrwalClient()
+            .withWorkspaces("workspace", 100)
+            .withLatency(InMemoryEmrwalClient.LatencyDistribution.logNormal(Duration.ofMillis(20),
+                Duration.ofMillis(120)));
+        lifecycle(new RecordingProxyClient(BenchmarkSupport.proxyClient(proxy, service),
+            TrafficRecorder.forFile(recording.toString())));
+        return recording;
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> request(final ResourceModel model) {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(model)
+            .awsPartition(BenchmarkSupport.PARTITION)
+            .region(BenchmarkSupport.REGION)
+            .awsAccountId(BenchmarkSupport.ACCOUNT_ID)
+            .build();
+    }
+}
@@ -0,0 +1,65 @@
+package software.amazon.emr.walworkspace;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of the pre-flight validation every handler invocation now pays, for valid models of growing tag counts and
+ * for a model that fails on its last tag.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResourceModelValidatorBenchmark {
+
+    @Param({"0", "10", "50"})
+    public int tagCount;
+
+    private ResourceModelValidator validator;
+    private ResourceModel valid;
+    private ResourceModel invalid;
+
+    @Setup
+    public void setup() {
+        validator = ResourceModelValidator.shared();
+        final Set<Tag> tags = BenchmarkSupport.modelTags(tagCount);
+        valid = ResourceModel.builder().wALWorkspaceName("benchmark").tags(tags).build();
+        final Set<Tag> invalidTags = new HashSet<>(tags);
+        invalidTags.add(new Tag("aws:reserved", "value"));
+        invalid = ResourceModel.builder().wALWorkspaceName("benchmark").tags(invalidTags).build();
+    }
+
+    @Benchmark
+    public List<String> validModel() {
+        return validator.validate(valid);
+    }
+
+    @Benchmark
+    public List<String> invalidModel() {
+        return validator.validate(invalid);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ResourceModelValidator loadSchema() {
+        return ResourceModelValidator.load(ResourceModelValidator.SCHEMA_RESOURCE);
+    }
+}
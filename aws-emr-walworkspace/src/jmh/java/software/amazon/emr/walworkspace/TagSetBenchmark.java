@@ -0,0 +1,142 @@
+package software.amazon.emr.walworkspace;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import software.amazon.awssdk.services.emrwal.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.emrwal.model.TagResourceRequest;
+
+/**
+ * Allocation of the tag work an update does: merge the request and service tags, diff them and build the tagging
+ * requests. The legacy variant is the map and stream conversion the update used before TagSet, compare the
+ * gc.alloc.rate.norm of the two for the bytes allocated per update.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TagSetBenchmark {
+
+    @Param({"10", "50"})
+    public int tagCount;
+
+    private Map<String, String> previousStackTags;
+    private Map<String, String> desiredStackTags;
+    private Map<String, String> systemTags;
+    private Set<Tag> modelTags;
+    private ListTagsForResourceResponse listTagsResponse;
+    private String arn;
+
+    @Setup
+    public void setup() {
+        previousStackTags = BenchmarkSupport.tagMap("stack-tag-", tagCount);
+        // One tag changed, one added and one removed
+        desiredStackTags = new HashMap<>(previousStackTags);
+        desiredStackTags.put("stack-tag-0", "changed");
+        desiredStackTags.put("stack-tag-added", "value");
+        desiredStackTags.remove("stack-tag-1");
+        systemTags = new HashMap<>();
+        systemTags.put("aws:cloudformation:stack-name", "benchmark-stack");
+        systemTags.put("aws:cloudformation:stack-id", "arn:aws:cloudformation:us-east-1:123456789012:stack/benchmark");
+        systemTags.put("aws:cloudformation:logical-id", "Workspace");
+        modelTags = BenchmarkSupport.modelTags(tagCount);
+
+        final List<software.amazon.awssdk.services.emrwal.model.Tag> serviceTags = new ArrayList<>();
+        previousStackTags.forEach((key, value) -> serviceTags.add(
+            software.amazon.awssdk.services.emrwal.model.Tag.builder().key(key).value(value).build()));
+        systemTags.forEach((key, value) -> serviceTags.add(
+            software.amazon.awssdk.services.emrwal.model.Tag.builder().key(key).value(value).build()));
+        modelTags.forEach(tag -> serviceTags.add(toSdkTag(tag)));
+        listTagsResponse = ListTagsForResourceResponse.builder().tags(serviceTags).build();
+        arn = BenchmarkSupport.arn("benchmark");
+    }
+
+    @Benchmark
+    public void tagSet(final Blackhole blackhole) {
+        final TagSet previous = TagSet.builder()
+            .putAll(previousStackTags)
+            .putAll(systemTags)
+            .putAll(Translator.translateTagsFromReadResponse(listTagsResponse))
+            .build();
+        final TagSet desired = TagSet.builder()
+            .putAll(desiredStackTags)
+            .putAll(systemTags)
+            .putAll(modelTags)
+            .build();
+        final TagReconciliationPlan plan = TagReconciliationPlan.of(previous, desired);
+        blackhole.consume(Translator.tagResourceRequest(arn, plan.getTagsToAdd()));
+        blackhole.consume(Translator.untagResourceRequest(arn, plan.getTagsToRemove()));
+    }
+
+    @Benchmark
+    public void legacy(final Blackhole blackhole) {
+        final Map<String, String> previous = toMap(Translator.convertResourceTagsToSet(previousStackTags));
+        final Map<String, String> desired = toMap(Translator.convertResourceTagsToSet(desiredStackTags));
+        previous.putAll(toMap(Translator.convertResourceTagsToSet(systemTags)));
+        desired.putAll(toMap(Translator.convertResourceTagsToSet(systemTags)));
+        desired.putAll(toMap(modelTags));
+        previous.putAll(toMap(listTagsResponse.tags().stream()
+            .map(TagSetBenchmark::toModelTag)
+            .collect(Collectors.toSet())));
+
+        final Set<Tag> tagsToAdd = new HashSet<>();
+        final Set<Tag> tagsToRemove = new HashSet<>();
+        desired.forEach((key, value) -> {
+            if (!previous.containsKey(key) || !String.valueOf(previous.get(key)).equals(String.valueOf(value))) {
+                tagsToAdd.add(Tag.builder().key(key).value(value).build());
+            }
+        });
+        previous.forEach((key, value) -> {
+            if (!desired.containsKey(key)) {
+                tagsToRemove.add(Tag.builder().key(key).value(value).build());
+            }
+        });
+        blackhole.consume(TagResourceRequest.builder()
+            .resourceARN(arn)
+            .tags(tagsToAdd.stream().map(TagSetBenchmark::toSdkTag).collect(Collectors.toList()))
+            .build());
+        blackhole.consume(Translator.untagResourceRequest(arn, tagsToRemove));
+    }
+
+    @Benchmark
+    public TagSet fromSdk() {
+        return Translator.translateTagsFromReadResponse(listTagsResponse);
+    }
+
+    // The per-tag conversions of the legacy update, which TagSet replaced in the handlers
+
+    private static Map<String, String> toMap(final Set<Tag> tags) {
+        final Map<String, String> tagMap = new HashMap<>();
+        tags.forEach(tag -> tagMap.put(tag.getKey(), tag.getValue()));
+        return tagMap;
+    }
+
+    private static software.amazon.awssdk.services.emrwal.model.Tag toSdkTag(final Tag tag) {
+        return software.amazon.awssdk.services.emrwal.model.Tag.builder().key(tag.getKey()).value(tag.getValue())
+            .build();
+    }
+
+    private static Tag toModelTag(final software.amazon.awssdk.services.emrwal.model.Tag tag) {
+        return new Tag(tag.key(), tag.value() == null ? "" : tag.value());
+    }
+}
@@ -0,0 +1,78 @@
+package software.amazon.emr.walworkspace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.emrwal.model.CreateWorkspaceRequest;
+import software.amazon.awssdk.services.emrwal.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.emrwal.model.TagResourceRequest;
+
+/**
+ * Throughput and allocation of the translations every invocation goes through. Run with -prof gc to get
+ * gc.alloc.rate.norm, the bytes allocated per call.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TranslatorBenchmark {
+
+    @Param({"0", "10", "50"})
+    public int tagCount;
+
+    private ResourceModel model;
+    private Set<Tag> modelTags;
+    private Map<String, String> resourceTags;
+    private ListTagsForResourceResponse listTagsResponse;
+    private String arn;
+
+    @Setup
+    public void setup() {
+        modelTags = BenchmarkSupport.modelTags(tagCount);
+        model = ResourceModel.builder().wALWorkspaceName("benchmark").tags(modelTags).build();
+        resourceTags = BenchmarkSupport.tagMap("stack-tag-", tagCount);
+        final List<software.amazon.awssdk.services.emrwal.model.Tag> sdkTags = new ArrayList<>();
+        modelTags.forEach(tag -> sdkTags.add(software.amazon.awssdk.services.emrwal.model.Tag.builder()
+            .key(tag.getKey())
+            .value(tag.getValue())
+            .build()));
+        listTagsResponse = ListTagsForResourceResponse.builder().tags(sdkTags).build();
+        arn = BenchmarkSupport.arn("benchmark");
+    }
+
+    @Benchmark
+    public CreateWorkspaceRequest translateToCreateRequest() {
+        return Translator.translateToCreateRequest(model);
+    }
+
+    @Benchmark
+    public ResourceModel translateFromReadResponse() {
+        return Translator.translateFromReadResponse(listTagsResponse, "benchmark");
+    }
+
+    @Benchmark
+    public TagResourceRequest tagResourceRequest() {
+        return Translator.tagResourceRequest(arn, modelTags);
+    }
+
+    @Benchmark
+    public Set<Tag> convertResourceTagsToSet() {
+        return Translator.convertResourceTagsToSet(resourceTags);
+    }
+}
@@ -0,0 +1,68 @@
+package software.amazon.emr.walworkspace;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.emrwal.EmrwalClient;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+/**
+ * Cost of an existence check as the account grows. A workspace on the first page should stay flat while a
+ * missing one pays for every page.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WorkspaceIndexBenchmark {
+    private static final String PREFIX = "workspace";
+
+    @Param({"10", "1000", "100000"})
+    public int workspaceCount;
+
+    private ProxyClient<EmrwalClient> proxyClient;
+    private String firstName;
+    private String lastName;
+
+    @Setup
+    public void setup() {
+        final InMemoryEmrwalClient client = new InMemoryEmrwalClient().withWorkspaces(PREFIX, workspaceCount);
+        proxyClient = BenchmarkSupport.proxyClient(BenchmarkSupport.proxy(), client);
+        // Pages are in lexicographic order, so the last page holds the greatest name rather than the highest index
+        firstName = PREFIX + 0;
+        lastName = firstName;
+        for (int i = 1; i < workspaceCount; i++) {
+            final String name = PREFIX + i;
+            if (name.compareTo(lastName) > 0) {
+                lastName = name;
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean containsFirst() {
+        return new WorkspaceIndex(proxyClient).contains(firstName);
+    }
+
+    @Benchmark
+    public boolean containsLast() {
+        return new WorkspaceIndex(proxyClient).contains(lastName);
+    }
+
+    @Benchmark
+    public boolean containsMissing() {
+        return new WorkspaceIndex(proxyClient).contains("missing");
+    }
+}
@@ -0,0 +1,59 @@
+package software.amazon.emr.walworkspace;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.services.emrwal.EmrwalClient;
+
+/**
+ * Loads the classes a handler invocation needs, without calling the service. The lean profile runs it against the
+ * minimized jar, so a class minimizeJar dropped fails the build rather than the first invocation. It is build-only
+ * and does not ship in the jar:
+ *
+ * java -cp target/test-classes:target/aws-emr-walworkspace-1.0-SNAPSHOT.jar \
+ *     software.amazon.emr.walworkspace.StartupTrainer
+ */
+final class StartupTrainer {
+
+    private StartupTrainer() {
+    }
+
+    public static void main(final String[] args) {
+        new HandlerWrapper();
+        ClientBuilder.warmUp();
+        // The shared client uses the transport of the environment, build the pooled one too so the Apache client,
+        // and the logging it looks up at runtime, are checked as well
+        final ProviderSettings pooled = ProviderSettings.builder()
+            .httpTransportProfile(HttpTransportProfile.POOLED)
+            .build();
+        try (EmrwalClient client = ClientBuilder.createEMRWALClient("us-east-1",
+            ClientBuilder.endpoint("us-east-1", pooled),
+            StaticCredentialsProvider.create(AwsBasicCredentials.create("trainer", "trainer")), pooled)) {
+            client.serviceName();
+        }
+
+        final ResourceModel model = ResourceModel.builder()
+            .wALWorkspaceName("trainer")
+            .tags(new HashSet<>(Arrays.asList(new Tag("key1", "value1"), new Tag("key2", "value2"))))
+            .build();
+        ResourceModelValidator.shared().validate(model);
+        final String arn = WalWorkspaceArn.of("aws", "us-east-1", "123456789012", model.getWALWorkspaceName()).toString();
+        final TagSet desired = TagSet.fromModel(model.getTags());
+        final TagReconciliationPlan plan = TagReconciliationPlan.of(TagSet.empty(), desired);
+
+        Translator.translateToCreateRequest(model);
+        Translator.translateToReadRequest(arn);
+        Translator.translateToDeleteRequest(model);
+        Translator.translateToListRequest(BaseHandlerStd.MAX_RESULT, null);
+        Translator.tagResourceRequest(arn, plan.getTagsToAdd());
+        Translator.untagResourceRequest(arn, plan.getTagsToRemove());
+
+        new CreateHandler();
+        new ReadHandler();
+        new UpdateHandler();
+        new DeleteHandler();
+        new ListHandler();
+    }
+}
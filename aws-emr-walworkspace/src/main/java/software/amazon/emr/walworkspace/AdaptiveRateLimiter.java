@@ -0,0 +1,228 @@
+package software.amazon.emr.walworkspace;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Client-side token buckets in front of the EMR WAL control plane, one per throttled API.
+ *
+ * Each bucket adapts its refill rate with AIMD: every successful call adds {@link BucketConfig#additiveIncrease}
+ * calls per second up to the configured maximum, and every throttled call multiplies the rate by
+ * {@link BucketConfig#multiplicativeDecrease} down to the configured minimum. CreateWorkspace, TagResource and
+ * ListWorkspaces get their own buckets, every other API shares a default one. The shared instance is used by all
+ * handlers running in the JVM, so concurrent invocations pace each other instead of retrying into each other.
+ * Handlers only wait briefly for a token, see {@link #tryAcquire(String, long)}; a longer wait is left to the
+ * handler callback, so the Lambda is not billed for it.
+ */
+final class AdaptiveRateLimiter {
+
+    static final String DEFAULT_BUCKET = "Default";
+
+    /**
+     * Longest {@link #acquire(String)} waits for a token, for callers outside of a handler. Past that the call goes
+     * out anyway.
+     */
+    static final long DEFAULT_MAX_WAIT_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private static final AdaptiveRateLimiter SHARED = builder()
+        .bucket(ApiNames.CREATE_WORKSPACE, new BucketConfig(5, 0.5, 20))
+        .bucket(ApiNames.TAG_RESOURCE, new BucketConfig(10, 1, 40))
+        .bucket(ApiNames.LIST_WORKSPACES, new BucketConfig(10, 1, 40))
+        .bucket(DEFAULT_BUCKET, new BucketConfig(10, 1, 40))
+        .build();
+
+    @FunctionalInterface
+    interface Sleeper {
+        void sleep(long nanos) throws InterruptedException;
+    }
+
+    @lombok.Value
+    static class BucketConfig {
+        double initialRate;
+        double minRate;
+        double maxRate;
+        double additiveIncrease;
+        double multiplicativeDecrease;
+
+        BucketConfig(final double initialRate, final double minRate, final double maxRate) {
+            this(initialRate, minRate, maxRate, 0.5, 0.5);
+        }
+
+        BucketConfig(final double initialRate, final double minRate, final double maxRate,
+            final double additiveIncrease, final double multiplicativeDecrease) {
+            this.initialRate = initialRate;
+            this.minRate = minRate;
+            this.maxRate = maxRate;
+            this.additiveIncrease = additiveIncrease;
+            this.multiplicativeDecrease = multiplicativeDecrease;
+        }
+    }
+
+    private final Map<String, TokenBucket> buckets;
+    private final TokenBucket defaultBucket;
+    private final Sleeper sleeper;
+    private final long maxWaitNanos;
+
+    private AdaptiveRateLimiter(final Map<String, TokenBucket> buckets, final Sleeper sleeper,
+        final long maxWaitNanos) {
+        this.buckets = buckets;
+        this.defaultBucket = buckets.get(DEFAULT_BUCKET);
+        this.sleeper = sleeper;
+        this.maxWaitNanos = maxWaitNanos;
+    }
+
+    static AdaptiveRateLimiter shared() {
+        return SHARED;
+    }
+
+    static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Take a token for the given API, waiting up to the configured maximum for one to become available.
+     */
+    void acquire(final String api) {
+        sleep(Math.min(bucket(api).reserve(Long.MAX_VALUE), maxWaitNanos));
+    }
+
+    /**
+     * Take a token for the given API if one becomes available within maxWaitNanos, and wait for it.
+     *
+     * @return false, without taking a token or waiting, if the next token is further away than that
+     */
+    boolean tryAcquire(final String api, final long maxWaitNanos) {
+        final long waitNanos = bucket(api).reserve(maxWaitNanos);
+        if (waitNanos < 0) {
+            return false;
+        }
+        sleep(Math.min(waitNanos, this.maxWaitNanos));
+        return true;
+    }
+
+    void onSuccess(final String api) {
+        bucket(api).increase();
+    }
+
+    void onThrottle(final String api) {
+        bucket(api).decrease();
+    }
+
+    /**
+     * Current refill rate of the bucket serving the API, in calls per second.
+     */
+    double rate(final String api) {
+        return bucket(api).currentRate();
+    }
+
+    private void sleep(final long waitNanos) {
+        if (waitNanos <= 0) {
+            return;
+        }
+        try {
+            sleeper.sleep(waitNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private TokenBucket bucket(final String api) {
+        final TokenBucket bucket = buckets.get(api);
+        return bucket == null ? defaultBucket : bucket;
+    }
+
+    static final class Builder {
+        private final Map<String, BucketConfig> configs = new HashMap<>();
+        private LongSupplier nanoClock = System::nanoTime;
+        private Sleeper sleeper = TimeUnit.NANOSECONDS::sleep;
+        private long maxWaitNanos = DEFAULT_MAX_WAIT_NANOS;
+
+        Builder bucket(final String api, final BucketConfig config) {
+            configs.put(api, config);
+            return this;
+        }
+
+        Builder clock(final LongSupplier nanoClock, final Sleeper sleeper) {
+            this.nanoClock = nanoClock;
+            this.sleeper = sleeper;
+            return this;
+        }
+
+        Builder maxWaitNanos(final long maxWaitNanos) {
+            this.maxWaitNanos = maxWaitNanos;
+            return this;
+        }
+
+        AdaptiveRateLimiter build() {
+            final Map<String, TokenBucket> buckets = new HashMap<>();
+            configs.forEach((api, config) -> buckets.put(api, new TokenBucket(config, nanoClock)));
+            buckets.computeIfAbsent(DEFAULT_BUCKET, api -> new TokenBucket(new BucketConfig(10, 1, 40), nanoClock));
+            return new AdaptiveRateLimiter(Collections.unmodifiableMap(buckets), sleeper, maxWaitNanos);
+        }
+    }
+
+    /**
+     * Token bucket whose burst capacity is one second worth of calls at the current rate. A reservation may drive
+     * the token count negative: the caller then waits for the deficit to refill, and later callers queue behind it.
+     */
+    private static final class TokenBucket {
+        private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+        private final BucketConfig config;
+        private final LongSupplier nanoClock;
+
+        private double rate;
+        private double tokens;
+        private long lastRefillNanos;
+
+        TokenBucket(final BucketConfig config, final LongSupplier nanoClock) {
+            this.config = config;
+            this.nanoClock = nanoClock;
+            this.rate = config.getInitialRate();
+            this.tokens = Math.max(1, rate);
+            this.lastRefillNanos = nanoClock.getAsLong();
+        }
+
+        /**
+         * @return how long to wait for the reserved token, or -1 and nothing reserved if that is over maxWaitNanos
+         */
+        synchronized long reserve(final long maxWaitNanos) {
+            refill();
+            final double remaining = tokens - 1;
+            final long waitNanos = remaining >= 0 ? 0 : (long) (-remaining / rate * NANOS_PER_SECOND);
+            if (waitNanos > maxWaitNanos) {
+                return -1;
+            }
+            tokens = remaining;
+            return waitNanos;
+        }
+
+        synchronized void increase() {
+            refill();
+            rate = Math.min(config.getMaxRate(), rate + config.getAdditiveIncrease());
+        }
+
+        synchronized void decrease() {
+            refill();
+            rate = Math.max(config.getMinRate(), rate * config.getMultiplicativeDecrease());
+            // Drop the burst allowance so the slower rate applies right away
+            tokens = Math.min(tokens, 0);
+        }
+
+        synchronized double currentRate() {
+            return rate;
+        }
+
+        private void refill() {
+            final long now = nanoClock.getAsLong();
+            final long elapsed = now - lastRefillNanos;
+            if (elapsed > 0) {
+                tokens = Math.min(Math.max(1, rate), tokens + elapsed / NANOS_PER_SECOND * rate);
+                lastRefillNanos = now;
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package software.amazon.emr.walworkspace;
+
+/**
+ * Maps an SDK request to the name of the EMR WAL API it calls, e.g. CreateWorkspaceRequest to CreateWorkspace.
+ */
+final class ApiNames {
+    static final String CREATE_WORKSPACE = "CreateWorkspace";
+    static final String DELETE_WORKSPACE = "DeleteWorkspace";
+    static final String LIST_WORKSPACES = "ListWorkspaces";
+    static final String LIST_TAGS_FOR_RESOURCE = "ListTagsForResource";
+    static final String TAG_RESOURCE = "TagResource";
+    static final String UNTAG_RESOURCE = "UntagResource";
+
+    private static final String REQUEST_SUFFIX = "Request";
+
+    // Computed once per request class, the lookup on the call path does not allocate
+    private static final ClassValue<String> NAMES = new ClassValue<String>() {
+        @Override
+        protected String computeValue(final Class<?> type) {
+            final String simpleName = type.getSimpleName();
+            return simpleName.endsWith(REQUEST_SUFFIX)
+                ? simpleName.substring(0, simpleName.length() - REQUEST_SUFFIX.length())
+                : simpleName;
+        }
+    };
+
+    private ApiNames() {
+    }
+
+    static String of(final Object request) {
+        return request == null ? "Unknown" : NAMES.get(request.getClass());
+    }
+}
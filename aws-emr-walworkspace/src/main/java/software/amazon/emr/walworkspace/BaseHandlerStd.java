@@ -1,19 +1,14 @@
 package software.amazon.emr.walworkspace;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
-import com.google.common.collect.ImmutableSet;
 import software.amazon.awssdk.core.exception.RetryableException;
 import software.amazon.awssdk.services.emrwal.EmrwalClient;
 import software.amazon.awssdk.services.emrwal.model.EmrwalException;
-import software.amazon.awssdk.services.emrwal.model.ListWorkspacesRequest;
-import software.amazon.awssdk.services.emrwal.model.ListWorkspacesResponse;
-import software.amazon.awssdk.services.emrwal.model.TaggingFailedException;
 import software.amazon.cloudformation.exceptions.BaseHandlerException;
-import software.amazon.awssdk.services.emrwal.model.WalThrottlingException;
 import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.HandlerErrorCode;
@@ -23,27 +18,91 @@ import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 // Base class for functionality that could be shared across Create/Read/Delete/List Handlers
+// Handlers keep no per-invocation state in fields: the logger, the callback context and the proxy client are passed
+// to every method that needs them, so one handler instance can serve concurrent invocations in the same JVM
 
 public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
-    static final Set<Class<? extends Exception>> RETRYABLE_EXCEPTIONS =
-        ImmutableSet.<Class<? extends Exception>>builder().add(TaggingFailedException.class)
-            .add(WalThrottlingException.class)
-            .build();
-
     static final int MAX_RESULT = 1000;
 
-    Logger logger;
+    static {
+        // Inside Lambda the handlers are instantiated during the init phase, build the client there so the first
+        // invocation does not pay for the SDK bootstrap
+        if (System.getenv("AWS_LAMBDA_FUNCTION_NAME") != null) {
+            ClientBuilder.warmUp();
+        }
+    }
+
+    private final ProviderSettings settings;
+    private final WorkspaceMetadataCache metadataCache;
+
+    protected BaseHandlerStd() {
+        this(ProviderSettings.fromEnvironment());
+    }
+
+    BaseHandlerStd(final ProviderSettings settings) {
+        this.settings = settings;
+        this.metadataCache = WorkspaceMetadataCache.forSettings(settings);
+    }
+
+    ProviderSettings getSettings() {
+        return settings;
+    }
+
+    WorkspaceMetadataCache getMetadataCache() {
+        return metadataCache;
+    }
+
+    /**
+     * ARN of the workspace in the desired resource state, validated and saved in the callback context by the first
+     * invocation and reused by the following ones.
+     *
+     * @throws software.amazon.cloudformation.exceptions.CfnInvalidRequestException if the workspace name does not
+     * match the resource schema
+     */
+    static WalWorkspaceArn workspaceArn(final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext) {
+        if (callbackContext.getWalWorkspaceArn() != null) {
+            return WalWorkspaceArn.restore(callbackContext.getWalWorkspaceArn());
+        }
+        final WalWorkspaceArn arn = WalWorkspaceArn.of(request);
+        callbackContext.setWalWorkspaceArn(arn.toString());
+        return arn;
+    }
+
     @Override
     public final ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         final AmazonWebServicesClientProxy proxy,
         final ResourceHandlerRequest<ResourceModel> request, final CallbackContext callbackContext,
         final Logger logger) {
-        return handleRequest(
-            proxy,
-            request,
-            callbackContext != null ? callbackContext : new CallbackContext(),
-            proxy.newProxy(ClientBuilder::getClient),
-            logger);
+        final CallbackContext context = callbackContext != null ? callbackContext : new CallbackContext();
+        final List<String> violations = validate(request.getDesiredResourceState());
+        if (!violations.isEmpty()) {
+            HandlerLogger.of(logger, settings).warn(() -> "Rejected invalid resource model: " + violations);
+            return ProgressEvent.failed(request.getDesiredResourceState(), context, HandlerErrorCode.InvalidRequest,
+                String.join("; ", violations));
+        }
+        final int attempt = RetryBackoff.attemptOf(context);
+        // Metrics sit below the rate limiter so the latencies are the service's, not the time spent waiting
+        final MetricsProxyClient metrics = new MetricsProxyClient(proxy.newProxy(ClientBuilder::getClient));
+        try {
+            return handleRequest(
+                proxy,
+                request,
+                context,
+                new RateLimitedProxyClient(metrics, AdaptiveRateLimiter.shared(),
+                    RateLimitedProxyClient.HANDLER_MAX_WAIT_NANOS),
+                logger);
+        } finally {
+            HandlerLogger.of(logger, settings).info(() -> metrics.toRecord(getClass().getSimpleName(), attempt));
+        }
+    }
+
+    /**
+     * Schema violations of the desired resource state, checked before the handler makes any call. Handlers that do
+     * not act on a single, complete model override this.
+     */
+    protected List<String> validate(final ResourceModel model) {
+        return ResourceModelValidator.shared().validate(model);
     }
 
     protected abstract ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -52,31 +111,26 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
         final ProxyClient<EmrwalClient> proxyClient, final Logger logger);
 
     /***
-     * Call ListWalWorkspace API and evaluate whether the workspace is there or not.
-     *
-     * Return true if the workspace exists, otherwise false.
-     *
-     * @param walWorkspaceName
-     * @param proxyClient
-     * @return boolean
+     * Call ListWorkspaces and evaluate whether the workspace is there or not.
      *
-     * Todo:  We might need a dedicate API for check wal workspace status API later
+     * Pages of {@link #MAX_RESULT} workspaces are read one at a time and the scan stops on the page that contains
+     * the workspace, so only a workspace that does not exist costs a scan of every page. See
+     * {@link WorkspaceIndex}.
      *
-     * For now, we have a meta layer build on top of DynamoDB, it is quite fast to retrieve whether a workspace is
-     * in the return result list or not.
+     * @param proxyClient client to list the workspaces with
+     * @param walWorkspaceName workspace name to look up
+     * @return true if the workspace exists, otherwise false
      */
     protected boolean readResource(final ProxyClient<EmrwalClient> proxyClient, final String walWorkspaceName) {
-        ListWorkspacesResponse response;
-
-        List<String> walWorkspaceList = new ArrayList<>();
-        final ListWorkspacesRequest listWorkspacesRequest = ListWorkspacesRequest.builder().maxResults(10000).build();
-
-        walWorkspaceList = proxyClient.injectCredentialsAndInvokeV2(listWorkspacesRequest, proxyClient.client()::listWorkspaces).walWorkspaceList();
-
-        if(walWorkspaceList.contains(walWorkspaceName))
-                return true;
+        return readResource(new WorkspaceIndex(proxyClient), walWorkspaceName);
+    }
 
-        return false;
+    /***
+     * Same as {@link #readResource(ProxyClient, String)}, reusing the pages an index already fetched during this
+     * invocation.
+     */
+    protected boolean readResource(final WorkspaceIndex workspaceIndex, final String walWorkspaceName) {
+        return workspaceIndex.contains(walWorkspaceName);
     }
 
     protected ProgressEvent<ResourceModel, CallbackContext> handleError(
@@ -84,8 +138,9 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
         final Exception exception,
         final ProxyClient<EmrwalClient> emrwalClientProxyClient,
         final ResourceModel model,
-        final CallbackContext callbackContext) {
-        logger.log(String.format("[ERROR] handleError for %s, error: %s", operation, exception));
+        final CallbackContext callbackContext,
+        final HandlerLogger log) {
+        log.error(() -> "handleError for " + operation + ", error: " + exception);
 
 
         BaseHandlerException ex = (exception instanceof EmrwalException) ?
@@ -93,42 +148,47 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
                 callbackContext) :
             new CfnGeneralServiceException(operation, exception);
 
-        //If resource already exists, return FAILED with AlreadyExist error code
-        if (operation.equals(CreateHandler.OPERATION)){
-            if (exception.getMessage() != null && exception.getMessage().contains("already exists")){
-                return ProgressEvent.defaultFailureHandler(ex, HandlerErrorCode.AlreadyExists);
-            }
-        }
+        final ErrorClassifier.Classification classification = ErrorClassifier.DEFAULT.classify(operation, exception);
 
-        //An update handler MUST return FAILED with a NotFound error code if the resource didn't exist
-        // before the update request.
-        if (operation.equals(UpdateHandler.OPERATION) && exception instanceof TaggingFailedException){
-            if (exception.getMessage() != null &&
-                    exception.getMessage().contains("Unable to retrieve workspace for tagging")){
-                return ProgressEvent.defaultFailureHandler(ex, HandlerErrorCode.NotFound);
-            }
-        }
+        if (classification.isRetryable() && callbackContext.getRetryAttempts() > 0) {
+            final int attempt = RetryBackoff.attemptOf(callbackContext);
+            callbackContext.retryAttempts = callbackContext.getRetryAttempts() - 1;
 
-        //For the read, we call listTagsForResource to confirm if the workspace there or not
-        //so if workspace not there, it will throw:"Unable to list tag, please make sure Workspace is created first"
-        if ((operation.equals(ReadHandler.OPERATION) || operation.equals(UpdateHandler.OPERATION)) && exception instanceof TaggingFailedException){
-            if (exception.getMessage() != null &&
-                    exception.getMessage().contains("Unable to list tag, please make sure Workspace is created first")){
-                return ProgressEvent.defaultFailureHandler(ex, HandlerErrorCode.NotFound);
+            // Read and List handlers must complete synchronously, they cannot hand back IN_PROGRESS
+            if (ReadHandler.OPERATION.equals(operation) || ListHandler.OPERATION.equals(operation)) {
+                throw RetryableException.create(exception.getMessage(), exception);
             }
-        }
 
-        if (isRetryableException(exception) && callbackContext.getRetryAttempts() > 0) {
-            // this will allow failed operation to retry
-            callbackContext.retryAttempts = callbackContext.getRetryAttempts() - 1;
-            throw RetryableException.create(exception.getMessage(), exception);
+            // Release the Lambda and let CloudFormation re-invoke the handler once the backoff has passed
+            final int callbackDelaySeconds = RetryBackoff.delaySeconds(attempt);
+            log.info(() -> "Retrying " + operation + " in " + callbackDelaySeconds + " seconds, "
+                + callbackContext.getRetryAttempts() + " attempts left");
+            return ProgressEvent.defaultInProgressHandler(callbackContext, callbackDelaySeconds, model);
         }
 
-        return ProgressEvent.defaultFailureHandler(ex, HandlerErrorCode.GeneralServiceException);
+        return ProgressEvent.defaultFailureHandler(ex, classification.getErrorCode());
+    }
+
+    /**
+     * Run independent calls concurrently on the given executor and wait for all of them. The first failure is
+     * rethrown unwrapped, so handleError classifies it exactly like a failure of a sequential call.
+     */
+    protected static void invokeConcurrently(final Executor executor, final Runnable... calls) {
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[calls.length];
+        for (int i = 0; i < calls.length; i++) {
+            futures[i] = CompletableFuture.runAsync(calls[i], executor);
+        }
+        try {
+            CompletableFuture.allOf(futures).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
     }
 
     protected boolean isRetryableException(final Exception e) {
-        return Optional.ofNullable(e).map(Exception::getClass).map(RETRYABLE_EXCEPTIONS::contains)
-            .orElse(false);
+        return ErrorClassifier.DEFAULT.classify(ErrorClassifier.ANY_OPERATION, e).isRetryable();
     }
 }
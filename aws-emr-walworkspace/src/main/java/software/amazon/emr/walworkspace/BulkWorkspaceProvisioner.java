@@ -0,0 +1,414 @@
+package software.amazon.emr.walworkspace;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.awssdk.services.emrwal.EmrwalClient;
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+/**
+ * Creates or deletes many workspaces in one go, for tooling that provisions a fleet of workspaces and for tests.
+ *
+ * Each workspace goes through the same request translation, tag batching and error classification as the handlers,
+ * with at most {@link Builder#parallelism(int)} workspaces in flight. Unless the builder is given an executor, every
+ * batch runs on threads of its own, one fewer than the parallelism, that stop when it is done; the calling thread
+ * takes workspaces itself while it waits, so a busy executor slows a batch down but never stalls it. All workers
+ * share one client and one {@link AdaptiveRateLimiter}, so the fleet is paced as a whole instead of every item
+ * hitting the service on its own. Retryable failures are retried in place with {@link RetryBackoff} delays, and
+ * every item gets its own {@link Outcome}: one failing workspace never fails the batch.
+ *
+ * Like Create and Delete, every workspace is invalidated in the {@link WorkspaceMetadataCache} of the JVM once it has
+ * been provisioned. Without an account there is no ARN to invalidate, and the whole cache is invalidated after the
+ * batch instead.
+ */
+public final class BulkWorkspaceProvisioner {
+    static final int DEFAULT_PARALLELISM = 8;
+    static final int DEFAULT_MAX_ATTEMPTS = RetryBackoff.MAX_HANDLER_RETRIES + 1;
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    /**
+     * Result for one workspace. The error code and message are null when it succeeded.
+     */
+    @lombok.Value
+    public static class Outcome {
+        String walWorkspaceName;
+        boolean succeeded;
+        HandlerErrorCode errorCode;
+        String message;
+        int attempts;
+    }
+
+    private final ProxyClient<EmrwalClient> proxyClient;
+    private final Executor executor;
+    private final int parallelism;
+    private final int maxAttempts;
+    private final AdaptiveRateLimiter.Sleeper sleeper;
+    private final WorkspaceMetadataCache metadataCache;
+    private final String partition;
+    private final String region;
+    private final String accountId;
+
+    private BulkWorkspaceProvisioner(final Builder builder) {
+        this.proxyClient = new RateLimitedProxyClient(builder.proxyClient, builder.rateLimiter);
+        this.parallelism = builder.parallelism;
+        this.maxAttempts = builder.maxAttempts;
+        this.sleeper = builder.sleeper;
+        this.executor = builder.executor;
+        this.metadataCache = builder.metadataCache != null
+            ? builder.metadataCache
+            : WorkspaceMetadataCache.forSettings(ProviderSettings.fromEnvironment());
+        this.partition = builder.partition;
+        this.region = builder.region;
+        this.accountId = builder.accountId;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Create every workspace, with the tags of its model. As in {@link CreateHandler}, the workspace is created with
+     * its first {@link TagBatchPipeline#MAX_TAGS_PER_CALL} tags and the rest are added with TagResource. A retry only
+     * makes the calls that have not succeeded yet.
+     *
+     * @param models workspaces to create
+     * @return one outcome per model, in the same order
+     * @throws IllegalStateException if a model has more tags than one call takes and no account was configured, see
+     * {@link Builder#account(String, String, String)}
+     */
+    public List<Outcome> createAll(final Collection<ResourceModel> models) {
+        if (accountId == null) {
+            for (final ResourceModel model : models) {
+                if (model.getTags() != null && model.getTags().size() > TagBatchPipeline.MAX_TAGS_PER_CALL) {
+                    throw new IllegalStateException("account is required to tag " + model.getWALWorkspaceName()
+                        + " with more than " + TagBatchPipeline.MAX_TAGS_PER_CALL + " tags");
+                }
+            }
+        }
+        return runAll(models, CreateHandler.OPERATION, WorkspaceCreation::new);
+    }
+
+    /**
+     * Delete every workspace. A workspace that does not exist fails with NotFound.
+     *
+     * @param models workspaces to delete
+     * @return one outcome per model, in the same order
+     */
+    public List<Outcome> deleteAll(final Collection<ResourceModel> models) {
+        return runAll(models, DeleteHandler.OPERATION, model -> () -> proxyClient.injectCredentialsAndInvokeV2(
+            Translator.translateToDeleteRequest(model), proxyClient.client()::deleteWorkspace));
+    }
+
+    /**
+     * @param steps the calls for one workspace; running them again retries the calls that have not succeeded yet
+     */
+    private List<Outcome> runAll(final Collection<ResourceModel> models, final String operation,
+        final Function<ResourceModel, Runnable> steps) {
+        if (models.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final List<ResourceModel> ordered = new ArrayList<>(models);
+        final Outcome[] outcomes = new Outcome[ordered.size()];
+        final AtomicInteger next = new AtomicInteger();
+        final CountDownLatch settled = new CountDownLatch(ordered.size());
+        final Runnable worker = () -> {
+            int index;
+            while ((index = next.getAndIncrement()) < ordered.size()) {
+                final ResourceModel model = ordered.get(index);
+                try {
+                    outcomes[index] = provision(model, operation, steps.apply(model));
+                } catch (RuntimeException e) {
+                    outcomes[index] = new Outcome(model.getWALWorkspaceName(), false,
+                        HandlerErrorCode.GeneralServiceException, String.valueOf(e), 1);
+                } finally {
+                    // Even a failed attempt may have changed the workspace
+                    invalidate(model);
+                    settled.countDown();
+                }
+            }
+        };
+
+        final int helpers = Math.min(parallelism, ordered.size()) - 1;
+        final ExecutorService batchExecutor = executor == null && helpers > 0 ? newBatchExecutor(helpers) : null;
+        try {
+            for (int i = 0; i < helpers; i++) {
+                (batchExecutor != null ? batchExecutor : executor).execute(worker);
+            }
+            worker.run();
+            settled.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (batchExecutor != null) {
+                batchExecutor.shutdown();
+            }
+        }
+        if (accountId == null) {
+            metadataCache.invalidateAll();
+        }
+
+        final List<Outcome> results = new ArrayList<>(ordered.size());
+        for (int i = 0; i < outcomes.length; i++) {
+            results.add(outcomes[i] != null ? outcomes[i] : interrupted(ordered.get(i), 0));
+        }
+        return results;
+    }
+
+    private Outcome provision(final ResourceModel model, final String operation, final Runnable call) {
+        int attempts = 0;
+        while (true) {
+            attempts++;
+            try {
+                call.run();
+                return new Outcome(model.getWALWorkspaceName(), true, null, null, attempts);
+            } catch (RuntimeException e) {
+                final ErrorClassifier.Classification classification = ErrorClassifier.DEFAULT.classify(operation, e);
+                if (!classification.isRetryable() || attempts >= maxAttempts) {
+                    return new Outcome(model.getWALWorkspaceName(), false, classification.getErrorCode(),
+                        e.getMessage(), attempts);
+                }
+            }
+            try {
+                sleeper.sleep(TimeUnit.SECONDS.toNanos(RetryBackoff.delaySeconds(attempts - 1)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return interrupted(model, attempts);
+            }
+        }
+    }
+
+    private void invalidate(final ResourceModel model) {
+        if (accountId == null) {
+            return;
+        }
+        try {
+            metadataCache.invalidate(
+                WalWorkspaceArn.of(partition, region, accountId, model.getWALWorkspaceName()).toString());
+        } catch (CfnInvalidRequestException e) {
+            // No workspace can have a name the schema rejects
+        }
+    }
+
+    /**
+     * Daemon threads for one batch, so a batch never competes with the handlers for the shared executor and an
+     * abandoned one never keeps the JVM alive.
+     */
+    private static ExecutorService newBatchExecutor(final int threads) {
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            final Thread thread = new Thread(runnable, "emrwal-bulk-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static Outcome interrupted(final ResourceModel model, final int attempts) {
+        return new Outcome(model.getWALWorkspaceName(), false, HandlerErrorCode.InternalFailure, "Interrupted",
+            attempts);
+    }
+
+    /**
+     * The calls that create one workspace. A worker runs them for one workspace at a time, so the state needs no
+     * synchronization.
+     */
+    private final class WorkspaceCreation implements Runnable {
+        private final ResourceModel model;
+        private final TagBatchPipeline pipeline = new TagBatchPipeline(TagBatchPipeline.MAX_TAGS_PER_CALL, 1, null);
+        private Map<String, String> pendingTags;
+
+        WorkspaceCreation(final ResourceModel model) {
+            this.model = model;
+        }
+
+        @Override
+        public void run() {
+            if (pendingTags == null) {
+                final List<TagSet> batches = TagSet.fromModel(model.getTags()).partition(pipeline.getBatchSize());
+                final TagSet.Builder remaining = TagSet.builder();
+                for (int i = 1; i < batches.size(); i++) {
+                    remaining.putAll(batches.get(i));
+                }
+                proxyClient.injectCredentialsAndInvokeV2(
+                    Translator.translateToCreateRequest(model, batches.isEmpty() ? TagSet.empty() : batches.get(0)),
+                    proxyClient.client()::createWorkspace);
+                pendingTags = new HashMap<>(remaining.build().asMap());
+            }
+            if (pendingTags.isEmpty()) {
+                return;
+            }
+            final String arn = WalWorkspaceArn.of(partition, region, accountId, model.getWALWorkspaceName())
+                .toString();
+            pipeline.apply(TagSet.fromMap(pendingTags),
+                batch -> proxyClient.injectCredentialsAndInvokeV2(Translator.tagResourceRequest(arn, batch),
+                    proxyClient.client()::tagResource),
+                batch -> pendingTags.keySet().removeAll(batch.keys()));
+        }
+    }
+
+    public static final class Builder {
+        private ProxyClient<EmrwalClient> proxyClient;
+        private int parallelism = DEFAULT_PARALLELISM;
+        private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+        private AdaptiveRateLimiter rateLimiter = AdaptiveRateLimiter.shared();
+        private AdaptiveRateLimiter.Sleeper sleeper = TimeUnit.NANOSECONDS::sleep;
+        private Executor executor;
+        private WorkspaceMetadataCache metadataCache;
+        private String partition;
+        private String region;
+        private String accountId;
+
+        private Builder() {
+        }
+
+        /**
+         * Call the service through a plain client, e.g. from tooling running outside of CloudFormation.
+         */
+        public Builder client(final EmrwalClient client) {
+            this.proxyClient = new DirectProxyClient(client);
+            return this;
+        }
+
+        /**
+         * Call the service through a handler ProxyClient, which injects the caller's credentials.
+         */
+        public Builder proxyClient(final ProxyClient<EmrwalClient> proxyClient) {
+            this.proxyClient = proxyClient;
+            return this;
+        }
+
+        /**
+         * Number of workspaces in flight at once.
+         */
+        public Builder parallelism(final int parallelism) {
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("parallelism must be at least 1");
+            }
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Attempts per workspace, retryable failures included.
+         */
+        public Builder maxAttempts(final int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("maxAttempts must be at least 1");
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * Threads the workspaces are provisioned on, at most one fewer than the parallelism are used at once. Unless
+         * set, each batch starts and stops threads of its own. The calling thread always works too.
+         */
+        public Builder executor(final Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Account the workspaces are in. Needed for the ARN TagResource takes, when a model has more tags than one
+         * CreateWorkspace call accepts, and to invalidate single workspaces in the metadata cache.
+         */
+        public Builder account(final String partition, final String region, final String accountId) {
+            this.partition = partition;
+            this.region = region;
+            this.accountId = accountId;
+            return this;
+        }
+
+        Builder rateLimiter(final AdaptiveRateLimiter rateLimiter) {
+            this.rateLimiter = rateLimiter;
+            return this;
+        }
+
+        Builder sleeper(final AdaptiveRateLimiter.Sleeper sleeper) {
+            this.sleeper = sleeper;
+            return this;
+        }
+
+        Builder metadataCache(final WorkspaceMetadataCache metadataCache) {
+            this.metadataCache = metadataCache;
+            return this;
+        }
+
+        public BulkWorkspaceProvisioner build() {
+            if (proxyClient == null) {
+                throw new IllegalStateException("client or proxyClient is required");
+            }
+            return new BulkWorkspaceProvisioner(this);
+        }
+    }
+
+    /**
+     * ProxyClient over a plain client: the caller's own credentials are used as they are.
+     */
+    private static final class DirectProxyClient implements ProxyClient<EmrwalClient> {
+        private final EmrwalClient client;
+
+        DirectProxyClient(final EmrwalClient client) {
+            this.client = client;
+        }
+
+        @Override
+        public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT
+        injectCredentialsAndInvokeV2(final RequestT request, final Function<RequestT, ResponseT> requestFunction) {
+            return requestFunction.apply(request);
+        }
+
+        @Override
+        public <RequestT extends AwsRequest, ResponseT extends AwsResponse>
+        CompletableFuture<ResponseT>
+        injectCredentialsAndInvokeV2Async(final RequestT request,
+            final Function<RequestT, CompletableFuture<ResponseT>> requestFunction) {
+            return requestFunction.apply(request);
+        }
+
+        @Override
+        public <RequestT extends AwsRequest, ResponseT extends AwsResponse, IterableT extends SdkIterable<ResponseT>>
+        IterableT
+        injectCredentialsAndInvokeIterableV2(final RequestT request,
+            final Function<RequestT, IterableT> requestFunction) {
+            return requestFunction.apply(request);
+        }
+
+        @Override
+        public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseInputStream<ResponseT>
+        injectCredentialsAndInvokeV2InputStream(final RequestT request,
+            final Function<RequestT, ResponseInputStream<ResponseT>> requestFunction) {
+            return requestFunction.apply(request);
+        }
+
+        @Override
+        public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseBytes<ResponseT>
+        injectCredentialsAndInvokeV2Bytes(final RequestT request,
+            final Function<RequestT, ResponseBytes<ResponseT>> requestFunction) {
+            return requestFunction.apply(request);
+        }
+
+        @Override
+        public EmrwalClient client() {
+            return client;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package software.amazon.emr.walworkspace;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -11,6 +12,14 @@ import software.amazon.cloudformation.proxy.StdCallbackContext;
 @lombok.ToString
 @lombok.EqualsAndHashCode(callSuper = true)
 public class CallbackContext extends StdCallbackContext {
-    public Integer retryAttempts = 5;
+    public Integer retryAttempts = RetryBackoff.MAX_HANDLER_RETRIES;
     public String walWorkspaceArn;
+
+    // Update progress: the stage to resume at and the tagging calls that have not succeeded yet
+    public UpdateStage updateStage;
+    public Map<String, String> pendingTagsToAdd;
+    public List<String> pendingTagKeysToRemove;
+
+    // Delete progress: set once DeleteWorkspace succeeded, the number of lookups that still listed the workspace
+    public Integer deleteConfirmations;
 }
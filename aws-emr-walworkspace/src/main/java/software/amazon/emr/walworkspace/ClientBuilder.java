@@ -1,10 +1,16 @@
 package software.amazon.emr.walworkspace;
 
 import java.net.URI;
-import java.net.URISyntaxException;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
 import software.amazon.awssdk.core.retry.RetryPolicy;
@@ -16,41 +22,128 @@ import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.regions.providers.DefaultAwsRegionProviderChain;
 import software.amazon.awssdk.services.emrwal.EmrwalClient;
 import software.amazon.awssdk.services.emrwal.endpoint.EMRWALEndpointHelper;
+import software.amazon.awssdk.services.emrwal.model.CreateWorkspaceRequest;
+import software.amazon.awssdk.services.emrwal.model.CreateWorkspaceResponse;
+import software.amazon.awssdk.services.emrwal.model.DeleteWorkspaceRequest;
+import software.amazon.awssdk.services.emrwal.model.DeleteWorkspaceResponse;
+import software.amazon.awssdk.services.emrwal.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.emrwal.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.emrwal.model.ListWorkspacesRequest;
+import software.amazon.awssdk.services.emrwal.model.ListWorkspacesResponse;
+import software.amazon.awssdk.services.emrwal.model.TagResourceRequest;
+import software.amazon.awssdk.services.emrwal.model.TagResourceResponse;
+import software.amazon.awssdk.services.emrwal.model.UntagResourceRequest;
+import software.amazon.awssdk.services.emrwal.model.UntagResourceResponse;
 import software.amazon.awssdk.services.emrwal.model.WalThrottlingException;
-import software.amazon.cloudformation.LambdaWrapper;
-import software.amazon.cloudformation.proxy.Logger;
 
 public class ClientBuilder {
-  private static EmrwalClient client;
-  private static ClientBuilder clientBuilder;
-  private static final String walRegion = DefaultAwsRegionProviderChain.builder().build().getRegion().toString();;
-  private static final String walEndpoint = EMRWALEndpointHelper.getEndpoint(walRegion);
 
-  Logger logger;
+  private static final Logger LOG = LogManager.getLogger(ClientBuilder.class);
 
+  private ClientBuilder() {
+  }
 
-//  private ClientBuilder() {
-//    this.walRegion = DefaultAwsRegionProviderChain.builder().build().getRegion().toString();
-//    this.walEndpoint = EMRWALEndpointHelper.getEndpoint(walRegion);
-//  }
+  /**
+   * Initialization-on-demand holder. The JVM runs this initializer exactly once, on first access, and publishes the
+   * result to every thread, so concurrent invocations in one JVM always share a single fully built client.
+   */
+  private static final class ClientHolder {
+    private static final String WAL_REGION = DefaultAwsRegionProviderChain.builder().build().getRegion().toString();
+    private static final ProviderSettings SETTINGS = ProviderSettings.fromEnvironment();
+    private static final String WAL_ENDPOINT = endpoint(WAL_REGION, SETTINGS);
+    private static final AwsCredentialsProvider CREDENTIALS_PROVIDER = DefaultCredentialsProvider.create();
+    private static final EmrwalClient CLIENT =
+        createEMRWALClient(WAL_REGION, WAL_ENDPOINT, CREDENTIALS_PROVIDER, SETTINGS);
+  }
+
+  /**
+   * Threads shared by handlers that run independent calls concurrently. Daemon threads so an idle pool never keeps
+   * the JVM alive.
+   */
+  private static final class ExecutorHolder {
+    private static final int ASYNC_THREADS = 4;
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(ASYNC_THREADS, runnable -> {
+      final Thread thread = new Thread(runnable, "emrwal-async-" + THREAD_COUNT.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
 
   /**
    * Get the instance of EmrWalClient
    *
-   * @return
+   * @return the shared client
    */
   public static EmrwalClient getClient() {
+    return ClientHolder.CLIENT;
+  }
+
+  /**
+   * Executor for the async execution mode. The EmrwalClient calls are still synchronous: an EmrwalAsyncClient would
+   * need a Netty or CRT async HTTP client in the handler jar, while a small pool over the shared sync client gives
+   * the same overlap for the handful of calls a handler makes.
+   *
+   * @return the shared executor
+   */
+  public static Executor getAsyncExecutor() {
+    return ExecutorHolder.EXECUTOR;
+  }
+
+  /**
+   * Pay the SDK bootstrap cost up front: resolve region and endpoint, build the client and load the request/response
+   * model classes whose marshalling metadata the SDK initialises on the first call. Meant to run during the Lambda
+   * init phase so the first handler invocation does not pay for it.
+   *
+   * The default credentials chain is not resolved: every call goes out with the caller's credentials, injected by
+   * the handler's proxy, so the Lambda role's own credentials are never needed.
+   *
+   * If the client cannot be built, e.g. because no region is configured, the error is thrown from here. The JVM does
+   * not retry a failed class initializer, every later {@link #getClient()} would fail with a NoClassDefFoundError,
+   * so failing the init phase with the original cause is the clearer outcome.
+   *
+   * @return false if priming the model classes failed, which is logged and only costs the first invocation time
+   */
+  public static boolean warmUp() {
+    getClient();
     try {
-      if (client == null) {
-        client = createEMRWALClient();
-      }
-    } catch (URISyntaxException ui) {
-      throw new RuntimeException("Invalid URI captured.", ui);
+      primeModelClasses();
+      return true;
+    } catch (RuntimeException e) {
+      LOG.warn("Unable to prime the EMR WAL model classes", e);
+      return false;
     }
-    return client;
   }
-  private static EmrwalClient createEMRWALClient()
-    throws URISyntaxException {
+
+  /**
+   * Regional endpoint unless {@link ProviderSettings#getEndpointOverride()} points the client somewhere else.
+   */
+  static String endpoint(final String walRegion, final ProviderSettings settings) {
+    return settings.getEndpointOverride() != null
+        ? settings.getEndpointOverride()
+        : EMRWALEndpointHelper.getEndpoint(walRegion);
+  }
+
+  private static void primeModelClasses() {
+    CreateWorkspaceRequest.builder().build();
+    CreateWorkspaceResponse.builder().build();
+    DeleteWorkspaceRequest.builder().build();
+    DeleteWorkspaceResponse.builder().build();
+    ListWorkspacesRequest.builder().build();
+    ListWorkspacesResponse.builder().build();
+    ListTagsForResourceRequest.builder().build();
+    ListTagsForResourceResponse.builder().build();
+    TagResourceRequest.builder().build();
+    TagResourceResponse.builder().build();
+    UntagResourceRequest.builder().build();
+    UntagResourceResponse.builder().build();
+  }
+
+  /**
+   * Build a client with the HTTP transport and timeouts of the settings, see {@link HttpTransportProfile}.
+   */
+  static EmrwalClient createEMRWALClient(final String walRegion, final String walEndpoint,
+      final AwsCredentialsProvider credentialsProvider, final ProviderSettings settings) {
     //add the retry for the WalThrottlingException
     Set<Class<? extends Exception>> retryExceptions = new HashSet<>();
     retryExceptions.add(WalThrottlingException.class);
@@ -62,20 +155,26 @@ public class ClientBuilder {
         new RetryCondition[]{SdkRetryCondition.DEFAULT, retryOnExceptionsCondition}
     );
 
-    RetryPolicy retryPolicy = RetryPolicy.builder().retryCondition(retryCondition).build();
+    // Handlers retry through CloudFormation callbacks, keep the in-process retries to a minimum so that the two
+    // budgets do not multiply, see RetryBackoff
+    RetryPolicy retryPolicy = RetryPolicy.builder()
+        .retryCondition(retryCondition)
+        .numRetries(RetryBackoff.MAX_SDK_RETRIES)
+        .build();
+
+    final HttpTransportProfile profile = settings.getHttpTransportProfile() != null
+        ? settings.getHttpTransportProfile()
+        : HttpTransportProfile.LAMBDA_DEFAULT;
 
     //Create the client
-    EmrwalClient emrwalClient = EmrwalClient
+    return EmrwalClient
         .builder()
-        .credentialsProvider(DefaultCredentialsProvider.create())
-        .overrideConfiguration(ClientOverrideConfiguration.builder().retryPolicy(retryPolicy).build())
-        .endpointOverride(new URI(walEndpoint))
+        .credentialsProvider(credentialsProvider)
+        .overrideConfiguration(
+            profile.applyTimeouts(ClientOverrideConfiguration.builder().retryPolicy(retryPolicy), settings).build())
+        .endpointOverride(URI.create(walEndpoint))
         .region(Region.of(walRegion))
-        .httpClient(LambdaWrapper.HTTP_CLIENT)
+        .httpClient(profile.httpClient())
         .build();
-
-    System.out.println(walEndpoint);
-
-    return emrwalClient;
   }
 }
@@ -1,5 +1,8 @@
 package software.amazon.emr.walworkspace;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import software.amazon.awssdk.services.emrwal.EmrwalClient;
 import software.amazon.awssdk.services.emrwal.model.CreateWorkspaceRequest;
@@ -15,6 +18,14 @@ public class CreateHandler extends BaseHandlerStd {
 
     public static String OPERATION = "AWS-EMR-WALWorkspace::Create";
 
+    public CreateHandler() {
+        super();
+    }
+
+    CreateHandler(final ProviderSettings settings) {
+        super(settings);
+    }
+
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         final AmazonWebServicesClientProxy proxy,
         final ResourceHandlerRequest<ResourceModel> request,
@@ -22,25 +33,62 @@ public class CreateHandler extends BaseHandlerStd {
         final ProxyClient<EmrwalClient> proxyClient,
         final Logger logger) {
 
-        this.logger = logger;
+        final HandlerLogger log = HandlerLogger.of(logger, getSettings());
 
         ResourceModel model = request.getDesiredResourceState();
         final String walWorkspaceName = model.getWALWorkspaceName();
-        final CreateWorkspaceRequest createWorkspaceRequest = Translator.translateToCreateRequest(model);
+        final TagBatchPipeline pipeline = TagBatchPipeline.forSettings(getSettings());
 
+        // Validates the name before the call. A workspace recreated under the same name must not be served with the
+        // tags of its predecessor.
+        final String arn = workspaceArn(request, callbackContext).toString();
+        getMetadataCache().invalidate(arn);
+        CreateWorkspaceRequest createWorkspaceRequest = null;
         try {
-            // Since our Creation API is a synchronous call, we do not need to apply stabilization check if no exception
-            // being thrown
-            proxyClient.injectCredentialsAndInvokeV2(createWorkspaceRequest, proxyClient.client()::createWorkspace);
-            logger.log(String.format("Resource %s - [%s] has successfully been created.", ResourceModel.TYPE_NAME, model.getWALWorkspaceName()));
+            // The tags still to send are saved once the workspace exists, a re-invocation only sends those
+            if (callbackContext.getPendingTagsToAdd() == null) {
+                final List<TagSet> batches = TagSet.fromModel(model.getTags()).partition(pipeline.getBatchSize());
+                final TagSet.Builder remaining = TagSet.builder();
+                for (int i = 1; i < batches.size(); i++) {
+                    remaining.putAll(batches.get(i));
+                }
+                createWorkspaceRequest = Translator.translateToCreateRequest(model,
+                    batches.isEmpty() ? TagSet.empty() : batches.get(0));
+
+                // Since our Creation API is a synchronous call, we do not need to apply stabilization check if no
+                // exception being thrown
+                proxyClient.injectCredentialsAndInvokeV2(createWorkspaceRequest, proxyClient.client()::createWorkspace);
+                callbackContext.setPendingTagsToAdd(new HashMap<>(remaining.build().asMap()));
+            } else {
+                log.info(() -> "Resuming create of " + walWorkspaceName + " with "
+                    + callbackContext.getPendingTagsToAdd().size() + " tags left to add");
+            }
+
+            pipeline.apply(TagSet.fromMap(callbackContext.getPendingTagsToAdd()),
+                batch -> {
+                    log.debug(() -> "Start adding tags " + HandlerLogger.summarize(batch.keys()));
+                    proxyClient.injectCredentialsAndInvokeV2(Translator.tagResourceRequest(arn, batch),
+                        proxyClient.client()::tagResource);
+                },
+                batch -> {
+                    final Map<String, String> pending = new HashMap<>(callbackContext.getPendingTagsToAdd());
+                    pending.keySet().removeAll(batch.keys());
+                    callbackContext.setPendingTagsToAdd(pending);
+                });
+
+            log.info(() -> "Resource " + ResourceModel.TYPE_NAME + " - [" + walWorkspaceName + "] has successfully been created.");
             return ProgressEvent.<ResourceModel, CallbackContext>builder()
                 .resourceModel(model)
                 .status(OperationStatus.SUCCESS)
                 .build();
         }
         catch (Exception exception) {
-            logger.log(String.format("Failed to create workspace: %s for request %s", exception.getMessage(), createWorkspaceRequest.toString()));
-            return handleError(OPERATION, exception, proxyClient, model, callbackContext);
+            log.error(() -> "Failed to create workspace " + walWorkspaceName + ": " + exception.getMessage());
+            final CreateWorkspaceRequest failedRequest = createWorkspaceRequest;
+            if (failedRequest != null) {
+                log.debug(() -> "Failed request: " + failedRequest);
+            }
+            return handleError(OPERATION, exception, proxyClient, model, callbackContext, log);
         }
     }
 }
\ No newline at end of file
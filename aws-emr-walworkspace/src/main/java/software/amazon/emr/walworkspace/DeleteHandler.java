@@ -1,5 +1,7 @@
 package software.amazon.emr.walworkspace;
 
+import java.util.Collections;
+import java.util.List;
 
 import software.amazon.awssdk.services.emrwal.EmrwalClient;
 import software.amazon.awssdk.services.emrwal.model.DeleteWorkspaceRequest;
@@ -15,10 +17,25 @@ import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
-import org.apache.commons.lang3.StringUtils;
 
 public class DeleteHandler extends BaseHandlerStd {
-    private static final String OPERATION = "AWS-EMR-WALWorkspace::Delete";
+    static final String OPERATION = "AWS-EMR-WALWorkspace::Delete";
+
+    public DeleteHandler() {
+        super();
+    }
+
+    DeleteHandler(final ProviderSettings settings) {
+        super(settings);
+    }
+
+    /**
+     * Only the name matters for a delete, and a name the schema rejects is reported as NotFound by the handler.
+     */
+    @Override
+    protected List<String> validate(final ResourceModel model) {
+        return Collections.emptyList();
+    }
 
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         final AmazonWebServicesClientProxy proxy,
@@ -27,34 +44,85 @@ public class DeleteHandler extends BaseHandlerStd {
         final ProxyClient<EmrwalClient> proxyClient,
         final Logger logger) {
 
-        this.logger = logger;
+        final HandlerLogger log = HandlerLogger.of(logger, getSettings());
 
         ResourceModel model = request.getDesiredResourceState();
         final String walWorkspaceName = model.getWALWorkspaceName();
         final DeleteWorkspaceRequest deleteWorkspaceRequest = Translator.translateToDeleteRequest(model);
 
-        if (StringUtils.isEmpty(walWorkspaceName)) {
+        if (walWorkspaceName == null || walWorkspaceName.isEmpty()) {
             return ProgressEvent.failed(model,callbackContext, HandlerErrorCode.NotFound, "WalWorkspace was not provided");
         }
 
+        final String arn;
         try {
-            // Since our Deletion API is a synchronous call, we do not need to apply stabilization check if no exception
-            // being thrown
-            proxyClient.injectCredentialsAndInvokeV2(deleteWorkspaceRequest, proxyClient.client()::deleteWorkspace);
-            logger.log(String.format("Resource %s - [%s] has successfully been deleted.", ResourceModel.TYPE_NAME, walWorkspaceName));
-            return ProgressEvent.defaultSuccessHandler(null);
+            arn = workspaceArn(request, callbackContext).toString();
+        } catch (CfnInvalidRequestException e) {
+            // No workspace can have a name the schema rejects
+            return ProgressEvent.failed(model, callbackContext, HandlerErrorCode.NotFound, e.getMessage());
+        }
+
+        try {
+            if (callbackContext.getDeleteConfirmations() == null) {
+                // The Deletion API is a synchronous call, but ListWorkspaces may keep listing the workspace for a
+                // while, see confirmDeleted
+                try {
+                    proxyClient.injectCredentialsAndInvokeV2(deleteWorkspaceRequest, proxyClient.client()::deleteWorkspace);
+                } finally {
+                    // Whether or not the call went through, the cached tags can no longer be trusted
+                    getMetadataCache().invalidate(arn);
+                }
+                log.info(() -> "Resource " + ResourceModel.TYPE_NAME + " - [" + walWorkspaceName + "] has successfully been deleted.");
+                if (getSettings().getDeleteConfirmationAttempts() <= 0) {
+                    return ProgressEvent.defaultSuccessHandler(null);
+                }
+                callbackContext.setDeleteConfirmations(0);
+            }
+            return confirmDeleted(model, callbackContext, proxyClient, log);
         }
         catch (InvalidResourceException ir) {
             if (ir.getMessage().contains("does not exist")) {
-                logger.log(String.format("Resource %s - [%s] is not existed", ResourceModel.TYPE_NAME, walWorkspaceName));
+                log.info(() -> "Resource " + ResourceModel.TYPE_NAME + " - [" + walWorkspaceName + "] does not exist");
                 //A delete handler MUST return FAILED with a NotFound error code if the resource didn't exist before the delete request
                 return ProgressEvent.defaultFailureHandler(new CfnGeneralServiceException(OPERATION, ir), HandlerErrorCode.NotFound);
             }
             throw new CfnInvalidRequestException(request.toString());
         }
         catch (Exception exception) {
-            logger.log(String.format("Failed to delete workspace: %s for request %s", exception.getMessage(), deleteWorkspaceRequest.toString()));
-            return handleError(OPERATION, exception, proxyClient, model, callbackContext);
+            log.error(() -> "Failed to delete workspace " + walWorkspaceName + ": " + exception.getMessage());
+            log.debug(() -> "Failed request: " + deleteWorkspaceRequest);
+            return handleError(OPERATION, exception, proxyClient, model, callbackContext, log);
+        }
+    }
+
+    /**
+     * Confirmation stage: succeed once ListWorkspaces no longer lists the workspace, so a create of the same name
+     * right after the delete, e.g. in a stack replacement, does not race with it. While the workspace is still
+     * listed the handler hands back IN_PROGRESS with an exponential backoff as callback delay instead of sleeping,
+     * and fails with NotStabilized after {@link ProviderSettings#getDeleteConfirmationAttempts()} lookups.
+     */
+    private ProgressEvent<ResourceModel, CallbackContext> confirmDeleted(
+        final ResourceModel model,
+        final CallbackContext callbackContext,
+        final ProxyClient<EmrwalClient> proxyClient,
+        final HandlerLogger log) {
+
+        final String walWorkspaceName = model.getWALWorkspaceName();
+        if (!readResource(proxyClient, walWorkspaceName)) {
+            log.info(() -> "Confirmed " + walWorkspaceName + " is no longer listed after "
+                + callbackContext.getDeleteConfirmations() + " earlier lookups");
+            return ProgressEvent.defaultSuccessHandler(null);
+        }
+
+        final int lookups = callbackContext.getDeleteConfirmations() + 1;
+        if (lookups >= getSettings().getDeleteConfirmationAttempts()) {
+            return ProgressEvent.failed(model, callbackContext, HandlerErrorCode.NotStabilized,
+                String.format("Workspace %s was still listed %d times after it was deleted", walWorkspaceName, lookups));
         }
+        callbackContext.setDeleteConfirmations(lookups);
+        final int callbackDelaySeconds = RetryBackoff.delaySeconds(lookups - 1);
+        log.info(() -> "Workspace " + walWorkspaceName + " is still listed, checking again in "
+            + callbackDelaySeconds + " seconds");
+        return ProgressEvent.defaultInProgressHandler(callbackContext, callbackDelaySeconds, model);
     }
 }
@@ -0,0 +1,193 @@
+package software.amazon.emr.walworkspace;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.services.emrwal.model.EmrwalException;
+import software.amazon.awssdk.services.emrwal.model.InvalidResourceException;
+import software.amazon.awssdk.services.emrwal.model.TaggingFailedException;
+import software.amazon.awssdk.services.emrwal.model.TooManyTagsException;
+import software.amazon.awssdk.services.emrwal.model.WalThrottlingException;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+
+/**
+ * Resolves a handler failure to the HandlerErrorCode it is reported with and whether it may be retried.
+ *
+ * Classifications are looked up in a table keyed by (operation, exception class, service error code), where the
+ * operation and the error code may be wildcards and the exception class is matched along its superclasses. The
+ * service does not model "not found" and "already exists" as distinct exceptions, so a few outcomes still depend
+ * on the message; those patterns are compiled once and only checked for the (operation, exception class) pairs
+ * they are registered for. Everything derived from the exception class is cached after the first failure of that
+ * class, so a throttling storm costs one map lookup per failure.
+ */
+final class ErrorClassifier {
+
+    static final String ANY_OPERATION = "*";
+    static final String ANY_ERROR_CODE = "*";
+
+    @lombok.Value
+    static class Classification {
+        HandlerErrorCode errorCode;
+        boolean retryable;
+    }
+
+    static final Classification GENERAL_FAILURE = new Classification(HandlerErrorCode.GeneralServiceException, false);
+    static final Classification RETRYABLE_FAILURE = new Classification(HandlerErrorCode.GeneralServiceException, true);
+    static final Classification NOT_FOUND = new Classification(HandlerErrorCode.NotFound, false);
+    static final Classification ALREADY_EXISTS = new Classification(HandlerErrorCode.AlreadyExists, false);
+    static final Classification SERVICE_LIMIT = new Classification(HandlerErrorCode.ServiceLimitExceeded, false);
+
+    static final ErrorClassifier DEFAULT = builder()
+        // If resource already exists, return FAILED with AlreadyExist error code
+        .onMessage(CreateHandler.OPERATION, Exception.class, "already exists", ALREADY_EXISTS)
+        // An update handler MUST return FAILED with a NotFound error code if the resource didn't exist
+        // before the update request.
+        .onMessage(UpdateHandler.OPERATION, TaggingFailedException.class,
+            "Unable to retrieve workspace for tagging", NOT_FOUND)
+        // For the read, we call listTagsForResource to confirm if the workspace there or not
+        // so if workspace not there, it will throw:"Unable to list tag, please make sure Workspace is created first"
+        .onMessage(ReadHandler.OPERATION, TaggingFailedException.class,
+            "Unable to list tag, please make sure Workspace is created first", NOT_FOUND)
+        .onMessage(UpdateHandler.OPERATION, TaggingFailedException.class,
+            "Unable to list tag, please make sure Workspace is created first", NOT_FOUND)
+        // A delete handler MUST return FAILED with a NotFound error code if the resource didn't exist before the
+        // delete request
+        .onMessage(DeleteHandler.OPERATION, InvalidResourceException.class, "does not exist", NOT_FOUND)
+        .on(ANY_OPERATION, TaggingFailedException.class, ANY_ERROR_CODE, RETRYABLE_FAILURE)
+        // Tags are sent in batches the service accepts, so this is the limit on the workspace, retrying cannot help
+        .on(ANY_OPERATION, TooManyTagsException.class, ANY_ERROR_CODE, SERVICE_LIMIT)
+        .on(ANY_OPERATION, WalThrottlingException.class, ANY_ERROR_CODE, RETRYABLE_FAILURE)
+        // Throttling that reaches us as an unmodeled service error
+        .on(ANY_OPERATION, EmrwalException.class, "ThrottlingException", RETRYABLE_FAILURE)
+        // Held back by our own rate limiter, the handler retries once the callback delay has passed
+        .on(ANY_OPERATION, RateLimitedProxyClient.RateLimitExceededException.class, ANY_ERROR_CODE, RETRYABLE_FAILURE)
+        .build();
+
+    private final Map<Key, Classification> table;
+    private final Map<Key, List<MessageRule>> messageRules;
+    private final Map<Key, Resolution> resolutions = new ConcurrentHashMap<>();
+
+    private ErrorClassifier(final Map<Key, Classification> table, final Map<Key, List<MessageRule>> messageRules) {
+        this.table = table;
+        this.messageRules = messageRules;
+    }
+
+    static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Classify a failure raised while running the given operation.
+     *
+     * @param operation handler operation, e.g. {@link CreateHandler#OPERATION}
+     * @param exception the failure
+     * @return the classification, never null
+     */
+    Classification classify(final String operation, final Exception exception) {
+        if (exception == null) {
+            return GENERAL_FAILURE;
+        }
+        final Resolution resolution = resolutions.computeIfAbsent(new Key(operation, exception.getClass(), null),
+            key -> resolve(key.operation, key.exceptionClass));
+
+        final String message = resolution.messageRules.isEmpty() ? null : exception.getMessage();
+        if (message != null) {
+            for (final MessageRule rule : resolution.messageRules) {
+                if (rule.pattern.matcher(message).find()) {
+                    return rule.classification;
+                }
+            }
+        }
+
+        final String errorCode = errorCode(exception);
+        if (errorCode != null) {
+            final Classification byErrorCode = resolution.byErrorCode.get(errorCode);
+            if (byErrorCode != null) {
+                return byErrorCode;
+            }
+        }
+        return resolution.fallback;
+    }
+
+    private Resolution resolve(final String operation, final Class<?> exceptionClass) {
+        final List<MessageRule> rules = new ArrayList<>();
+        final Map<String, Classification> byErrorCode = new HashMap<>();
+        Classification fallback = null;
+
+        // Most specific first: the exception class before its superclasses, the operation before the wildcard
+        for (Class<?> type = exceptionClass; type != null; type = type.getSuperclass()) {
+            for (final String op : new String[] {operation, ANY_OPERATION}) {
+                rules.addAll(messageRules.getOrDefault(new Key(op, type, null), Collections.emptyList()));
+                for (final Map.Entry<Key, Classification> entry : table.entrySet()) {
+                    final Key key = entry.getKey();
+                    if (key.exceptionClass == type && key.operation.equals(op)) {
+                        if (ANY_ERROR_CODE.equals(key.errorCode)) {
+                            fallback = fallback == null ? entry.getValue() : fallback;
+                        } else {
+                            byErrorCode.putIfAbsent(key.errorCode, entry.getValue());
+                        }
+                    }
+                }
+            }
+        }
+        return new Resolution(Collections.unmodifiableList(rules), byErrorCode,
+            fallback == null ? GENERAL_FAILURE : fallback);
+    }
+
+    private static String errorCode(final Exception exception) {
+        if (exception instanceof AwsServiceException) {
+            final AwsErrorDetails details = ((AwsServiceException) exception).awsErrorDetails();
+            return details == null ? null : details.errorCode();
+        }
+        return null;
+    }
+
+    static final class Builder {
+        private final Map<Key, Classification> table = new HashMap<>();
+        private final Map<Key, List<MessageRule>> messageRules = new HashMap<>();
+
+        Builder on(final String operation, final Class<? extends Exception> exceptionClass, final String errorCode,
+            final Classification classification) {
+            table.put(new Key(operation, exceptionClass, errorCode), classification);
+            return this;
+        }
+
+        Builder onMessage(final String operation, final Class<? extends Exception> exceptionClass,
+            final String messageFragment, final Classification classification) {
+            messageRules.computeIfAbsent(new Key(operation, exceptionClass, null), key -> new ArrayList<>())
+                .add(new MessageRule(Pattern.compile(Pattern.quote(messageFragment)), classification));
+            return this;
+        }
+
+        ErrorClassifier build() {
+            return new ErrorClassifier(new HashMap<>(table), new HashMap<>(messageRules));
+        }
+    }
+
+    @lombok.Value
+    private static class Key {
+        String operation;
+        Class<?> exceptionClass;
+        String errorCode;
+    }
+
+    @lombok.Value
+    private static class MessageRule {
+        Pattern pattern;
+        Classification classification;
+    }
+
+    @lombok.Value
+    private static class Resolution {
+        List<MessageRule> messageRules;
+        Map<String, Classification> byErrorCode;
+        Classification fallback;
+    }
+}
@@ -0,0 +1,67 @@
+package software.amazon.emr.walworkspace;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+/**
+ * ProxyClient that forwards every call to a delegate. Decorators extend it and override only the calls they
+ * intercept.
+ */
+abstract class ForwardingProxyClient<ClientT> implements ProxyClient<ClientT> {
+    private final ProxyClient<ClientT> delegate;
+
+    ForwardingProxyClient(final ProxyClient<ClientT> delegate) {
+        this.delegate = delegate;
+    }
+
+    ProxyClient<ClientT> delegate() {
+        return delegate;
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT
+    injectCredentialsAndInvokeV2(final RequestT request, final Function<RequestT, ResponseT> requestFunction) {
+        return delegate.injectCredentialsAndInvokeV2(request, requestFunction);
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse>
+    CompletableFuture<ResponseT>
+    injectCredentialsAndInvokeV2Async(final RequestT request,
+        final Function<RequestT, CompletableFuture<ResponseT>> requestFunction) {
+        return delegate.injectCredentialsAndInvokeV2Async(request, requestFunction);
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse, IterableT extends SdkIterable<ResponseT>>
+    IterableT
+    injectCredentialsAndInvokeIterableV2(final RequestT request, final Function<RequestT, IterableT> requestFunction) {
+        return delegate.injectCredentialsAndInvokeIterableV2(request, requestFunction);
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseInputStream<ResponseT>
+    injectCredentialsAndInvokeV2InputStream(final RequestT request,
+        final Function<RequestT, ResponseInputStream<ResponseT>> requestFunction) {
+        return delegate.injectCredentialsAndInvokeV2InputStream(request, requestFunction);
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseBytes<ResponseT>
+    injectCredentialsAndInvokeV2Bytes(final RequestT request,
+        final Function<RequestT, ResponseBytes<ResponseT>> requestFunction) {
+        return delegate.injectCredentialsAndInvokeV2Bytes(request, requestFunction);
+    }
+
+    @Override
+    public ClientT client() {
+        return delegate.client();
+    }
+}
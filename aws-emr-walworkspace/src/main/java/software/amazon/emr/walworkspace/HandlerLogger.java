@@ -0,0 +1,115 @@
+package software.amazon.emr.walworkspace;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.Level;
+import software.amazon.cloudformation.proxy.Logger;
+
+/**
+ * Level-gated facade over the CloudFormation Logger.
+ *
+ * Messages below the configured threshold ({@link ProviderSettings#getLogLevel()}) cost a single comparison: the
+ * supplier variants are only called, and their strings only built, when the level is enabled. Every message is
+ * capped at {@link #MAX_MESSAGE_LENGTH} characters, and collections should go through {@link #summarize(Collection)}
+ * so that a list over a large account logs a count and a few elements rather than all of them.
+ */
+final class HandlerLogger {
+    static final int MAX_MESSAGE_LENGTH = 4096;
+    static final int MAX_SUMMARIZED_ELEMENTS = 10;
+
+    private final Logger logger;
+    private final Level threshold;
+
+    HandlerLogger(final Logger logger, final Level threshold) {
+        this.logger = logger;
+        this.threshold = threshold;
+    }
+
+    static HandlerLogger of(final Logger logger, final ProviderSettings settings) {
+        return new HandlerLogger(logger, settings.getLogLevel() == null ? Level.INFO : settings.getLogLevel());
+    }
+
+    boolean isEnabled(final Level level) {
+        return level.isMoreSpecificThan(threshold);
+    }
+
+    void debug(final String message) {
+        log(Level.DEBUG, message);
+    }
+
+    void debug(final Supplier<String> message) {
+        log(Level.DEBUG, message);
+    }
+
+    void info(final String message) {
+        log(Level.INFO, message);
+    }
+
+    void info(final Supplier<String> message) {
+        log(Level.INFO, message);
+    }
+
+    void warn(final String message) {
+        log(Level.WARN, message);
+    }
+
+    void warn(final Supplier<String> message) {
+        log(Level.WARN, message);
+    }
+
+    void error(final String message) {
+        log(Level.ERROR, message);
+    }
+
+    void error(final Supplier<String> message) {
+        log(Level.ERROR, message);
+    }
+
+    void log(final Level level, final Supplier<String> message) {
+        if (isEnabled(level)) {
+            write(level, message.get());
+        }
+    }
+
+    void log(final Level level, final String message) {
+        if (isEnabled(level)) {
+            write(level, message);
+        }
+    }
+
+    /**
+     * Size and first {@link #MAX_SUMMARIZED_ELEMENTS} elements of a collection, e.g. "3 [a, b, c]" or
+     * "250 [a, b, c, d, e, f, g, h, i, j, ...]".
+     */
+    static String summarize(final Collection<?> values) {
+        if (values == null) {
+            return "0 []";
+        }
+        final StringBuilder summary = new StringBuilder().append(values.size()).append(" [");
+        final Iterator<?> iterator = values.iterator();
+        for (int i = 0; i < MAX_SUMMARIZED_ELEMENTS && iterator.hasNext(); i++) {
+            if (i > 0) {
+                summary.append(", ");
+            }
+            summary.append(iterator.next());
+        }
+        if (iterator.hasNext()) {
+            summary.append(", ...");
+        }
+        return summary.append(']').toString();
+    }
+
+    static String truncate(final String message) {
+        if (message == null || message.length() <= MAX_MESSAGE_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_MESSAGE_LENGTH) + "... (" + (message.length() - MAX_MESSAGE_LENGTH)
+            + " more characters)";
+    }
+
+    private void write(final Level level, final String message) {
+        logger.log("[" + level.name() + "] " + truncate(message));
+    }
+}
@@ -0,0 +1,96 @@
+package software.amazon.emr.walworkspace;
+
+import java.time.Duration;
+
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.cloudformation.LambdaWrapper;
+
+/**
+ * HTTP transport the shared EmrwalClient is built with, chosen by {@link ProviderSettings#getHttpTransportProfile()}.
+ *
+ * LAMBDA_DEFAULT reuses the HTTP client of the CloudFormation wrapper and sets no timeouts, as the provider always
+ * did. POOLED gives the EMR WAL client its own Apache connection pool, sized for the handful of concurrent calls a
+ * warm Lambda makes, with TCP keep-alive and a connection TTL so that connections are reused across invocations
+ * but recycled before the service side drops them, plus per-attempt and total call timeouts that stay well within
+ * the handler's time budget. Timeouts configured in {@link ProviderSettings} override the profile's.
+ */
+enum HttpTransportProfile {
+    LAMBDA_DEFAULT(null, null) {
+        @Override
+        SdkHttpClient httpClient() {
+            return LambdaWrapper.HTTP_CLIENT;
+        }
+    },
+    POOLED(Duration.ofSeconds(10), Duration.ofSeconds(30)) {
+        @Override
+        SdkHttpClient httpClient() {
+            return ApacheHttpClient.builder()
+                .maxConnections(POOLED_MAX_CONNECTIONS)
+                .connectionTimeout(Duration.ofSeconds(2))
+                .connectionAcquisitionTimeout(Duration.ofSeconds(5))
+                .socketTimeout(Duration.ofSeconds(10))
+                .connectionTimeToLive(Duration.ofSeconds(60))
+                .connectionMaxIdleTime(Duration.ofSeconds(30))
+                .useIdleConnectionReaper(true)
+                .tcpKeepAlive(true)
+                .build();
+        }
+    };
+
+    static final int POOLED_MAX_CONNECTIONS = 16;
+
+    private final Duration apiCallAttemptTimeout;
+    private final Duration apiCallTimeout;
+
+    HttpTransportProfile(final Duration apiCallAttemptTimeout, final Duration apiCallTimeout) {
+        this.apiCallAttemptTimeout = apiCallAttemptTimeout;
+        this.apiCallTimeout = apiCallTimeout;
+    }
+
+    /**
+     * The HTTP client to build the EmrwalClient with. POOLED creates a new pool on every call, the caller keeps it.
+     */
+    abstract SdkHttpClient httpClient();
+
+    /**
+     * Apply the profile's timeouts, or the ones configured in the settings, to a client configuration.
+     */
+    ClientOverrideConfiguration.Builder applyTimeouts(final ClientOverrideConfiguration.Builder configuration,
+        final ProviderSettings settings) {
+        final Duration attemptTimeout = settings.getHttpAttemptTimeoutMillis() > 0
+            ? Duration.ofMillis(settings.getHttpAttemptTimeoutMillis()) : apiCallAttemptTimeout;
+        final Duration callTimeout = settings.getHttpCallTimeoutMillis() > 0
+            ? Duration.ofMillis(settings.getHttpCallTimeoutMillis()) : apiCallTimeout;
+        if (attemptTimeout != null) {
+            configuration.apiCallAttemptTimeout(attemptTimeout);
+        }
+        if (callTimeout != null) {
+            configuration.apiCallTimeout(callTimeout);
+        }
+        return configuration;
+    }
+
+    Duration getApiCallAttemptTimeout() {
+        return apiCallAttemptTimeout;
+    }
+
+    Duration getApiCallTimeout() {
+        return apiCallTimeout;
+    }
+
+    /**
+     * Profile by name, case insensitive, LAMBDA_DEFAULT for a missing or unknown name.
+     */
+    static HttpTransportProfile fromName(final String name) {
+        if (name != null) {
+            for (final HttpTransportProfile profile : values()) {
+                if (profile.name().equalsIgnoreCase(name.trim())) {
+                    return profile;
+                }
+            }
+        }
+        return LAMBDA_DEFAULT;
+    }
+}
@@ -0,0 +1,101 @@
+package software.amazon.emr.walworkspace;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Log-linear latency histogram in microseconds, in the spirit of HdrHistogram.
+ *
+ * Values below {@link #SUB_BUCKETS} microseconds are counted exactly. Above that every power of two is split into
+ * {@link #SUB_BUCKETS} linear buckets, so a reported percentile is within 1/16 (6.25%) of the recorded value.
+ * All buckets are allocated up front and recording only increments counters, so it is safe to call from
+ * concurrent threads and does not allocate.
+ */
+final class LatencyHistogram {
+    static final int SUB_BUCKET_BITS = 4;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Values are clamped to 2^30 microseconds, about 18 minutes, longer than any Lambda invocation.
+     */
+    static final int MAX_MAGNITUDE = 30;
+    static final long MAX_VALUE = (1L << (MAX_MAGNITUDE + 1)) - 1;
+    private static final int BUCKET_COUNT = indexOf(MAX_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    void recordNanos(final long nanos) {
+        record(nanos / 1_000L);
+    }
+
+    void record(final long micros) {
+        final long value = Math.min(Math.max(micros, 0L), MAX_VALUE);
+        counts.incrementAndGet(indexOf(value));
+        count.incrementAndGet();
+        total.addAndGet(value);
+        long currentMax = max.get();
+        while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+            currentMax = max.get();
+        }
+    }
+
+    long getCount() {
+        return count.get();
+    }
+
+    long getTotal() {
+        return total.get();
+    }
+
+    long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Smallest bucket upper bound covering the given fraction of the recorded values, capped at the maximum.
+     *
+     * @param percentile between 0 and 100
+     * @return the value in microseconds, 0 if nothing was recorded
+     */
+    long percentile(final double percentile) {
+        final long recorded = count.get();
+        if (recorded == 0) {
+            return 0L;
+        }
+        final long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * recorded));
+        long seen = 0;
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            seen += counts.get(index);
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(index), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    static int indexOf(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        final int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        final int shift = magnitude - SUB_BUCKET_BITS;
+        // value >>> shift keeps the top SUB_BUCKET_BITS + 1 bits, i.e. lies in [SUB_BUCKETS, 2 * SUB_BUCKETS)
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    static long lowerBoundOf(final int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        final int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        final int subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + subBucket) << shift;
+    }
+
+    static long upperBoundOf(final int index) {
+        return index + 1 < BUCKET_COUNT ? lowerBoundOf(index + 1) - 1 : MAX_VALUE;
+    }
+}
@@ -10,13 +10,12 @@ import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class ListHandler extends BaseHandlerStd {
 
-    private static final String OPERATION = "AWS-EMR-WALWorkspace::List";
+    static final String OPERATION = "AWS-EMR-WALWorkspace::List";
     // Referring to the model the upper limit for list operation is 1000
     // https://code.amazon.com/packages/EMRWALServiceModel/blobs/53562b51351d06abcc6d8f4930a59b3936a7ee32/--/model/main.xml#L299
     @Override
@@ -27,31 +26,38 @@ public class ListHandler extends BaseHandlerStd {
         final ProxyClient<EmrwalClient> proxyClient,
         final Logger logger) {
 
-        this.logger = logger;
+        final HandlerLogger log = HandlerLogger.of(logger, getSettings());
 
         ResourceModel model = request.getDesiredResourceState();
-        final List<ResourceModel> models = new ArrayList<>();
-        String nextToken = null;
-
-        do {
-            final ListWorkspacesResponse listWorkspacesResponse;
-            final ListWorkspacesRequest listWorkspacesRequest = Translator.translateToListRequest(MAX_RESULT, request.getNextToken());
-            try {
-                listWorkspacesResponse = proxyClient.injectCredentialsAndInvokeV2(listWorkspacesRequest, proxyClient.client()::listWorkspaces);
-            } catch (Exception exception) {
-                return handleError(OPERATION, exception, proxyClient, model, callbackContext);
-            }
-
-            if (listWorkspacesResponse != null && listWorkspacesResponse.hasWalWorkspaceList()) {
-                models.addAll(Translator.translateFromListResponse(listWorkspacesResponse));
-                nextToken = listWorkspacesResponse.nextToken();
-            }
-        } while (nextToken != null);
-        logger.log("Following Resource" + models.toString() + "has successfully been created.");
+
+        // Only a single page is read per invocation. CloudFormation passes the returned nextToken back on the
+        // following call, so memory and duration stay flat regardless of how many workspaces the account holds.
+        final ListWorkspacesResponse listWorkspacesResponse;
+        final ListWorkspacesRequest listWorkspacesRequest = Translator.translateToListRequest(MAX_RESULT, request.getNextToken());
+        try {
+            listWorkspacesResponse = proxyClient.injectCredentialsAndInvokeV2(listWorkspacesRequest, proxyClient.client()::listWorkspaces);
+        } catch (Exception exception) {
+            return handleError(OPERATION, exception, proxyClient, model, callbackContext, log);
+        }
+
+        final List<ResourceModel> models = Translator.translateFromListResponse(listWorkspacesResponse);
+        final String nextToken = listWorkspacesResponse == null ? null : listWorkspacesResponse.nextToken();
+        log.info(() -> "Listed " + models.size() + " " + ResourceModel.TYPE_NAME + " resources, more pages: "
+            + (nextToken != null));
+        log.debug(() -> "Listed " + HandlerLogger.summarize(models));
 
         return ProgressEvent.<ResourceModel, CallbackContext>builder()
             .resourceModels(models)
+            .nextToken(nextToken)
             .status(OperationStatus.SUCCESS)
             .build();
     }
+
+    /**
+     * List takes no model, there is nothing to validate.
+     */
+    @Override
+    protected List<String> validate(final ResourceModel model) {
+        return Collections.emptyList();
+    }
 }
@@ -0,0 +1,130 @@
+package software.amazon.emr.walworkspace;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.services.emrwal.EmrwalClient;
+import software.amazon.awssdk.services.emrwal.model.CreateWorkspaceRequest;
+import software.amazon.awssdk.services.emrwal.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.emrwal.model.ListWorkspacesResponse;
+import software.amazon.awssdk.services.emrwal.model.TagResourceRequest;
+import software.amazon.awssdk.services.emrwal.model.UntagResourceRequest;
+import software.amazon.awssdk.services.emrwal.model.WalThrottlingException;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+/**
+ * Records, per EMR WAL API, the latency histogram, call, error and throttle counts and the number of payload
+ * elements (tags, tag keys or workspace names) sent and received. One instance covers one handler invocation and
+ * is rendered once at the end of it with {@link #toRecord(String, int)}.
+ *
+ * The per-API state is created on the first call to that API; after that recording only reads the clock and
+ * increments counters.
+ */
+class MetricsProxyClient extends ForwardingProxyClient<EmrwalClient> {
+    static final String RECORD_PREFIX = "EmrwalMetrics ";
+
+    private final ConcurrentMap<String, ApiMetrics> apis = new ConcurrentSkipListMap<>();
+
+    static final class ApiMetrics {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final AtomicLong errors = new AtomicLong();
+        final AtomicLong throttles = new AtomicLong();
+        final AtomicLong items = new AtomicLong();
+    }
+
+    MetricsProxyClient(final ProxyClient<EmrwalClient> delegate) {
+        super(delegate);
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT
+    injectCredentialsAndInvokeV2(final RequestT request, final Function<RequestT, ResponseT> requestFunction) {
+        final ApiMetrics metrics = apis.computeIfAbsent(ApiNames.of(request), api -> new ApiMetrics());
+        metrics.items.addAndGet(itemCount(request));
+        final long start = System.nanoTime();
+        try {
+            final ResponseT response = super.injectCredentialsAndInvokeV2(request, requestFunction);
+            metrics.items.addAndGet(itemCount(response));
+            return response;
+        } catch (WalThrottlingException e) {
+            metrics.throttles.incrementAndGet();
+            metrics.errors.incrementAndGet();
+            throw e;
+        } catch (RuntimeException e) {
+            metrics.errors.incrementAndGet();
+            throw e;
+        } finally {
+            metrics.latency.recordNanos(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Metrics of one API, null if it was not called.
+     */
+    ApiMetrics get(final String api) {
+        return apis.get(api);
+    }
+
+    /**
+     * Render everything recorded as a single line: a fixed prefix followed by a JSON object, APIs in name order.
+     * Latencies are in microseconds.
+     *
+     * @param handler handler the invocation ran
+     * @param attempt handler retry attempt, see {@link RetryBackoff#attemptOf(CallbackContext)}
+     * @return the record
+     */
+    String toRecord(final String handler, final int attempt) {
+        final StringBuilder record = new StringBuilder(64 + 160 * apis.size())
+            .append(RECORD_PREFIX)
+            .append("{\"handler\":\"").append(handler)
+            .append("\",\"attempt\":").append(attempt)
+            .append(",\"apis\":{");
+        boolean first = true;
+        for (final Map.Entry<String, ApiMetrics> entry : apis.entrySet()) {
+            final ApiMetrics metrics = entry.getValue();
+            if (!first) {
+                record.append(',');
+            }
+            first = false;
+            record.append('"').append(entry.getKey()).append("\":{")
+                .append("\"calls\":").append(metrics.latency.getCount())
+                .append(",\"errors\":").append(metrics.errors.get())
+                .append(",\"throttles\":").append(metrics.throttles.get())
+                .append(",\"items\":").append(metrics.items.get())
+                .append(",\"p50\":").append(metrics.latency.percentile(50))
+                .append(",\"p99\":").append(metrics.latency.percentile(99))
+                .append(",\"max\":").append(metrics.latency.getMax())
+                .append(",\"total\":").append(metrics.latency.getTotal())
+                .append('}');
+        }
+        return record.append("}}").toString();
+    }
+
+    private static int itemCount(final Object payload) {
+        if (payload instanceof CreateWorkspaceRequest) {
+            return ((CreateWorkspaceRequest) payload).hasTags() ? ((CreateWorkspaceRequest) payload).tags().size() : 0;
+        }
+        if (payload instanceof TagResourceRequest) {
+            return ((TagResourceRequest) payload).hasTags() ? ((TagResourceRequest) payload).tags().size() : 0;
+        }
+        if (payload instanceof UntagResourceRequest) {
+            return ((UntagResourceRequest) payload).hasTagKeys() ? ((UntagResourceRequest) payload).tagKeys().size() : 0;
+        }
+        if (payload instanceof ListTagsForResourceResponse) {
+            return ((ListTagsForResourceResponse) payload).hasTags()
+                ? ((ListTagsForResourceResponse) payload).tags().size()
+                : 0;
+        }
+        if (payload instanceof ListWorkspacesResponse) {
+            return ((ListWorkspacesResponse) payload).hasWalWorkspaceList()
+                ? ((ListWorkspacesResponse) payload).walWorkspaceList().size()
+                : 0;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,137 @@
+package software.amazon.emr.walworkspace;
+
+import org.apache.logging.log4j.Level;
+
+/**
+ * Optional provider behaviour, read from JVM system properties with environment variables as the fallback so it
+ * can be switched both from local tooling and from the Lambda configuration.
+ */
+@lombok.Value
+@lombok.Builder(toBuilder = true)
+class ProviderSettings {
+
+    static final String ASYNC_TAGGING_PROPERTY = "emrwal.asyncTagging";
+    static final String ASYNC_TAGGING_ENV = "EMRWAL_ASYNC_TAGGING";
+    static final String ENDPOINT_PROPERTY = "emrwal.endpoint";
+    static final String ENDPOINT_ENV = "EMRWAL_ENDPOINT";
+    static final String LOG_LEVEL_PROPERTY = "emrwal.logLevel";
+    static final String LOG_LEVEL_ENV = "EMRWAL_LOG_LEVEL";
+    static final String METADATA_CACHE_TTL_PROPERTY = "emrwal.metadataCacheTtlMillis";
+    static final String METADATA_CACHE_TTL_ENV = "EMRWAL_METADATA_CACHE_TTL_MILLIS";
+    static final String METADATA_CACHE_MAX_ENTRIES_PROPERTY = "emrwal.metadataCacheMaxEntries";
+    static final String METADATA_CACHE_MAX_ENTRIES_ENV = "EMRWAL_METADATA_CACHE_MAX_ENTRIES";
+    static final int DEFAULT_METADATA_CACHE_MAX_ENTRIES = 1000;
+    static final String HTTP_PROFILE_PROPERTY = "emrwal.httpProfile";
+    static final String HTTP_PROFILE_ENV = "EMRWAL_HTTP_PROFILE";
+    static final String HTTP_ATTEMPT_TIMEOUT_PROPERTY = "emrwal.httpAttemptTimeoutMillis";
+    static final String HTTP_ATTEMPT_TIMEOUT_ENV = "EMRWAL_HTTP_ATTEMPT_TIMEOUT_MILLIS";
+    static final String HTTP_CALL_TIMEOUT_PROPERTY = "emrwal.httpCallTimeoutMillis";
+    static final String HTTP_CALL_TIMEOUT_ENV = "EMRWAL_HTTP_CALL_TIMEOUT_MILLIS";
+    static final String TAG_BATCH_SIZE_PROPERTY = "emrwal.tagBatchSize";
+    static final String TAG_BATCH_SIZE_ENV = "EMRWAL_TAG_BATCH_SIZE";
+    static final String TAG_BATCH_CONCURRENCY_PROPERTY = "emrwal.tagBatchConcurrency";
+    static final String TAG_BATCH_CONCURRENCY_ENV = "EMRWAL_TAG_BATCH_CONCURRENCY";
+    static final String DELETE_CONFIRMATION_ATTEMPTS_PROPERTY = "emrwal.deleteConfirmationAttempts";
+    static final String DELETE_CONFIRMATION_ATTEMPTS_ENV = "EMRWAL_DELETE_CONFIRMATION_ATTEMPTS";
+
+    /**
+     * Run independent tagging calls concurrently on {@link ClientBuilder#getAsyncExecutor()}. Off unless enabled,
+     * tagging calls then go out one after the other on the handler thread.
+     */
+    boolean asyncTagging;
+
+    /**
+     * Endpoint the shared client talks to instead of the regional one, e.g. a local stub service. Null for the
+     * regional endpoint.
+     */
+    String endpointOverride;
+
+    /**
+     * Lowest level {@link HandlerLogger} writes, INFO unless configured.
+     */
+    Level logLevel;
+
+    /**
+     * How long {@link WorkspaceMetadataCache} serves the tags of a workspace it read, 0 turns the cache off.
+     */
+    long metadataCacheTtlMillis;
+
+    /**
+     * Workspaces {@link WorkspaceMetadataCache} holds before it evicts the least recently used one.
+     */
+    int metadataCacheMaxEntries;
+
+    /**
+     * HTTP transport of the shared client, LAMBDA_DEFAULT unless configured.
+     */
+    HttpTransportProfile httpTransportProfile;
+
+    /**
+     * Timeout of a single HTTP attempt, 0 for the profile's.
+     */
+    long httpAttemptTimeoutMillis;
+
+    /**
+     * Timeout of a call including its SDK retries, 0 for the profile's.
+     */
+    long httpCallTimeoutMillis;
+
+    /**
+     * Most tags {@link TagBatchPipeline} sends in one call, 0 for {@link TagBatchPipeline#MAX_TAGS_PER_CALL}.
+     */
+    int tagBatchSize;
+
+    /**
+     * Most tagging batches in flight when async tagging is on, 0 for {@link TagBatchPipeline#DEFAULT_CONCURRENCY}.
+     */
+    int tagBatchConcurrency;
+
+    /**
+     * Times a delete looks for the workspace in ListWorkspaces before it gives up waiting for it to disappear, 0
+     * returns as soon as DeleteWorkspace does.
+     */
+    int deleteConfirmationAttempts;
+
+    static ProviderSettings fromEnvironment() {
+        return ProviderSettings.builder()
+            .asyncTagging(flag(ASYNC_TAGGING_PROPERTY, ASYNC_TAGGING_ENV, false))
+            .endpointOverride(text(ENDPOINT_PROPERTY, ENDPOINT_ENV))
+            .logLevel(Level.toLevel(text(LOG_LEVEL_PROPERTY, LOG_LEVEL_ENV), Level.INFO))
+            .metadataCacheTtlMillis(number(METADATA_CACHE_TTL_PROPERTY, METADATA_CACHE_TTL_ENV, 0))
+            .metadataCacheMaxEntries((int) number(METADATA_CACHE_MAX_ENTRIES_PROPERTY, METADATA_CACHE_MAX_ENTRIES_ENV,
+                DEFAULT_METADATA_CACHE_MAX_ENTRIES))
+            .httpTransportProfile(HttpTransportProfile.fromName(text(HTTP_PROFILE_PROPERTY, HTTP_PROFILE_ENV)))
+            .httpAttemptTimeoutMillis(number(HTTP_ATTEMPT_TIMEOUT_PROPERTY, HTTP_ATTEMPT_TIMEOUT_ENV, 0))
+            .httpCallTimeoutMillis(number(HTTP_CALL_TIMEOUT_PROPERTY, HTTP_CALL_TIMEOUT_ENV, 0))
+            .tagBatchSize((int) number(TAG_BATCH_SIZE_PROPERTY, TAG_BATCH_SIZE_ENV, TagBatchPipeline.MAX_TAGS_PER_CALL))
+            .tagBatchConcurrency((int) number(TAG_BATCH_CONCURRENCY_PROPERTY, TAG_BATCH_CONCURRENCY_ENV,
+                TagBatchPipeline.DEFAULT_CONCURRENCY))
+            .deleteConfirmationAttempts((int) number(DELETE_CONFIRMATION_ATTEMPTS_PROPERTY,
+                DELETE_CONFIRMATION_ATTEMPTS_ENV, 0))
+            .build();
+    }
+
+    static String setting(final String property, final String env) {
+        final String value = System.getProperty(property);
+        return value != null ? value : System.getenv(env);
+    }
+
+    static String text(final String property, final String env) {
+        final String value = setting(property, env);
+        return value == null || value.trim().isEmpty() ? null : value.trim();
+    }
+
+    static boolean flag(final String property, final String env, final boolean defaultValue) {
+        final String value = setting(property, env);
+        return value == null || value.trim().isEmpty() ? defaultValue : Boolean.parseBoolean(value.trim());
+    }
+
+    static long number(final String property, final String env, final long defaultValue) {
+        final String value = text(property, env);
+        try {
+            return value == null ? defaultValue : Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package software.amazon.emr.walworkspace;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.services.emrwal.EmrwalClient;
+import software.amazon.awssdk.services.emrwal.model.WalThrottlingException;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+/**
+ * Paces every EMR WAL call through an {@link AdaptiveRateLimiter} and feeds the outcome back into it.
+ *
+ * In a handler a call only waits up to {@link #HANDLER_MAX_WAIT_NANOS} for its token. If the limiter cannot hand one
+ * out by then, the call fails with {@link RateLimitExceededException} without reaching the service, which
+ * {@link ErrorClassifier} treats as retryable, so the handler returns IN_PROGRESS and waits out the backoff as a
+ * callback delay.
+ */
+class RateLimitedProxyClient extends ForwardingProxyClient<EmrwalClient> {
+    /**
+     * The refill time of one token at the default bucket rate, enough to smooth out a burst.
+     */
+    static final long HANDLER_MAX_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final AdaptiveRateLimiter rateLimiter;
+    private final long maxWaitNanos;
+
+    /**
+     * Wait as long as {@link AdaptiveRateLimiter#acquire(String)} does, for callers outside of a handler.
+     */
+    RateLimitedProxyClient(final ProxyClient<EmrwalClient> delegate, final AdaptiveRateLimiter rateLimiter) {
+        this(delegate, rateLimiter, Long.MAX_VALUE);
+    }
+
+    /**
+     * @param maxWaitNanos longest a call waits for a token before it fails with {@link RateLimitExceededException}
+     */
+    RateLimitedProxyClient(final ProxyClient<EmrwalClient> delegate, final AdaptiveRateLimiter rateLimiter,
+        final long maxWaitNanos) {
+        super(delegate);
+        this.rateLimiter = rateLimiter;
+        this.maxWaitNanos = maxWaitNanos;
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT
+    injectCredentialsAndInvokeV2(final RequestT request, final Function<RequestT, ResponseT> requestFunction) {
+        final String api = ApiNames.of(request);
+        if (maxWaitNanos == Long.MAX_VALUE) {
+            rateLimiter.acquire(api);
+        } else if (!rateLimiter.tryAcquire(api, maxWaitNanos)) {
+            throw new RateLimitExceededException(api);
+        }
+        try {
+            final ResponseT response = super.injectCredentialsAndInvokeV2(request, requestFunction);
+            rateLimiter.onSuccess(api);
+            return response;
+        } catch (WalThrottlingException e) {
+            rateLimiter.onThrottle(api);
+            throw e;
+        }
+    }
+
+    /**
+     * A call held back on the client because its API is over the rate the service currently accepts.
+     */
+    static final class RateLimitExceededException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        RateLimitExceededException(final String api) {
+            super("Client-side rate limit for " + api + " reached, the call was not sent");
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package software.amazon.emr.walworkspace;
 
+import java.util.Collections;
+import java.util.List;
 
 import software.amazon.awssdk.services.emrwal.EmrwalClient;
 import software.amazon.awssdk.services.emrwal.model.InvalidResourceException;
 import software.amazon.awssdk.services.emrwal.model.ListTagsForResourceResponse;
 import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
@@ -14,6 +17,23 @@ import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 public class ReadHandler extends BaseHandlerStd {
     public static String OPERATION = "AWS-EMR-WALWorkspace::Read";
 
+    public ReadHandler() {
+        super();
+    }
+
+    ReadHandler(final ProviderSettings settings) {
+        super(settings);
+    }
+
+    /**
+     * Only the name matters for a read, and a name the schema rejects is reported as NotFound by the handler, like
+     * {@link DeleteHandler} does.
+     */
+    @Override
+    protected List<String> validate(final ResourceModel model) {
+        return Collections.emptyList();
+    }
+
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         final AmazonWebServicesClientProxy proxy,
         final ResourceHandlerRequest<ResourceModel> request,
@@ -21,33 +41,45 @@ public class ReadHandler extends BaseHandlerStd {
         final ProxyClient<EmrwalClient> proxyClient,
         final Logger logger) {
 
-        this.logger = logger;
+        final HandlerLogger log = HandlerLogger.of(logger, getSettings());
 
-        logger.log(String.format("[INFO] Read handler request: %s", request));
+        log.debug(() -> "Read handler request: " + request);
 
         ResourceModel model = request.getDesiredResourceState();
         String walWorkspaceName = model.getWALWorkspaceName();
 
-        String accountId = request.getAwsAccountId();
-        String partition = request.getAwsPartition();
-        String region = request.getRegion();
-
         //arn:aws:emrwal:us-east-1:759198610994:workspace/dongawstest
-        String arn = "arn:" + partition + ":emrwal:" + region + ":" + accountId + ":workspace/" + walWorkspaceName;
+        final String arn;
+        try {
+            arn = workspaceArn(request, callbackContext).toString();
+        } catch (CfnInvalidRequestException e) {
+            // No workspace can have a name the schema rejects
+            return ProgressEvent.failed(model, callbackContext, HandlerErrorCode.NotFound, e.getMessage());
+        }
 
+        // Taken before the lookup, so tags read while an Update of the workspace is running are not cached
+        final long cacheGeneration = getMetadataCache().generation();
+        final TagSet cachedTags = getMetadataCache().get(arn);
+        if (cachedTags != null) {
+            log.debug(() -> "Serving " + arn + " from the metadata cache.");
+            return ProgressEvent.defaultSuccessHandler(
+                ResourceModel.builder().wALWorkspaceName(walWorkspaceName).tags(cachedTags.toModelTags()).build());
+        }
 
         try {
             ListTagsForResourceResponse response = proxyClient.injectCredentialsAndInvokeV2(Translator.translateToReadRequest(arn),
                 proxyClient.client()::listTagsForResource);
-            model = Translator.translateFromReadResponse(response, walWorkspaceName);
-            logger.log(String.format("%s has successfully been read.", ResourceModel.TYPE_NAME));
+            final TagSet tags = Translator.translateTagsFromReadResponse(response);
+            getMetadataCache().put(arn, tags, cacheGeneration);
+            model = ResourceModel.builder().wALWorkspaceName(walWorkspaceName).tags(tags.toModelTags()).build();
+            log.info(() -> ResourceModel.TYPE_NAME + " has successfully been read.");
             return ProgressEvent.defaultSuccessHandler(model);
         } catch(InvalidResourceException ir) {
-            logger.log(String.format("% s Resource %s name is incorrect. Here is the stack trace %s ", ResourceModel.TYPE_NAME, arn, ir.getMessage()));
+            log.error(() -> ResourceModel.TYPE_NAME + " Resource " + arn + " name is incorrect: " + ir.getMessage());
             throw new CfnInvalidRequestException(request.toString());
         } catch (Exception exception) {
-            System.out.println("got exception during read:" + exception.getMessage());
-            return handleError(OPERATION, exception, proxyClient, model, callbackContext);
+            log.warn(() -> "Got exception during read: " + exception.getMessage());
+            return handleError(OPERATION, exception, proxyClient, model, callbackContext, log);
         }
 
     }
@@ -0,0 +1,176 @@
+package software.amazon.emr.walworkspace;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Checks a resource model against the constraints of the resource schema before any call goes out, so a
+ * misconfigured template fails with InvalidRequest without spending a round trip or throttling budget.
+ *
+ * The constraints are read from aws-emr-walworkspace.json once, when the shared instance is first used, and kept as
+ * plain lengths and a precompiled pattern: WALWorkspaceName's pattern and length, the Key and Value lengths of a
+ * tag, both of them required, and uniqueItems on Tags, which is checked per key since the service keeps one value
+ * per key. Keys and values may not start with {@link #RESERVED_PREFIX}, which the schema only states in the tag
+ * descriptions.
+ */
+final class ResourceModelValidator {
+    static final String SCHEMA_RESOURCE = "aws-emr-walworkspace.json";
+    static final String RESERVED_PREFIX = "aws:";
+
+    private final StringRule walWorkspaceName;
+    private final StringRule key;
+    private final StringRule value;
+    private final boolean uniqueTagKeys;
+
+    private static final class Holder {
+        private static final ResourceModelValidator SHARED = load(SCHEMA_RESOURCE);
+    }
+
+    private ResourceModelValidator(final StringRule walWorkspaceName, final StringRule key, final StringRule value,
+        final boolean uniqueTagKeys) {
+        this.walWorkspaceName = walWorkspaceName;
+        this.key = key;
+        this.value = value;
+        this.uniqueTagKeys = uniqueTagKeys;
+    }
+
+    /**
+     * Validator for the schema packaged with the handlers.
+     */
+    static ResourceModelValidator shared() {
+        return Holder.SHARED;
+    }
+
+    static ResourceModelValidator load(final String resource) {
+        try (InputStream schema = ResourceModelValidator.class.getClassLoader().getResourceAsStream(resource)) {
+            if (schema == null) {
+                throw new IllegalStateException("Resource schema " + resource + " is not on the classpath");
+            }
+            return fromSchema(new ObjectMapper().readTree(schema));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read resource schema " + resource, e);
+        }
+    }
+
+    static ResourceModelValidator fromSchema(final JsonNode schema) {
+        final JsonNode properties = schema.path("properties");
+        final JsonNode tag = schema.path("definitions").path("Tag");
+        final Set<String> requiredTagProperties = new HashSet<>();
+        tag.path("required").forEach(property -> requiredTagProperties.add(property.asText()));
+        return new ResourceModelValidator(
+            StringRule.of("WALWorkspaceName", properties.path("WALWorkspaceName"), true),
+            StringRule.of("Key", tag.path("properties").path("Key"), requiredTagProperties.contains("Key")),
+            StringRule.of("Value", tag.path("properties").path("Value"), requiredTagProperties.contains("Value")),
+            properties.path("Tags").path("uniqueItems").asBoolean(false));
+    }
+
+    /**
+     * @param model resource model to check, may be null
+     * @return every violation found, empty when the model is valid
+     */
+    List<String> validate(final ResourceModel model) {
+        if (model == null) {
+            return Collections.singletonList("Resource model is required");
+        }
+        List<String> violations = add(null, walWorkspaceName.check(model.getWALWorkspaceName()));
+        final Collection<Tag> tags = model.getTags();
+        if (tags != null && !tags.isEmpty()) {
+            final Set<String> keys = uniqueTagKeys ? new HashSet<>() : null;
+            for (final Tag tag : tags) {
+                if (tag == null) {
+                    violations = add(violations, "Tags must not contain null");
+                    continue;
+                }
+                violations = add(violations, key.check(tag.getKey()));
+                violations = add(violations, value.check(tag.getValue()));
+                violations = add(violations, reserved("Key", tag.getKey()));
+                violations = add(violations, reserved("Value", tag.getValue()));
+                if (keys != null && tag.getKey() != null && !keys.add(tag.getKey())) {
+                    violations = add(violations, "Tags contain the key " + tag.getKey() + " more than once");
+                }
+            }
+        }
+        return violations == null ? Collections.emptyList() : violations;
+    }
+
+    /**
+     * @return why the name breaks the WALWorkspaceName rules of the schema, or null when it is valid
+     */
+    String checkWalWorkspaceName(final String name) {
+        return walWorkspaceName.check(name);
+    }
+
+    private static String reserved(final String property, final String text) {
+        if (text != null && text.regionMatches(true, 0, RESERVED_PREFIX, 0, RESERVED_PREFIX.length())) {
+            return property + " " + text + " must not start with " + RESERVED_PREFIX;
+        }
+        return null;
+    }
+
+    private static List<String> add(final List<String> violations, final String violation) {
+        if (violation == null) {
+            return violations;
+        }
+        final List<String> result = violations == null ? new ArrayList<>(2) : violations;
+        result.add(violation);
+        return result;
+    }
+
+    /**
+     * minLength, maxLength and pattern of a string property, lengths in Unicode characters like JSON schema.
+     */
+    private static final class StringRule {
+        private final String property;
+        private final boolean required;
+        private final int minLength;
+        private final int maxLength;
+        private final Pattern pattern;
+
+        private StringRule(final String property, final boolean required, final int minLength, final int maxLength,
+            final Pattern pattern) {
+            this.property = property;
+            this.required = required;
+            this.minLength = minLength;
+            this.maxLength = maxLength;
+            this.pattern = pattern;
+        }
+
+        static StringRule of(final String property, final JsonNode definition, final boolean required) {
+            return new StringRule(property, required,
+                definition.path("minLength").asInt(0),
+                definition.path("maxLength").asInt(Integer.MAX_VALUE),
+                definition.hasNonNull("pattern") ? Pattern.compile(definition.get("pattern").asText()) : null);
+        }
+
+        String check(final String text) {
+            if (text == null) {
+                return required ? property + " is required" : null;
+            }
+            // A string has at most as many code points as chars and at least half as many, only count them when
+            // the char length alone cannot settle it
+            final int length = text.length() > maxLength || text.length() < 2 * minLength
+                ? text.codePointCount(0, text.length()) : text.length();
+            if (length < minLength) {
+                return property + " must be at least " + minLength + " characters";
+            }
+            if (length > maxLength) {
+                return property + " must be at most " + maxLength + " characters, got " + length;
+            }
+            if (pattern != null && !pattern.matcher(text).find()) {
+                return property + " " + text + " must match " + pattern.pattern();
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package software.amazon.emr.walworkspace;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retry budgets shared by the SDK client and the handlers, and the backoff schedule for handler-level retries.
+ *
+ * Retryable failures are not slept on inside the Lambda: the handler returns IN_PROGRESS with a callback delay
+ * and CloudFormation re-invokes it once the delay has passed. The SDK only retries a single time per handler
+ * attempt so that the two layers do not multiply into a long in-process retry storm.
+ */
+final class RetryBackoff {
+
+    /**
+     * Handler-level retries, the budget {@link CallbackContext#retryAttempts} starts with.
+     */
+    static final int MAX_HANDLER_RETRIES = 5;
+
+    /**
+     * SDK-level retries per handler attempt.
+     */
+    static final int MAX_SDK_RETRIES = 1;
+
+    static final int BASE_DELAY_SECONDS = 2;
+    static final int MAX_DELAY_SECONDS = 60;
+
+    private RetryBackoff() {
+    }
+
+    /**
+     * Exponential backoff with full jitter: a random delay between 1 second and BASE * 2^attempt, capped at
+     * MAX_DELAY_SECONDS.
+     *
+     * @param attempt zero based number of handler retries already scheduled
+     * @return callback delay in seconds, at least 1
+     */
+    static int delaySeconds(final int attempt) {
+        final int ceiling = ceilingSeconds(attempt);
+        return ceiling <= 1 ? 1 : ThreadLocalRandom.current().nextInt(1, ceiling + 1);
+    }
+
+    static int ceilingSeconds(final int attempt) {
+        final int exponent = Math.max(0, Math.min(attempt, 30));
+        final long ceiling = (long) BASE_DELAY_SECONDS << exponent;
+        return (int) Math.min(MAX_DELAY_SECONDS, ceiling);
+    }
+
+    /**
+     * Number of handler retries already used, derived from the remaining budget in the callback context.
+     */
+    static int attemptOf(final CallbackContext callbackContext) {
+        return Math.max(0, MAX_HANDLER_RETRIES - callbackContext.getRetryAttempts());
+    }
+}
@@ -0,0 +1,128 @@
+package software.amazon.emr.walworkspace;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Sends a tag set in batches of at most {@link #MAX_TAGS_PER_CALL} tags, the most a single TagResource or
+ * UntagResource call accepts, with up to a fixed number of batches in flight.
+ *
+ * Batches come from {@link TagSet#partition(int)}, so a retry that sends what is left splits it the same way. After
+ * the first failure no new batch is started; the batches already in flight are allowed to finish and every batch
+ * that succeeded is reported to the caller before the failure is rethrown, which lets the handler drop them from
+ * the callback context. The calling thread takes batches itself while it waits, so the pipeline always makes
+ * progress even when every thread of the executor is busy, e.g. running the untag and tag pipelines of one update.
+ */
+final class TagBatchPipeline {
+    static final int MAX_TAGS_PER_CALL = 50;
+    static final int DEFAULT_CONCURRENCY = 2;
+
+    private final int batchSize;
+    private final int concurrency;
+    private final Executor executor;
+
+    TagBatchPipeline(final int batchSize, final int concurrency, final Executor executor) {
+        if (batchSize < 1 || concurrency < 1) {
+            throw new IllegalArgumentException("Batch size and concurrency must be positive");
+        }
+        this.batchSize = batchSize;
+        this.concurrency = executor == null ? 1 : concurrency;
+        this.executor = executor;
+    }
+
+    /**
+     * Batch size and concurrency from the settings. Without async tagging the batches are sent one after another on
+     * the calling thread.
+     */
+    static TagBatchPipeline forSettings(final ProviderSettings settings) {
+        final int batchSize = settings.getTagBatchSize() > 0 ? settings.getTagBatchSize() : MAX_TAGS_PER_CALL;
+        final int concurrency = settings.getTagBatchConcurrency() > 0
+            ? settings.getTagBatchConcurrency()
+            : DEFAULT_CONCURRENCY;
+        if (!settings.isAsyncTagging() || concurrency == 1) {
+            return new TagBatchPipeline(batchSize, 1, null);
+        }
+        return new TagBatchPipeline(batchSize, concurrency, ClientBuilder.getAsyncExecutor());
+    }
+
+    int getBatchSize() {
+        return batchSize;
+    }
+
+    int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * @param tags tags to send
+     * @param call makes the service call for one batch
+     * @param completed told of every batch whose call succeeded, on the calling thread, also when another batch
+     *                  failed
+     * @throws RuntimeException the first failure of a call, once the batches in flight have finished
+     */
+    void apply(final TagSet tags, final Consumer<TagSet> call, final Consumer<TagSet> completed) {
+        final List<TagSet> batches = tags.partition(batchSize);
+        if (batches.isEmpty()) {
+            return;
+        }
+        final Queue<TagSet> succeeded = new ConcurrentLinkedQueue<>();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final AtomicInteger next = new AtomicInteger();
+        final CountDownLatch settled = new CountDownLatch(batches.size());
+        final Runnable worker = () -> {
+            int index;
+            while ((index = next.getAndIncrement()) < batches.size()) {
+                try {
+                    if (failure.get() == null) {
+                        call.accept(batches.get(index));
+                        succeeded.add(batches.get(index));
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                } finally {
+                    settled.countDown();
+                }
+            }
+        };
+
+        final int helpers = Math.min(concurrency, batches.size()) - 1;
+        for (int i = 0; i < helpers; i++) {
+            executor.execute(worker);
+        }
+        worker.run();
+        awaitUninterruptibly(settled);
+
+        succeeded.forEach(completed);
+        final Throwable t = failure.get();
+        if (t instanceof RuntimeException) {
+            throw (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+    }
+
+    /*
+     * Only batches some thread has already taken are waited for, and none of them waits on anything else.
+     */
+    private static void awaitUninterruptibly(final CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package software.amazon.emr.walworkspace;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Minimal set of tagging calls that moves a workspace from its previous tags to the desired ones.
+ *
+ * TagResource overwrites the value of an existing key, so a tag whose value changed is sent once in the tag call
+ * instead of being untagged and tagged again. A side of the plan that has nothing to send is skipped entirely.
+ */
+final class TagReconciliationPlan {
+
+    enum Action {
+        NONE,
+        ADD_ONLY,
+        REMOVE_ONLY,
+        ADD_AND_REMOVE
+    }
+
+    private final TagSet tagsToAdd;
+    private final TagSet tagsToRemove;
+    private final Action action;
+
+    private TagReconciliationPlan(final TagSet tagsToAdd, final TagSet tagsToRemove) {
+        this.tagsToAdd = tagsToAdd;
+        this.tagsToRemove = tagsToRemove;
+        if (tagsToAdd.isEmpty()) {
+            this.action = tagsToRemove.isEmpty() ? Action.NONE : Action.REMOVE_ONLY;
+        } else {
+            this.action = tagsToRemove.isEmpty() ? Action.ADD_ONLY : Action.ADD_AND_REMOVE;
+        }
+    }
+
+    /**
+     * Plan the calls needed to go from previousTags to desiredTags.
+     *
+     * @param previousTags tags currently on the workspace, by key
+     * @param desiredTags tags the workspace should end up with, by key
+     * @return the plan
+     */
+    static TagReconciliationPlan of(final Map<String, String> previousTags, final Map<String, String> desiredTags) {
+        return of(TagSet.fromMap(previousTags), TagSet.fromMap(desiredTags));
+    }
+
+    /**
+     * Plan the calls needed to go from previousTags to desiredTags.
+     *
+     * @param previousTags tags currently on the workspace
+     * @param desiredTags tags the workspace should end up with
+     * @return the plan
+     */
+    static TagReconciliationPlan of(final TagSet previousTags, final TagSet desiredTags) {
+        return new TagReconciliationPlan(desiredTags.addedOrChangedSince(previousTags),
+            desiredTags.removedSince(previousTags));
+    }
+
+    /**
+     * Rebuild a plan from the calls that were left when it was checkpointed, see {@link UpdateStage}.
+     *
+     * @param tagsToAdd tags still to be sent to TagResource, by key
+     * @param tagKeysToRemove keys still to be sent to UntagResource
+     * @return the plan
+     */
+    static TagReconciliationPlan resume(final Map<String, String> tagsToAdd, final Collection<String> tagKeysToRemove) {
+        return new TagReconciliationPlan(TagSet.fromMap(tagsToAdd), TagSet.ofKeys(tagKeysToRemove));
+    }
+
+    TagSet getTagsToAdd() {
+        return tagsToAdd;
+    }
+
+    TagSet getTagsToRemove() {
+        return tagsToRemove;
+    }
+
+    Action getAction() {
+        return action;
+    }
+
+    boolean requiresTag() {
+        return action == Action.ADD_ONLY || action == Action.ADD_AND_REMOVE;
+    }
+
+    boolean requiresUntag() {
+        return action == Action.REMOVE_ONLY || action == Action.ADD_AND_REMOVE;
+    }
+
+    /**
+     * @param batchSize most tags or tag keys one call carries, see {@link TagBatchPipeline#getBatchSize()}
+     * @return TagResource and UntagResource calls the plan takes
+     */
+    int getCallCount(final int batchSize) {
+        return (tagsToAdd.size() + batchSize - 1) / batchSize + (tagsToRemove.size() + batchSize - 1) / batchSize;
+    }
+}
@@ -0,0 +1,289 @@
+package software.amazon.emr.walworkspace;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Immutable set of tags by key, holding the resource model and the SDK representation together.
+ *
+ * Each representation is built at most once, on first use, and a set read from the service keeps the SDK list it
+ * came with, so a tag list that only passes through (read, diff, send) is never copied. The diff methods compare
+ * the key maps directly and share {@link #empty()} when there is nothing to send. Keys CloudFormation puts on
+ * every stack resource, see {@link #CLOUDFORMATION_KEYS}, are interned so repeated invocations do not keep
+ * separate copies of them.
+ */
+final class TagSet {
+    static final String CLOUDFORMATION_KEY_PREFIX = "aws:cloudformation:";
+    static final List<String> CLOUDFORMATION_KEYS = Collections.unmodifiableList(Arrays.asList(
+        "aws:cloudformation:stack-name", "aws:cloudformation:stack-id", "aws:cloudformation:logical-id"));
+
+    private static final Map<String, String> INTERNED_KEYS = new HashMap<>();
+    private static final TagSet EMPTY = new TagSet(Collections.emptyMap(), Collections.emptyList());
+
+    static {
+        CLOUDFORMATION_KEYS.forEach(key -> INTERNED_KEYS.put(key, key));
+    }
+
+    private final Map<String, String> tags;
+    // Built on first use. A race only builds an equal list twice, and the unmodifiable wrappers publish safely.
+    private List<software.amazon.awssdk.services.emrwal.model.Tag> sdkTags;
+    private Set<Tag> modelTags;
+
+    private TagSet(final Map<String, String> tags, final List<software.amazon.awssdk.services.emrwal.model.Tag> sdkTags) {
+        this.tags = Collections.unmodifiableMap(tags);
+        this.sdkTags = sdkTags;
+    }
+
+    static TagSet empty() {
+        return EMPTY;
+    }
+
+    static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @param tags tags by key, may be null
+     */
+    static TagSet fromMap(final Map<String, String> tags) {
+        return builder().putAll(tags).build();
+    }
+
+    /**
+     * @param tags resource model tags, may be null. A later tag wins over an earlier one with the same key.
+     */
+    static TagSet fromModel(final Collection<Tag> tags) {
+        return builder().putAll(tags).build();
+    }
+
+    /**
+     * Tags as the service returned them. The service hands back a null value for a tag created with "", which is
+     * read as "", the value the template declared. The list itself is kept as the SDK representation.
+     *
+     * @param tags SDK tags, may be null
+     */
+    static TagSet fromSdk(final List<software.amazon.awssdk.services.emrwal.model.Tag> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return EMPTY;
+        }
+        final Map<String, String> byKey = new HashMap<>(capacity(tags.size()));
+        boolean nullValues = false;
+        for (int i = 0; i < tags.size(); i++) {
+            final software.amazon.awssdk.services.emrwal.model.Tag tag = tags.get(i);
+            nullValues |= tag.value() == null;
+            byKey.put(intern(tag.key()), tag.value() == null ? "" : tag.value());
+        }
+        // Duplicate keys or null values mean the list does not match the map, rebuild it on demand
+        return new TagSet(byKey, byKey.size() == tags.size() && !nullValues ? Collections.unmodifiableList(tags) : null);
+    }
+
+    /**
+     * Tags with the given keys and no values, for untagging.
+     */
+    static TagSet ofKeys(final Collection<String> keys) {
+        final Builder builder = builder();
+        if (keys != null) {
+            keys.forEach(key -> builder.put(key, null));
+        }
+        return builder.build();
+    }
+
+    /**
+     * The canonical instance of a key CloudFormation puts on every resource, or the key itself.
+     */
+    static String intern(final String key) {
+        if (key == null || !key.startsWith(CLOUDFORMATION_KEY_PREFIX)) {
+            return key;
+        }
+        final String interned = INTERNED_KEYS.get(key);
+        return interned == null ? key : interned;
+    }
+
+    int size() {
+        return tags.size();
+    }
+
+    boolean isEmpty() {
+        return tags.isEmpty();
+    }
+
+    Set<String> keys() {
+        return tags.keySet();
+    }
+
+    /**
+     * Unmodifiable view of the tags by key.
+     */
+    Map<String, String> asMap() {
+        return tags;
+    }
+
+    List<software.amazon.awssdk.services.emrwal.model.Tag> toSdkTags() {
+        List<software.amazon.awssdk.services.emrwal.model.Tag> result = sdkTags;
+        if (result == null) {
+            final List<software.amazon.awssdk.services.emrwal.model.Tag> built = new ArrayList<>(tags.size());
+            tags.forEach((key, value) -> built.add(
+                software.amazon.awssdk.services.emrwal.model.Tag.builder().key(key).value(value).build()));
+            result = Collections.unmodifiableList(built);
+            sdkTags = result;
+        }
+        return result;
+    }
+
+    Set<Tag> toModelTags() {
+        Set<Tag> result = modelTags;
+        if (result == null) {
+            final Set<Tag> built = new HashSet<>(capacity(tags.size()));
+            tags.forEach((key, value) -> built.add(new Tag(key, value)));
+            result = Collections.unmodifiableSet(built);
+            modelTags = result;
+        }
+        return result;
+    }
+
+    /**
+     * The tags in batches of at most batchSize, taken in key order, so the same set always splits into the same
+     * batches and each batch keeps its order. A set that fits one batch is returned as it is.
+     */
+    List<TagSet> partition(final int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive, got " + batchSize);
+        }
+        if (tags.size() <= batchSize) {
+            return isEmpty() ? Collections.emptyList() : Collections.singletonList(this);
+        }
+        final List<TagSet> batches = new ArrayList<>((tags.size() + batchSize - 1) / batchSize);
+        Map<String, String> batch = null;
+        for (final Map.Entry<String, String> tag : new TreeMap<>(tags).entrySet()) {
+            if (batch == null) {
+                batch = new LinkedHashMap<>(capacity(batchSize));
+            }
+            batch.put(tag.getKey(), tag.getValue());
+            if (batch.size() == batchSize) {
+                batches.add(new TagSet(batch, null));
+                batch = null;
+            }
+        }
+        if (batch != null) {
+            batches.add(new TagSet(batch, null));
+        }
+        return batches;
+    }
+
+    /**
+     * Tags of this set that previous does not have, or has with another value: what TagResource has to send.
+     */
+    TagSet addedOrChangedSince(final TagSet previous) {
+        if (previous == this || isEmpty()) {
+            return EMPTY;
+        }
+        Map<String, String> changed = null;
+        for (final Map.Entry<String, String> tag : tags.entrySet()) {
+            if (!previous.tags.containsKey(tag.getKey())
+                || !valueEquals(previous.tags.get(tag.getKey()), tag.getValue())) {
+                if (changed == null) {
+                    changed = new HashMap<>();
+                }
+                changed.put(tag.getKey(), tag.getValue());
+            }
+        }
+        return changed == null ? EMPTY : new TagSet(changed, null);
+    }
+
+    /**
+     * Tags of previous whose key this set does not have: what UntagResource has to send.
+     */
+    TagSet removedSince(final TagSet previous) {
+        if (previous == this || previous.isEmpty()) {
+            return EMPTY;
+        }
+        Map<String, String> removed = null;
+        for (final Map.Entry<String, String> tag : previous.tags.entrySet()) {
+            if (!tags.containsKey(tag.getKey())) {
+                if (removed == null) {
+                    removed = new HashMap<>();
+                }
+                removed.put(tag.getKey(), tag.getValue());
+            }
+        }
+        return removed == null ? EMPTY : new TagSet(removed, null);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return other instanceof TagSet && tags.equals(((TagSet) other).tags);
+    }
+
+    @Override
+    public int hashCode() {
+        return tags.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return tags.toString();
+    }
+
+    /*
+     * The service hands back a null value for tags created with "", compare the two as equal.
+     */
+    private static boolean valueEquals(final String previous, final String desired) {
+        final String left = previous == null ? "" : previous;
+        final String right = desired == null ? "" : desired;
+        return left.equals(right);
+    }
+
+    private static int capacity(final int size) {
+        return Math.max(4, (int) (size / 0.75f) + 1);
+    }
+
+    /**
+     * Accumulates tags from several sources, a later put wins over an earlier one with the same key. The set
+     * takes over the builder's map, so a builder is not used again after {@link #build()}.
+     */
+    static final class Builder {
+        private Map<String, String> tags;
+
+        private Builder() {
+        }
+
+        Builder put(final String key, final String value) {
+            if (tags == null) {
+                tags = new HashMap<>();
+            }
+            tags.put(intern(key), value);
+            return this;
+        }
+
+        Builder putAll(final Map<String, String> tags) {
+            if (tags != null) {
+                tags.forEach(this::put);
+            }
+            return this;
+        }
+
+        Builder putAll(final Collection<Tag> tags) {
+            if (tags != null) {
+                tags.forEach(tag -> put(tag.getKey(), tag.getValue()));
+            }
+            return this;
+        }
+
+        Builder putAll(final TagSet tags) {
+            return putAll(tags.tags);
+        }
+
+        TagSet build() {
+            return tags == null || tags.isEmpty() ? EMPTY : new TagSet(tags, null);
+        }
+    }
+}
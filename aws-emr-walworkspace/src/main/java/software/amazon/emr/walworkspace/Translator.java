@@ -1,6 +1,5 @@
 package software.amazon.emr.walworkspace;
 
-import com.google.common.collect.Sets;
 import software.amazon.awssdk.services.emrwal.model.CreateWorkspaceRequest;
 import software.amazon.awssdk.services.emrwal.model.DeleteWorkspaceRequest;
 import software.amazon.awssdk.services.emrwal.model.EmrwalException;
@@ -16,7 +15,7 @@ import software.amazon.awssdk.services.emrwal.model.WalThrottlingException;
 import software.amazon.cloudformation.exceptions.BaseHandlerException;
 import software.amazon.cloudformation.exceptions.CfnNotFoundException;
 import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
-import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
+import software.amazon.cloudformation.exceptions.CfnServiceLimitExceededException;
 import software.amazon.cloudformation.exceptions.CfnThrottlingException;
 
 import java.util.Collection;
@@ -29,8 +28,6 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import org.apache.commons.lang3.StringUtils;
-
 /**
  * This class is a centralized placeholder for
  *  - api request construction
@@ -46,14 +43,22 @@ public class Translator {
    * @return awsRequest the aws service request to create a resource
    */
   public static CreateWorkspaceRequest translateToCreateRequest(final ResourceModel model) {
+    return translateToCreateRequest(model, TagSet.fromModel(model.getTags()));
+  }
+
+  /**
+   * Request to create a workspace with only some of its tags, e.g. the first batch when there are more than one
+   * call accepts
+   * @param model resource model
+   * @param tags tags to create the workspace with
+   * @return awsRequest the aws service request to create a resource
+   */
+  static CreateWorkspaceRequest translateToCreateRequest(final ResourceModel model, final TagSet tags) {
     CreateWorkspaceRequest createWorkspaceRequest;
 
     if(model.getTags() != null) {
-      Set<software.amazon.awssdk.services.emrwal.model.Tag> tags =
-          model.getTags().stream().map(resourceModelTag -> TagHelper.toSDKTag(resourceModelTag))
-                  .collect(Collectors.toSet());
-      createWorkspaceRequest = CreateWorkspaceRequest.builder().tags(tags).walWorkspace(
-          model.getWALWorkspaceName()).build();
+      createWorkspaceRequest = CreateWorkspaceRequest.builder().tags(tags.toSdkTags())
+          .walWorkspace(model.getWALWorkspaceName()).build();
     } else {
       createWorkspaceRequest = CreateWorkspaceRequest.builder().walWorkspace(model.getWALWorkspaceName()).build();
     }
@@ -79,15 +84,20 @@ public class Translator {
    */
   public static ResourceModel translateFromReadResponse(final ListTagsForResourceResponse response,
       final String walWorkspaceName) {
-    Set<Tag> tags = response.tags().stream().map(sdkTag -> TagHelper.toResourceModelTag(sdkTag)).collect(
-        Collectors.toSet());
-
     return ResourceModel.builder()
         .wALWorkspaceName(walWorkspaceName)
-        .tags(tags)
+        .tags(translateTagsFromReadResponse(response).toModelTags())
         .build();
   }
 
+  /**
+   * Tags of a workspace as the service reports them, without converting them to resource model tags.
+   * @return tags the tags on the workspace
+   */
+  static TagSet translateTagsFromReadResponse(final ListTagsForResourceResponse response) {
+    return TagSet.fromSdk(response.tags());
+  }
+
   /**
    * Request to delete a resource
    * @param model resource model
@@ -118,11 +128,20 @@ public class Translator {
    * @return TagResourceRequest the aws service request for tagging
    */
   public static TagResourceRequest tagResourceRequest(final String arn, final Set<Tag> tagsToAdd) {
+    return tagResourceRequest(arn, TagSet.fromModel(tagsToAdd));
+  }
+
+  /**
+   * Request to add tags to a resource, reusing the SDK tags of the set
+   * @param arn workspace arn
+   * @param tagsToAdd
+   *
+   * @return TagResourceRequest the aws service request for tagging
+   */
+  static TagResourceRequest tagResourceRequest(final String arn, final TagSet tagsToAdd) {
     return TagResourceRequest.builder()
         .resourceARN(arn)
-        .tags(tagsToAdd.stream()
-            .map(resourceModelTag -> TagHelper.toSDKTag(resourceModelTag))
-            .collect(Collectors.toList()))
+        .tags(tagsToAdd.toSdkTags())
         .build();
   }
 
@@ -142,6 +161,20 @@ public class Translator {
                 .collect(Collectors.toList())).build();
   }
 
+  /**
+   * Request to remove the keys of a tag set from a resource
+   * @param arn workspace arn
+   * @param tagsToRemove
+   *
+   * @return UntagResourceRequest the aws service request for untagging
+   */
+  static UntagResourceRequest untagResourceRequest(final String arn, final TagSet tagsToRemove) {
+    return UntagResourceRequest.builder()
+        .resourceARN(arn)
+        .tagKeys(tagsToRemove.keys())
+        .build();
+  }
+
   /**
    * Translates workspace list to a list of resource models.
    *
@@ -149,7 +182,7 @@ public class Translator {
    * @return list of resource models
    */
   public static List<ResourceModel> translateFromListResponse(final ListWorkspacesResponse listWorkspacesResponse) {
-    return streamOfOrEmpty(listWorkspacesResponse.walWorkspaceList())
+    return streamOfOrEmpty(listWorkspacesResponse == null ? null : listWorkspacesResponse.walWorkspaceList())
         .map(walWorkspaceName -> ResourceModel.builder()
             .wALWorkspaceName(walWorkspaceName)
             .build())
@@ -178,11 +211,11 @@ public class Translator {
           if("AWS-EMR-WALWorkspace::List".equals(operation)) {
             return new CfnGeneralServiceException(operation, e);
           } else if (e instanceof ResourceNotFoundException) {
-            return StringUtils.isEmpty(workSpaceName)
+            return workSpaceName == null || workSpaceName.isEmpty()
                 ? new CfnNotFoundException(e)
                 : new CfnNotFoundException(ResourceModel.TYPE_NAME, workSpaceName);
           } else if (e instanceof TooManyTagsException) {
-            return new CfnServiceInternalErrorException(operation, e);
+            return new CfnServiceLimitExceededException(ResourceModel.TYPE_NAME, e.getMessage());
           } else if (e instanceof WalThrottlingException) {
             return new CfnThrottlingException(operation, e);
           } else {
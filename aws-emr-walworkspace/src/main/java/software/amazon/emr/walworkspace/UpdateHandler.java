@@ -1,26 +1,31 @@
 package software.amazon.emr.walworkspace;
 
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
-import com.google.common.collect.Sets;
 import software.amazon.awssdk.services.emrwal.EmrwalClient;
 import software.amazon.awssdk.services.emrwal.model.ListTagsForResourceResponse;
-import software.amazon.awssdk.services.emrwal.model.TagResourceRequest;
-import software.amazon.awssdk.services.emrwal.model.UntagResourceRequest;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
-import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
-import org.apache.commons.lang3.StringUtils;
-
 public class UpdateHandler extends BaseHandlerStd {
     public static final String OPERATION = "AWS-EMR-WALWorkspace::Update";
 
+    public UpdateHandler() {
+        super();
+    }
+
+    UpdateHandler(final ProviderSettings settings) {
+        super(settings);
+    }
+
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         final AmazonWebServicesClientProxy proxy,
         final ResourceHandlerRequest<ResourceModel> request,
@@ -29,58 +34,138 @@ public class UpdateHandler extends BaseHandlerStd {
         final Logger logger
     ) {
 
-        this.logger = logger;
+        final HandlerLogger log = HandlerLogger.of(logger, getSettings());
 
         ResourceModel model = request.getDesiredResourceState();
 
-        // Get cloudformation stack tags from previous stage and current stage
-        logger.log("Fetch cloudformation stack tags.");
-        Set<Tag> previousTags = Translator.convertResourceTagsToSet(request.getPreviousResourceTags());
-        Set<Tag> desiredTags = Translator.convertResourceTagsToSet(request.getDesiredResourceTags());
-
-        // Get system tag from previous stage and current stage
-        logger.log("Fetch system tags.");
-        previousTags.addAll(Translator.convertResourceTagsToSet(request.getPreviousSystemTags()));
-        desiredTags.addAll(Translator.convertResourceTagsToSet(request.getSystemTags()));
+        //arn:aws:emrwal:us-west-2:123456789123:walNameSpace/walName
+        final String arn = workspaceArn(request, callbackContext).toString();
 
-        // Get walWorkspace resource tag from
-        logger.log("Fetch resource tags.");
         try {
-            desiredTags.addAll(model.getTags());
+            final TagReconciliationPlan plan;
+            if (callbackContext.getUpdateStage() == null) {
+                plan = planTagging(request, model, arn, proxyClient, log);
+                checkpoint(callbackContext, plan);
+            } else {
+                log.info(() -> "Resuming update at stage " + callbackContext.getUpdateStage());
+                plan = TagReconciliationPlan.resume(
+                    callbackContext.getPendingTagsToAdd(), callbackContext.getPendingTagKeysToRemove());
+            }
+
+            // Each batch clears its part of the saved plan once it has succeeded, so a retry only repeats what failed
+            final TagBatchPipeline pipeline = TagBatchPipeline.forSettings(getSettings());
+            log.debug(() -> "Tag reconciliation takes " + plan.getCallCount(pipeline.getBatchSize())
+                + " tagging calls.");
+            final Runnable untag = () -> pipeline.apply(plan.getTagsToRemove(),
+                batch -> {
+                    log.debug(() -> "Start removing tags " + HandlerLogger.summarize(batch.keys()));
+                    proxyClient.injectCredentialsAndInvokeV2(Translator.untagResourceRequest(arn, batch),
+                        proxyClient.client()::untagResource);
+                },
+                batch -> callbackContext.setPendingTagKeysToRemove(
+                    without(callbackContext.getPendingTagKeysToRemove(), batch)));
+            final Runnable tag = () -> pipeline.apply(plan.getTagsToAdd(),
+                batch -> {
+                    log.debug(() -> "Start adding tags " + HandlerLogger.summarize(batch.keys()));
+                    proxyClient.injectCredentialsAndInvokeV2(Translator.tagResourceRequest(arn, batch),
+                        proxyClient.client()::tagResource);
+                },
+                batch -> callbackContext.setPendingTagsToAdd(without(callbackContext.getPendingTagsToAdd(), batch)));
+
+            try {
+                if (plan.getAction() == TagReconciliationPlan.Action.ADD_AND_REMOVE && getSettings().isAsyncTagging()) {
+                    // The plan never untags a key it tags, so the two calls are independent
+                    invokeConcurrently(ClientBuilder.getAsyncExecutor(), untag, tag);
+                } else {
+                    if (plan.requiresUntag()) {
+                        untag.run();
+                    }
+                    if (plan.requiresTag()) {
+                        tag.run();
+                    }
+                }
+            } finally {
+                callbackContext.setUpdateStage(nextStage(callbackContext));
+                getMetadataCache().invalidate(arn);
+            }
+
+            return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                .resourceModel(model)
+                .status(OperationStatus.SUCCESS)
+                .build();
+        }
+        catch (Exception exception) {
+            log.error(() -> "Failed to update workspace: " + exception.getMessage());
+            return handleError(OPERATION, exception, proxyClient, model, callbackContext, log);
+        }
+    }
 
-            String accountId = request.getAwsAccountId();
-            String partition = request.getAwsPartition();
-            String region = request.getRegion();
+    /**
+     * Read the tags on the workspace and diff them against the desired ones, before any stage is checkpointed.
+     */
+    private TagReconciliationPlan planTagging(
+        final ResourceHandlerRequest<ResourceModel> request,
+        final ResourceModel model,
+        final String arn,
+        final ProxyClient<EmrwalClient> proxyClient,
+        final HandlerLogger log) {
 
-            //arn:aws:emrwal:us-west-2:123456789123:walNameSpace/walName
-            String arn = "arn:" + partition + ":emrwal:" + region + ":" + accountId + ":workspace/" + model.getWALWorkspaceName();
+        // Get cloudformation stack tags from previous stage and current stage
+        log.debug("Fetch cloudformation stack tags.");
+        final TagSet.Builder previousTags = TagSet.builder().putAll(request.getPreviousResourceTags());
+        final TagSet.Builder desiredTags = TagSet.builder().putAll(request.getDesiredResourceTags());
 
-            ListTagsForResourceResponse response = proxyClient.injectCredentialsAndInvokeV2(Translator.translateToReadRequest(arn),
-                proxyClient.client()::listTagsForResource);
-            previousTags.addAll(Translator.translateFromReadResponse(response, model.getWALWorkspaceName()).getTags());
+        // Get system tag from previous stage and current stage
+        log.debug("Fetch system tags.");
+        previousTags.putAll(request.getPreviousSystemTags());
+        desiredTags.putAll(request.getSystemTags());
 
-            final Set<Tag> tagsToRemove = Sets.difference(previousTags, desiredTags);
-            final Set<Tag> tagsToAdd = Sets.difference(desiredTags, previousTags);
+        // Get walWorkspace resource tag from
+        log.debug("Fetch resource tags.");
+        desiredTags.putAll(model.getTags());
 
-            UntagResourceRequest untagResourceRequest = Translator.untagResourceRequest(arn, tagsToRemove);
-            logger.log("Start removing tags");
-            proxyClient.injectCredentialsAndInvokeV2(untagResourceRequest,proxyClient.client()::untagResource);
+        // What the service reports is authoritative over what the previous template said
+        ListTagsForResourceResponse response = proxyClient.injectCredentialsAndInvokeV2(Translator.translateToReadRequest(arn),
+            proxyClient.client()::listTagsForResource);
+        previousTags.putAll(Translator.translateTagsFromReadResponse(response));
 
+        final TagReconciliationPlan plan = TagReconciliationPlan.of(previousTags.build(), desiredTags.build());
+        log.info(() -> "Tag reconciliation plan: " + plan.getAction());
+        return plan;
+    }
 
-            TagResourceRequest tagResourceRequest = Translator.tagResourceRequest(arn, tagsToAdd);
-            logger.log("Start adding tags");
-            proxyClient.injectCredentialsAndInvokeV2(tagResourceRequest,proxyClient.client()::tagResource);
+    private static void checkpoint(final CallbackContext callbackContext, final TagReconciliationPlan plan) {
+        callbackContext.setPendingTagsToAdd(new HashMap<>(plan.getTagsToAdd().asMap()));
+        final List<String> tagKeysToRemove = new ArrayList<>(plan.getTagsToRemove().keys());
+        callbackContext.setPendingTagKeysToRemove(tagKeysToRemove);
+        callbackContext.setUpdateStage(nextStage(callbackContext));
+    }
 
-            return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                .resourceModel(model)
-                .status(OperationStatus.SUCCESS)
-                .build();
-        }
-        catch (Exception exception) {
-            logger.log(String.format("Failed to update workspace: %s", exception.getMessage()));
-            return handleError(OPERATION, exception, proxyClient, model, callbackContext);
+    private static List<String> without(final List<String> tagKeys, final TagSet batch) {
+        if (tagKeys == null) {
+            return Collections.emptyList();
         }
+        final List<String> remaining = new ArrayList<>(tagKeys);
+        remaining.removeAll(batch.keys());
+        return remaining;
     }
 
+    private static Map<String, String> without(final Map<String, String> tags, final TagSet batch) {
+        if (tags == null) {
+            return Collections.emptyMap();
+        }
+        final Map<String, String> remaining = new HashMap<>(tags);
+        remaining.keySet().removeAll(batch.keys());
+        return remaining;
+    }
 
+    static UpdateStage nextStage(final CallbackContext callbackContext) {
+        if (callbackContext.getPendingTagKeysToRemove() != null && !callbackContext.getPendingTagKeysToRemove().isEmpty()) {
+            return UpdateStage.UNTAG;
+        }
+        if (callbackContext.getPendingTagsToAdd() != null && !callbackContext.getPendingTagsToAdd().isEmpty()) {
+            return UpdateStage.TAG;
+        }
+        return UpdateStage.DONE;
+    }
 }
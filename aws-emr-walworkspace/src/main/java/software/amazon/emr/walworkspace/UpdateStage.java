@@ -0,0 +1,17 @@
+package software.amazon.emr.walworkspace;
+
+/**
+ * Checkpointed stages of an update, kept in {@link CallbackContext#updateStage}. A re-invoked update resumes at the
+ * stage saved there instead of starting over, without one it reads the tags and plans the calls again.
+ */
+public enum UpdateStage {
+    /**
+     * UntagResource for the saved tag keys.
+     */
+    UNTAG,
+    /**
+     * TagResource for the saved tags.
+     */
+    TAG,
+    DONE
+}
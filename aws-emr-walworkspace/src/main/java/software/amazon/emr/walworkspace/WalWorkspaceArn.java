@@ -0,0 +1,111 @@
+package software.amazon.emr.walworkspace;
+
+import java.util.Objects;
+
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+/**
+ * ARN of a WAL workspace, arn:{partition}:emrwal:{region}:{account}:workspace/{name}.
+ *
+ * The name is checked against the WALWorkspaceName rules of the resource schema, through
+ * {@link ResourceModelValidator#shared()}, before anything goes out, so an invalid name fails locally instead of on
+ * a service round trip. The prefix up to "workspace/" is the same for
+ * every workspace a Lambda serves, it is built once and reused for as long as partition, region and account stay
+ * the same.
+ */
+final class WalWorkspaceArn {
+    private static volatile Prefix lastPrefix = new Prefix("", "", "");
+
+    private final String arn;
+    private final String walWorkspaceName;
+
+    private WalWorkspaceArn(final String arn, final String walWorkspaceName) {
+        this.arn = arn;
+        this.walWorkspaceName = walWorkspaceName;
+    }
+
+    /**
+     * @throws CfnInvalidRequestException if the name does not match the resource schema
+     */
+    static WalWorkspaceArn of(final String partition, final String region, final String accountId,
+        final String walWorkspaceName) {
+        validateName(walWorkspaceName);
+        return new WalWorkspaceArn(prefix(partition, region, accountId) + walWorkspaceName, walWorkspaceName);
+    }
+
+    /**
+     * ARN of the workspace in the desired resource state of the request.
+     *
+     * @throws CfnInvalidRequestException if the name does not match the resource schema
+     */
+    static WalWorkspaceArn of(final ResourceHandlerRequest<ResourceModel> request) {
+        return of(request.getAwsPartition(), request.getRegion(), request.getAwsAccountId(),
+            request.getDesiredResourceState().getWALWorkspaceName());
+    }
+
+    /**
+     * An ARN built and validated by an earlier invocation, e.g. the one saved in {@link CallbackContext}.
+     */
+    static WalWorkspaceArn restore(final String arn) {
+        return new WalWorkspaceArn(arn, arn.substring(arn.lastIndexOf('/') + 1));
+    }
+
+    /**
+     * @throws CfnInvalidRequestException unless the name matches WALWorkspaceName in the resource schema
+     */
+    static void validateName(final String walWorkspaceName) {
+        final String violation = ResourceModelValidator.shared().checkWalWorkspaceName(walWorkspaceName);
+        if (violation != null) {
+            throw new CfnInvalidRequestException(violation);
+        }
+    }
+
+    String getWalWorkspaceName() {
+        return walWorkspaceName;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return other instanceof WalWorkspaceArn && arn.equals(((WalWorkspaceArn) other).arn);
+    }
+
+    @Override
+    public int hashCode() {
+        return arn.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return arn;
+    }
+
+    private static String prefix(final String partition, final String region, final String accountId) {
+        final Prefix prefix = lastPrefix;
+        if (prefix.matches(partition, region, accountId)) {
+            return prefix.value;
+        }
+        final Prefix built = new Prefix(partition, region, accountId);
+        lastPrefix = built;
+        return built.value;
+    }
+
+    private static final class Prefix {
+        private final String partition;
+        private final String region;
+        private final String accountId;
+        private final String value;
+
+        private Prefix(final String partition, final String region, final String accountId) {
+            this.partition = partition;
+            this.region = region;
+            this.accountId = accountId;
+            this.value = "arn:" + partition + ":emrwal:" + region + ":" + accountId + ":workspace/";
+        }
+
+        private boolean matches(final String partition, final String region, final String accountId) {
+            return Objects.equals(this.partition, partition) && Objects.equals(this.region, region)
+                && Objects.equals(this.accountId, accountId);
+        }
+    }
+}
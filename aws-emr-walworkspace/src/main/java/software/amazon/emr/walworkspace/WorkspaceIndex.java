@@ -0,0 +1,76 @@
+package software.amazon.emr.walworkspace;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import software.amazon.awssdk.services.emrwal.EmrwalClient;
+import software.amazon.awssdk.services.emrwal.model.ListWorkspacesRequest;
+import software.amazon.awssdk.services.emrwal.model.ListWorkspacesResponse;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+/**
+ * Existence index over the workspaces of an account, filled lazily from ListWorkspaces.
+ *
+ * Pages are fetched only until the requested name shows up, so a lookup for a workspace on the first page costs
+ * a single call no matter how many workspaces the account holds. Every name seen so far is kept in a hash set and
+ * the scan resumes from the last nextToken, so further lookups within the same invocation reuse the pages that
+ * were already read. An instance is not thread safe and is meant to live for a single handler invocation.
+ */
+class WorkspaceIndex {
+    private final ProxyClient<EmrwalClient> proxyClient;
+    private final int pageSize;
+    private final Set<String> knownWorkspaces = new HashSet<>();
+
+    private String nextToken;
+    private boolean exhausted;
+    private int pagesFetched;
+
+    WorkspaceIndex(final ProxyClient<EmrwalClient> proxyClient) {
+        this(proxyClient, BaseHandlerStd.MAX_RESULT);
+    }
+
+    WorkspaceIndex(final ProxyClient<EmrwalClient> proxyClient, final int pageSize) {
+        this.proxyClient = proxyClient;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Return true if the workspace exists, scanning only as many pages as needed to find it.
+     *
+     * @param walWorkspaceName workspace name to look up
+     * @return boolean
+     */
+    boolean contains(final String walWorkspaceName) {
+        if (walWorkspaceName == null) {
+            return false;
+        }
+        while (!knownWorkspaces.contains(walWorkspaceName)) {
+            if (exhausted) {
+                return false;
+            }
+            fetchNextPage();
+        }
+        return true;
+    }
+
+    /**
+     * Number of ListWorkspaces pages read so far.
+     */
+    int getPagesFetched() {
+        return pagesFetched;
+    }
+
+    private void fetchNextPage() {
+        final ListWorkspacesRequest listWorkspacesRequest = Translator.translateToListRequest(pageSize, nextToken);
+        final ListWorkspacesResponse response =
+            proxyClient.injectCredentialsAndInvokeV2(listWorkspacesRequest, proxyClient.client()::listWorkspaces);
+        pagesFetched++;
+
+        if (response != null && response.hasWalWorkspaceList()) {
+            knownWorkspaces.addAll(response.walWorkspaceList());
+        }
+
+        nextToken = response == null ? null : response.nextToken();
+        exhausted = nextToken == null || nextToken.isEmpty();
+    }
+}
@@ -0,0 +1,187 @@
+package software.amazon.emr.walworkspace;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Tags of recently read workspaces by ARN, kept in the warm Lambda JVM so that reads of the same workspace a few
+ * seconds apart, e.g. drift detection right after a stack operation, do not each call ListTagsForResource.
+ *
+ * An entry expires {@link ProviderSettings#getMetadataCacheTtlMillis()} after it was stored, and past
+ * {@link ProviderSettings#getMetadataCacheMaxEntries()} entries the least recently used one is evicted. Having an
+ * entry means the workspace existed when it was read, failed reads are never cached.
+ *
+ * Create, Update and Delete invalidate the workspace they touch. A read that started before the invalidation may
+ * still finish after it, so a reader takes the {@link #generation()} before it calls the service and the tags it got
+ * are only stored if the workspace has not been invalidated since. Invalidation only reaches the cache of the JVM it
+ * ran in: a change made by another warm Lambda instance, or outside of the provider, is visible here at the latest
+ * after the TTL. All methods are safe for concurrent use. The cache is off unless a TTL is configured, in which case
+ * {@link #forSettings(ProviderSettings)} hands out the disabled instance that never stores anything.
+ */
+final class WorkspaceMetadataCache {
+
+    static final WorkspaceMetadataCache DISABLED = new WorkspaceMetadataCache(0, 0, System::nanoTime);
+
+    private static final Map<List<Long>, WorkspaceMetadataCache> SHARED = new ConcurrentHashMap<>();
+
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries;
+    // Generation of the last invalidation of each recently invalidated ARN, bounded like the entries. An ARN whose
+    // record was evicted counts as invalidated at evictedGeneration. Guarded by entries.
+    private final Map<String, Long> invalidations;
+    private long generation;
+    private long evictedGeneration;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    WorkspaceMetadataCache(final long ttlMillis, final int maxEntries, final LongSupplier clock) {
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.clock = clock;
+        // Access ordered, so the eldest entry is the least recently used one
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Entry> eldest) {
+                if (size() > maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.invalidations = new LinkedHashMap<String, Long>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Long> eldest) {
+                if (size() > maxEntries) {
+                    evictedGeneration = Math.max(evictedGeneration, eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * The cache shared by every handler in the JVM with the same configuration, or {@link #DISABLED} when no TTL is
+     * configured.
+     */
+    static WorkspaceMetadataCache forSettings(final ProviderSettings settings) {
+        final long ttlMillis = settings.getMetadataCacheTtlMillis();
+        final int maxEntries = settings.getMetadataCacheMaxEntries();
+        if (ttlMillis <= 0 || maxEntries <= 0) {
+            return DISABLED;
+        }
+        return SHARED.computeIfAbsent(Arrays.asList(ttlMillis, (long) maxEntries),
+            key -> new WorkspaceMetadataCache(ttlMillis, maxEntries, System::nanoTime));
+    }
+
+    boolean isEnabled() {
+        return ttlNanos > 0;
+    }
+
+    /**
+     * @param arn workspace ARN
+     * @return the cached tags, or null on a miss or when the entry has expired
+     */
+    TagSet get(final String arn) {
+        if (!isEnabled()) {
+            return null;
+        }
+        final long now = clock.getAsLong();
+        synchronized (entries) {
+            final Entry entry = entries.get(arn);
+            if (entry != null && now - entry.storedAtNanos < ttlNanos) {
+                hits.incrementAndGet();
+                return entry.tags;
+            }
+            if (entry != null) {
+                entries.remove(arn);
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * To be taken before the tags are read from the service and handed to {@link #put(String, TagSet, long)}.
+     */
+    long generation() {
+        synchronized (entries) {
+            return generation;
+        }
+    }
+
+    /**
+     * Store tags read from the service, unless the workspace was invalidated after the read started: those tags may
+     * predate the write that invalidated it.
+     *
+     * @param readGeneration the {@link #generation()} taken before the read
+     */
+    void put(final String arn, final TagSet tags, final long readGeneration) {
+        if (!isEnabled()) {
+            return;
+        }
+        final Entry entry = new Entry(tags, clock.getAsLong());
+        synchronized (entries) {
+            final Long invalidatedAt = invalidations.get(arn);
+            if (Math.max(invalidatedAt == null ? 0 : invalidatedAt, evictedGeneration) > readGeneration) {
+                return;
+            }
+            entries.put(arn, entry);
+        }
+    }
+
+    void invalidate(final String arn) {
+        if (!isEnabled()) {
+            return;
+        }
+        synchronized (entries) {
+            entries.remove(arn);
+            invalidations.remove(arn);
+            invalidations.put(arn, ++generation);
+        }
+    }
+
+    void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+            invalidations.clear();
+            evictedGeneration = ++generation;
+        }
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    long getHits() {
+        return hits.get();
+    }
+
+    long getMisses() {
+        return misses.get();
+    }
+
+    long getEvictions() {
+        return evictions.get();
+    }
+
+    private static final class Entry {
+        private final TagSet tags;
+        private final long storedAtNanos;
+
+        private Entry(final TagSet tags, final long storedAtNanos) {
+            this.tags = tags;
+            this.storedAtNanos = storedAtNanos;
+        }
+    }
+}
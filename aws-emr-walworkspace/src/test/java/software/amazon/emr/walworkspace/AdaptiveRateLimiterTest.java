@@ -0,0 +1,223 @@
+package software.amazon.emr.walworkspace;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.emrwal.EmrwalClient;
+import software.amazon.awssdk.services.emrwal.model.CreateWorkspaceRequest;
+import software.amazon.awssdk.services.emrwal.model.WalThrottlingException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@TestInstance(PER_CLASS)
+@ExtendWith(MockitoExtension.class)
+public class AdaptiveRateLimiterTest extends AbstractTestBase {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long CALL_LATENCY = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Mock
+    EmrwalClient sdkClient;
+    @Mock
+    private AmazonWebServicesClientProxy proxy;
+    @Mock
+    private ProxyClient<EmrwalClient> proxyClient;
+
+    private long now;
+
+    @BeforeEach
+    public void setup() {
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS,
+            () -> Duration.ofSeconds(600).toMillis());
+        sdkClient = mock(EmrwalClient.class);
+        proxyClient = MOCK_PROXY(proxy, sdkClient);
+        now = 0;
+    }
+
+    @Test
+    public void rate_additiveIncreaseMultiplicativeDecrease() {
+        final AdaptiveRateLimiter limiter = simulatedLimiter();
+
+        limiter.onSuccess(ApiNames.CREATE_WORKSPACE);
+        limiter.onSuccess(ApiNames.CREATE_WORKSPACE);
+        assertThat(limiter.rate(ApiNames.CREATE_WORKSPACE)).isEqualTo(6.0);
+
+        limiter.onThrottle(ApiNames.CREATE_WORKSPACE);
+        assertThat(limiter.rate(ApiNames.CREATE_WORKSPACE)).isEqualTo(3.0);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.onThrottle(ApiNames.CREATE_WORKSPACE);
+        }
+        assertThat(limiter.rate(ApiNames.CREATE_WORKSPACE)).isEqualTo(0.5);
+        // Other APIs keep their own budget
+        assertThat(limiter.rate(ApiNames.TAG_RESOURCE)).isEqualTo(10.0);
+        assertThat(limiter.rate(ApiNames.UNTAG_RESOURCE)).isEqualTo(limiter.rate(AdaptiveRateLimiter.DEFAULT_BUCKET));
+    }
+
+    @Test
+    public void acquire_waitsForRefillOnceBurstIsSpent() {
+        final AdaptiveRateLimiter limiter = simulatedLimiter();
+
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire(ApiNames.CREATE_WORKSPACE);
+        }
+        assertThat(now).isEqualTo(0);
+
+        limiter.acquire(ApiNames.CREATE_WORKSPACE);
+        assertThat(now).isEqualTo(SECOND / 5);
+    }
+
+    @Test
+    public void tryAcquire_rejectsWithoutTakingTokenPastMaxWait() {
+        final AdaptiveRateLimiter limiter = simulatedLimiter();
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire(ApiNames.CREATE_WORKSPACE);
+        }
+
+        // The next token is a fifth of a second away
+        assertThat(limiter.tryAcquire(ApiNames.CREATE_WORKSPACE, SECOND / 10)).isFalse();
+        assertThat(now).isEqualTo(0);
+        assertThat(limiter.tryAcquire(ApiNames.CREATE_WORKSPACE, SECOND / 5)).isTrue();
+        assertThat(now).isEqualTo(SECOND / 5);
+    }
+
+    @Test
+    public void proxyClient_handlerReturnsInProgressInsteadOfWaiting() {
+        final AdaptiveRateLimiter limiter = simulatedLimiter();
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire(ApiNames.CREATE_WORKSPACE);
+        }
+        final RateLimitedProxyClient rateLimited = new RateLimitedProxyClient(proxyClient, limiter,
+            RateLimitedProxyClient.HANDLER_MAX_WAIT_NANOS);
+        final ResourceModel model = ResourceModel.builder().wALWorkspaceName(WALWORKSPACE_NAME).build();
+        final ResourceHandlerRequest<ResourceModel> request =
+            ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(model).build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = new CreateHandler().handleRequest(proxy,
+            request, new CallbackContext(), rateLimited, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isPositive();
+        assertThat(now).isEqualTo(0);
+        verify(sdkClient, never()).createWorkspace(any(CreateWorkspaceRequest.class));
+        // Holding a call back is not a sign the service is overloaded
+        assertThat(limiter.rate(ApiNames.CREATE_WORKSPACE)).isEqualTo(5.0);
+    }
+
+    @Test
+    public void proxyClient_throttlingSlowsDownBucket() {
+        final AdaptiveRateLimiter limiter = simulatedLimiter();
+        final RateLimitedProxyClient rateLimited = new RateLimitedProxyClient(proxyClient, limiter);
+        when(sdkClient.createWorkspace(any(CreateWorkspaceRequest.class)))
+            .thenThrow(WalThrottlingException.builder().message("Rate exceeded").build());
+
+        final CreateWorkspaceRequest request = CreateWorkspaceRequest.builder().walWorkspace(WALWORKSPACE_NAME).build();
+        assertThatThrownBy(() -> rateLimited.injectCredentialsAndInvokeV2(request, rateLimited.client()::createWorkspace))
+            .isInstanceOf(WalThrottlingException.class);
+
+        assertThat(limiter.rate(ApiNames.CREATE_WORKSPACE)).isEqualTo(2.5);
+    }
+
+    /**
+     * Load test against a stub that accepts 5 calls per second: the blind retry loop spends almost all of its
+     * calls on throttling errors, the limiter settles around the service limit.
+     */
+    @Test
+    public void goodput_betterThanRetryStorm() {
+        final int target = 200;
+
+        final Outcome storm = drive(null, target);
+        final Outcome limited = drive(simulatedLimiter(), target);
+
+        assertThat(limited.successes).isEqualTo(target);
+        assertThat(storm.successes).isEqualTo(target);
+        assertThat(limited.goodput()).isGreaterThan(0.5);
+        assertThat(storm.goodput()).isLessThan(0.1);
+        assertThat(limited.throttles).isLessThan(storm.throttles / 10);
+    }
+
+    private Outcome drive(final AdaptiveRateLimiter limiter, final int target) {
+        now = 0;
+        final ThrottlingStub stub = new ThrottlingStub(5);
+        final Outcome outcome = new Outcome();
+        while (outcome.successes < target) {
+            if (limiter != null) {
+                limiter.acquire(ApiNames.CREATE_WORKSPACE);
+            }
+            outcome.attempts++;
+            now += CALL_LATENCY;
+            if (stub.call()) {
+                outcome.successes++;
+                if (limiter != null) {
+                    limiter.onSuccess(ApiNames.CREATE_WORKSPACE);
+                }
+            } else {
+                outcome.throttles++;
+                if (limiter != null) {
+                    limiter.onThrottle(ApiNames.CREATE_WORKSPACE);
+                }
+            }
+        }
+        return outcome;
+    }
+
+    private AdaptiveRateLimiter simulatedLimiter() {
+        return AdaptiveRateLimiter.builder()
+            .bucket(ApiNames.CREATE_WORKSPACE, new AdaptiveRateLimiter.BucketConfig(5, 0.5, 20))
+            .bucket(ApiNames.TAG_RESOURCE, new AdaptiveRateLimiter.BucketConfig(10, 1, 40))
+            .clock(() -> now, nanos -> now += nanos)
+            .build();
+    }
+
+    private static final class Outcome {
+        int attempts;
+        int successes;
+        int throttles;
+
+        double goodput() {
+            return (double) successes / attempts;
+        }
+    }
+
+    /**
+     * Fixed one second window admitting a set number of calls on the simulated clock.
+     */
+    private final class ThrottlingStub {
+        private final int callsPerSecond;
+        private long windowStart;
+        private int callsInWindow;
+
+        ThrottlingStub(final int callsPerSecond) {
+            this.callsPerSecond = callsPerSecond;
+        }
+
+        boolean call() {
+            if (now - windowStart >= SECOND) {
+                windowStart = now - (now - windowStart) % SECOND;
+                callsInWindow = 0;
+            }
+            if (callsInWindow < callsPerSecond) {
+                callsInWindow++;
+                return true;
+            }
+            return false;
+        }
+    }
+}
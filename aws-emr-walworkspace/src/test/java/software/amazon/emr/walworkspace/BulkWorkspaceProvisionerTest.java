@@ -0,0 +1,238 @@
+package software.amazon.emr.walworkspace;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BulkWorkspaceProvisionerTest extends AbstractTestBase {
+
+    /**
+     * Never waits: the clock does not move and the sleeper returns at once.
+     */
+    private static final AdaptiveRateLimiter NO_WAIT_LIMITER = AdaptiveRateLimiter.builder()
+        .clock(() -> 0L, nanos -> { })
+        .build();
+
+    @Test
+    public void createAll_BoundedConcurrencyAndOrderedOutcomes() {
+        final InMemoryEmrwalClient client = new InMemoryEmrwalClient()
+            .withLatency(InMemoryEmrwalClient.LatencyDistribution.fixed(Duration.ofMillis(5)));
+        final BulkWorkspaceProvisioner provisioner = provisioner(client).parallelism(4).build();
+
+        final List<BulkWorkspaceProvisioner.Outcome> outcomes = provisioner.createAll(models(40));
+
+        assertThat(outcomes).hasSize(40);
+        for (int i = 0; i < outcomes.size(); i++) {
+            assertThat(outcomes.get(i).getWalWorkspaceName()).isEqualTo("workspace" + i);
+            assertThat(outcomes.get(i).isSucceeded()).isTrue();
+            assertThat(outcomes.get(i).getAttempts()).isEqualTo(1);
+        }
+        assertThat(client.workspaceCount()).isEqualTo(40);
+        assertThat(client.maxConcurrentCalls()).isBetween(2L, 4L);
+    }
+
+    @Test
+    public void createAll_PerItemOutcomes() {
+        final InMemoryEmrwalClient client = new InMemoryEmrwalClient()
+            .withWorkspace("workspace1", Collections.emptyMap());
+
+        final List<BulkWorkspaceProvisioner.Outcome> outcomes = provisioner(client).build().createAll(models(3));
+
+        assertThat(outcomes.get(0).isSucceeded()).isTrue();
+        assertThat(outcomes.get(1).isSucceeded()).isFalse();
+        assertThat(outcomes.get(1).getErrorCode()).isEqualTo(HandlerErrorCode.AlreadyExists);
+        assertThat(outcomes.get(1).getAttempts()).isEqualTo(1);
+        assertThat(outcomes.get(2).isSucceeded()).isTrue();
+    }
+
+    @Test
+    public void createAll_RetriesThrottledItems() {
+        final InMemoryEmrwalClient client = new InMemoryEmrwalClient()
+            .withSeed(3L)
+            .withThrottlingRate(0.3);
+        final BulkWorkspaceProvisioner provisioner = provisioner(client).maxAttempts(20).build();
+
+        final List<BulkWorkspaceProvisioner.Outcome> outcomes = provisioner.createAll(models(20));
+
+        long retries = 0;
+        for (final BulkWorkspaceProvisioner.Outcome outcome : outcomes) {
+            assertThat(outcome.isSucceeded()).isTrue();
+            retries += outcome.getAttempts() - 1;
+        }
+        assertThat(retries).isEqualTo(client.throttledCount());
+        assertThat(client.workspaceCount()).isEqualTo(20);
+    }
+
+    @Test
+    public void createAll_StopsAfterMaxAttempts() {
+        final InMemoryEmrwalClient client = new InMemoryEmrwalClient().withThrottlingRate(1.0);
+
+        final List<BulkWorkspaceProvisioner.Outcome> outcomes =
+            provisioner(client).maxAttempts(3).build().createAll(models(2));
+
+        for (final BulkWorkspaceProvisioner.Outcome outcome : outcomes) {
+            assertThat(outcome.isSucceeded()).isFalse();
+            assertThat(outcome.getErrorCode()).isEqualTo(HandlerErrorCode.GeneralServiceException);
+            assertThat(outcome.getAttempts()).isEqualTo(3);
+        }
+        assertThat(client.callCount(ApiNames.CREATE_WORKSPACE)).isEqualTo(6);
+    }
+
+    @Test
+    public void createAll_BatchesTagsBeyondOneCall() {
+        final InMemoryEmrwalClient client = new InMemoryEmrwalClient().withMaxTagsPerCall(50);
+        final Map<String, String> tags = new HashMap<>();
+        for (int i = 0; i < 120; i++) {
+            tags.put("key" + i, "value" + i);
+        }
+        final ResourceModel model = ResourceModel.builder()
+            .wALWorkspaceName("workspace0")
+            .tags(Translator.convertResourceTagsToSet(tags))
+            .build();
+
+        final List<BulkWorkspaceProvisioner.Outcome> outcomes = provisioner(client)
+            .account("aws", "us-east-1", "123456789012")
+            .build()
+            .createAll(Collections.singletonList(model));
+
+        assertThat(outcomes.get(0).isSucceeded()).isTrue();
+        assertThat(client.tagsOf("workspace0")).isEqualTo(tags);
+        assertThat(client.callCount(ApiNames.CREATE_WORKSPACE)).isEqualTo(1);
+        assertThat(client.callCount(ApiNames.TAG_RESOURCE)).isEqualTo(2);
+        assertThat(client.largestTagCall(ApiNames.CREATE_WORKSPACE)).isLessThanOrEqualTo(50);
+        assertThat(client.largestTagCall(ApiNames.TAG_RESOURCE)).isLessThanOrEqualTo(50);
+    }
+
+    @Test
+    public void createAll_ManyTagsWithoutAccount() {
+        final Map<String, String> tags = new HashMap<>();
+        for (int i = 0; i < 51; i++) {
+            tags.put("key" + i, "value" + i);
+        }
+        final ResourceModel model = ResourceModel.builder()
+            .wALWorkspaceName("workspace0")
+            .tags(Translator.convertResourceTagsToSet(tags))
+            .build();
+        final InMemoryEmrwalClient client = new InMemoryEmrwalClient();
+
+        assertThatThrownBy(() -> provisioner(client).build().createAll(Collections.singletonList(model)))
+            .isInstanceOf(IllegalStateException.class);
+        assertThat(client.callCount(ApiNames.CREATE_WORKSPACE)).isZero();
+    }
+
+    @Test
+    public void createAll_RunsOnTheGivenExecutor() {
+        final InMemoryEmrwalClient client = new InMemoryEmrwalClient();
+        final AtomicInteger executed = new AtomicInteger();
+        final Executor executor = command -> {
+            executed.incrementAndGet();
+            new Thread(command).start();
+        };
+
+        final List<BulkWorkspaceProvisioner.Outcome> outcomes = provisioner(client)
+            .parallelism(3)
+            .executor(executor)
+            .build()
+            .createAll(models(10));
+
+        assertThat(outcomes).allMatch(BulkWorkspaceProvisioner.Outcome::isSucceeded);
+        assertThat(client.workspaceCount()).isEqualTo(10);
+        // The calling thread is the third worker
+        assertThat(executed.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void deleteAll_ThroughProxyClientWithMissingWorkspace() {
+        final InMemoryEmrwalClient client = new InMemoryEmrwalClient().withWorkspaces("workspace", 2);
+        final AmazonWebServicesClientProxy proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS,
+            () -> Duration.ofSeconds(600).toMillis());
+        final BulkWorkspaceProvisioner provisioner = BulkWorkspaceProvisioner.builder()
+            .proxyClient(MOCK_PROXY(proxy, client))
+            .rateLimiter(NO_WAIT_LIMITER)
+            .build();
+
+        final List<BulkWorkspaceProvisioner.Outcome> outcomes = provisioner.deleteAll(models(3));
+
+        assertThat(outcomes.get(0).isSucceeded()).isTrue();
+        assertThat(outcomes.get(1).isSucceeded()).isTrue();
+        assertThat(outcomes.get(2).getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
+        assertThat(client.workspaceCount()).isZero();
+    }
+
+    @Test
+    public void createAll_InvalidatesEveryWorkspace() {
+        final WorkspaceMetadataCache cache = new WorkspaceMetadataCache(60_000, 100, System::nanoTime);
+        final String created = WalWorkspaceArn.of("aws", "us-east-1", "123456789012", "workspace1").toString();
+        final String untouched = WalWorkspaceArn.of("aws", "us-east-1", "123456789012", "other").toString();
+        cache.put(created, TagSet.empty(), cache.generation());
+        cache.put(untouched, TagSet.empty(), cache.generation());
+
+        provisioner(new InMemoryEmrwalClient())
+            .account("aws", "us-east-1", "123456789012")
+            .metadataCache(cache)
+            .build()
+            .createAll(models(3));
+
+        assertThat(cache.get(created)).isNull();
+        assertThat(cache.get(untouched)).isNotNull();
+    }
+
+    @Test
+    public void deleteAll_WithoutAccountInvalidatesWholeCache() {
+        final WorkspaceMetadataCache cache = new WorkspaceMetadataCache(60_000, 100, System::nanoTime);
+        final String arn = WalWorkspaceArn.of("aws", "us-east-1", "123456789012", "workspace0").toString();
+        cache.put(arn, TagSet.empty(), cache.generation());
+
+        provisioner(new InMemoryEmrwalClient().withWorkspaces("workspace", 2))
+            .metadataCache(cache)
+            .build()
+            .deleteAll(models(2));
+
+        assertThat(cache.get(arn)).isNull();
+    }
+
+    @Test
+    public void createAll_EmptyInput() {
+        final InMemoryEmrwalClient client = new InMemoryEmrwalClient();
+
+        assertThat(provisioner(client).build().createAll(Collections.emptyList())).isEmpty();
+        assertThat(client.callCount(ApiNames.CREATE_WORKSPACE)).isZero();
+    }
+
+    @Test
+    public void builder_RejectsInvalidSettings() {
+        assertThatThrownBy(() -> BulkWorkspaceProvisioner.builder().build())
+            .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> BulkWorkspaceProvisioner.builder().parallelism(0))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BulkWorkspaceProvisioner.builder().maxAttempts(0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static BulkWorkspaceProvisioner.Builder provisioner(final InMemoryEmrwalClient client) {
+        return BulkWorkspaceProvisioner.builder()
+            .client(client)
+            .rateLimiter(NO_WAIT_LIMITER)
+            .sleeper(nanos -> { });
+    }
+
+    private static List<ResourceModel> models(final int count) {
+        final List<ResourceModel> models = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            models.add(ResourceModel.builder().wALWorkspaceName("workspace" + i).build());
+        }
+        return models;
+    }
+}
@@ -10,6 +10,10 @@ import software.amazon.awssdk.services.emrwal.EmrwalClient;
 import software.amazon.awssdk.services.emrwal.model.CreateWorkspaceRequest;
 import software.amazon.awssdk.services.emrwal.model.CreateWorkspaceResponse;
 import software.amazon.awssdk.services.emrwal.model.EmrwalException;
+import software.amazon.awssdk.services.emrwal.model.TagResourceRequest;
+import software.amazon.awssdk.services.emrwal.model.TagResourceResponse;
+import software.amazon.awssdk.services.emrwal.model.TooManyTagsException;
+import software.amazon.awssdk.services.emrwal.model.WalThrottlingException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.OperationStatus;
@@ -26,6 +30,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @TestInstance(PER_CLASS)
@@ -100,6 +106,64 @@ public class CreateHandlerTest extends AbstractTestBase {
         assertThat(response.getResourceModel()).isEqualToComparingFieldByField(model);
     }
 
+    @Test
+    public void handleRequest_LargeTagSetIsBatched() {
+        final InMemoryEmrwalClient client = new InMemoryEmrwalClient()
+            .withMaxTagsPerCall(TagBatchPipeline.MAX_TAGS_PER_CALL);
+        final ResourceModel model = ResourceModel.builder().wALWorkspaceName(WALWORKSPACE_NAME).tags(tags(120)).build();
+        final ResourceHandlerRequest<ResourceModel> request =
+            ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(model).build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, new CallbackContext(), MOCK_PROXY(proxy, client), logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(client.callCount(ApiNames.CREATE_WORKSPACE)).isEqualTo(1);
+        assertThat(client.callCount(ApiNames.TAG_RESOURCE)).isEqualTo(2);
+        assertThat(client.largestTagCall(ApiNames.CREATE_WORKSPACE)).isEqualTo(TagBatchPipeline.MAX_TAGS_PER_CALL);
+        assertThat(client.tagsOf(WALWORKSPACE_NAME)).hasSize(120);
+    }
+
+    @Test
+    public void handleRequest_FailedTagBatchDoesNotCreateAgain() {
+        when(sdkClient.createWorkspace(any(CreateWorkspaceRequest.class)))
+            .thenReturn(CreateWorkspaceResponse.builder().build());
+        when(sdkClient.tagResource(any(TagResourceRequest.class)))
+            .thenThrow(WalThrottlingException.builder().message("Rate exceeded").build())
+            .thenReturn(TagResourceResponse.builder().build());
+        final ResourceModel model = ResourceModel.builder().wALWorkspaceName(WALWORKSPACE_NAME).tags(tags(120)).build();
+        final ResourceHandlerRequest<ResourceModel> request =
+            ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(model).build();
+
+        final CreateHandler sequentialHandler = new CreateHandler(ProviderSettings.builder().asyncTagging(false).build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> first =
+            sequentialHandler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+        assertThat(first.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(first.getCallbackContext().getPendingTagsToAdd()).hasSize(70);
+
+        final ProgressEvent<ResourceModel, CallbackContext> second =
+            sequentialHandler.handleRequest(proxy, request, first.getCallbackContext(), proxyClient, logger);
+        assertThat(second.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        verify(sdkClient, times(1)).createWorkspace(any(CreateWorkspaceRequest.class));
+        verify(sdkClient, times(3)).tagResource(any(TagResourceRequest.class));
+    }
+
+    @Test
+    public void handleRequest_TooManyTagsOnWorkspaceIsNotRetried() {
+        when(sdkClient.createWorkspace(any(CreateWorkspaceRequest.class)))
+            .thenThrow(TooManyTagsException.builder().message("Too many tags").build());
+        final ResourceModel model = ResourceModel.builder().wALWorkspaceName(WALWORKSPACE_NAME).tags(tags(3)).build();
+        final ResourceHandlerRequest<ResourceModel> request =
+            ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(model).build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.ServiceLimitExceeded);
+    }
+
     @Test
     public void handleRequest_FailureWithInternalServiceCreationError() {
         Set<Tag> tags = new HashSet<>();
@@ -128,4 +192,60 @@ public class CreateHandlerTest extends AbstractTestBase {
         assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.GeneralServiceException);
         Assertions.assertThat(response.getResourceModels()).isNull();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void handleRequest_ThrottledReturnsCallbackDelay() {
+        final ResourceModel model =
+            ResourceModel.builder().wALWorkspaceName(WALWORKSPACE_NAME)
+                .build();
+
+        when(sdkClient.createWorkspace(any(CreateWorkspaceRequest.class)))
+            .thenThrow(WalThrottlingException.builder().message("Rate exceeded").build());
+
+        final ResourceHandlerRequest<ResourceModel> request =
+            ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(model).build();
+        final CallbackContext callbackContext = new CallbackContext();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, callbackContext, proxyClient, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds())
+            .isBetween(1, RetryBackoff.ceilingSeconds(0));
+        assertThat(response.getCallbackContext().getRetryAttempts()).isEqualTo(RetryBackoff.MAX_HANDLER_RETRIES - 1);
+        assertThat(response.getResourceModel()).isEqualTo(model);
+        assertThat(response.getErrorCode()).isNull();
+    }
+
+    @Test
+    public void handleRequest_ThrottledWithoutRetryBudgetFails() {
+        final ResourceModel model =
+            ResourceModel.builder().wALWorkspaceName(WALWORKSPACE_NAME)
+                .build();
+
+        when(sdkClient.createWorkspace(any(CreateWorkspaceRequest.class)))
+            .thenThrow(WalThrottlingException.builder().message("Rate exceeded").build());
+
+        final ResourceHandlerRequest<ResourceModel> request =
+            ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(model).build();
+        final CallbackContext callbackContext = new CallbackContext();
+        callbackContext.setRetryAttempts(0);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, callbackContext, proxyClient, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.GeneralServiceException);
+    }
+
+    private static Set<Tag> tags(final int count) {
+        final Set<Tag> tags = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            tags.add(new Tag("key" + i, "value" + i));
+        }
+        return tags;
+    }
+}
@@ -1,6 +1,9 @@
 package software.amazon.emr.walworkspace;
 
 import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.TestInstance;
@@ -24,6 +27,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
 import static org.mockito.Mockito.mock;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @TestInstance(PER_CLASS)
@@ -90,7 +95,7 @@ public class DeleteHandlerTest extends AbstractTestBase {
 
     @Test
     public void testDeleteWorkspaceFailedWithoutExistingWorkspaceName() {
-        final String phantom_workspace = "phantom_workspace";
+        final String phantom_workspace = "phantomworkspace";
         final ResourceModel model =
             ResourceModel.builder().wALWorkspaceName(phantom_workspace).build();
 
@@ -112,4 +117,90 @@ public class DeleteHandlerTest extends AbstractTestBase {
         Assertions.assertThat(response.getResourceModels()).isNull();
         assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
     }
+
+    @Test
+    public void handleRequest_InvalidNameNotFoundWithoutServiceCall() {
+        final ResourceModel model = ResourceModel.builder().wALWorkspaceName("phantom_workspace").build();
+        final ResourceHandlerRequest<ResourceModel> request =
+            ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(model).build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
+        verify(sdkClient, never()).deleteWorkspace(any(DeleteWorkspaceRequest.class));
+    }
+
+    @Test
+    public void handleRequest_ConfirmationSucceedsAtOnceWhenConsistent() {
+        final InMemoryEmrwalClient client = new InMemoryEmrwalClient()
+            .withWorkspace(WALWORKSPACE_NAME, Collections.emptyMap());
+        final DeleteHandler confirmingHandler = new DeleteHandler(
+            ProviderSettings.builder().deleteConfirmationAttempts(3).build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = confirmingHandler.handleRequest(
+            proxy, deleteRequest(), new CallbackContext(), MOCK_PROXY(proxy, client), logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(client.callCount(ApiNames.DELETE_WORKSPACE)).isEqualTo(1);
+        assertThat(client.callCount(ApiNames.LIST_WORKSPACES)).isEqualTo(1);
+    }
+
+    @Test
+    public void handleRequest_ConfirmationWaitsForListToCatchUp() {
+        final AtomicLong clock = new AtomicLong();
+        final InMemoryEmrwalClient client = new InMemoryEmrwalClient()
+            .withWorkspace(WALWORKSPACE_NAME, Collections.emptyMap())
+            .withEventuallyConsistentList(Duration.ofSeconds(10), clock::get);
+        final DeleteHandler confirmingHandler = new DeleteHandler(
+            ProviderSettings.builder().deleteConfirmationAttempts(20).build());
+
+        // Drive the handler like CloudFormation does, the clock moving on by each callback delay
+        long secondsToConfirm = 0;
+        int invocations = 1;
+        ProgressEvent<ResourceModel, CallbackContext> response = confirmingHandler.handleRequest(
+            proxy, deleteRequest(), new CallbackContext(), MOCK_PROXY(proxy, client), logger);
+        while (response.getStatus() == OperationStatus.IN_PROGRESS) {
+            secondsToConfirm += response.getCallbackDelaySeconds();
+            clock.addAndGet(TimeUnit.SECONDS.toNanos(response.getCallbackDelaySeconds()));
+            response = confirmingHandler.handleRequest(
+                proxy, deleteRequest(), response.getCallbackContext(), MOCK_PROXY(proxy, client), logger);
+            invocations++;
+        }
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(secondsToConfirm).isBetween(10L, 10L + RetryBackoff.MAX_DELAY_SECONDS);
+        assertThat(client.callCount(ApiNames.DELETE_WORKSPACE)).isEqualTo(1);
+        assertThat(client.callCount(ApiNames.LIST_WORKSPACES)).isEqualTo(invocations);
+    }
+
+    @Test
+    public void handleRequest_ConfirmationGivesUpAfterAttempts() {
+        final InMemoryEmrwalClient client = new InMemoryEmrwalClient()
+            .withWorkspace(WALWORKSPACE_NAME, Collections.emptyMap())
+            .withEventuallyConsistentList(Duration.ofHours(1), () -> 0L);
+        final DeleteHandler confirmingHandler = new DeleteHandler(
+            ProviderSettings.builder().deleteConfirmationAttempts(3).build());
+
+        ProgressEvent<ResourceModel, CallbackContext> response = confirmingHandler.handleRequest(
+            proxy, deleteRequest(), new CallbackContext(), MOCK_PROXY(proxy, client), logger);
+        for (int i = 0; i < 2; i++) {
+            assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+            assertThat(response.getCallbackDelaySeconds()).isBetween(1, RetryBackoff.ceilingSeconds(i));
+            response = confirmingHandler.handleRequest(
+                proxy, deleteRequest(), response.getCallbackContext(), MOCK_PROXY(proxy, client), logger);
+        }
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotStabilized);
+        assertThat(client.callCount(ApiNames.DELETE_WORKSPACE)).isEqualTo(1);
+        assertThat(client.callCount(ApiNames.LIST_WORKSPACES)).isEqualTo(3);
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> deleteRequest() {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(ResourceModel.builder().wALWorkspaceName(WALWORKSPACE_NAME).build())
+            .build();
+    }
 }
@@ -0,0 +1,71 @@
+package software.amazon.emr.walworkspace;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.emrwal.model.EmrwalException;
+import software.amazon.awssdk.services.emrwal.model.InvalidResourceException;
+import software.amazon.awssdk.services.emrwal.model.TaggingFailedException;
+import software.amazon.awssdk.services.emrwal.model.WalThrottlingException;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ErrorClassifierTest {
+
+    private final ErrorClassifier classifier = ErrorClassifier.DEFAULT;
+
+    @Test
+    public void classify_alreadyExistsOnCreate() {
+        final Exception exception = InvalidResourceException.builder()
+            .message("Workspace name already exists").build();
+
+        assertThat(classifier.classify(CreateHandler.OPERATION, exception))
+            .isEqualTo(ErrorClassifier.ALREADY_EXISTS);
+        assertThat(classifier.classify(UpdateHandler.OPERATION, exception))
+            .isEqualTo(ErrorClassifier.GENERAL_FAILURE);
+    }
+
+    @Test
+    public void classify_missingWorkspaceOnDelete() {
+        final Exception exception = InvalidResourceException.builder()
+            .message("Workspace name does not exist").build();
+
+        assertThat(classifier.classify(DeleteHandler.OPERATION, exception)).isEqualTo(ErrorClassifier.NOT_FOUND);
+        assertThat(classifier.classify(CreateHandler.OPERATION, exception))
+            .isEqualTo(ErrorClassifier.GENERAL_FAILURE);
+    }
+
+    @Test
+    public void classify_missingWorkspaceOnReadAndUpdate() {
+        final Exception listTagsFailure = TaggingFailedException.builder()
+            .message("Unable to list tag, please make sure Workspace is created first").build();
+        final Exception tagFailure = TaggingFailedException.builder()
+            .message("Unable to retrieve workspace for tagging").build();
+
+        assertThat(classifier.classify(ReadHandler.OPERATION, listTagsFailure)).isEqualTo(ErrorClassifier.NOT_FOUND);
+        assertThat(classifier.classify(UpdateHandler.OPERATION, listTagsFailure)).isEqualTo(ErrorClassifier.NOT_FOUND);
+        assertThat(classifier.classify(UpdateHandler.OPERATION, tagFailure)).isEqualTo(ErrorClassifier.NOT_FOUND);
+        assertThat(classifier.classify(ReadHandler.OPERATION, tagFailure))
+            .isEqualTo(ErrorClassifier.RETRYABLE_FAILURE);
+    }
+
+    @Test
+    public void classify_retryableByClassAndErrorCode() {
+        final Exception throttled = WalThrottlingException.builder().message("Rate exceeded").build();
+        final Exception unmodeledThrottle = EmrwalException.builder()
+            .awsErrorDetails(AwsErrorDetails.builder().errorCode("ThrottlingException").build())
+            .build();
+        final Exception other = EmrwalException.builder().message("something went wrong").build();
+
+        final ErrorClassifier.Classification classification = classifier.classify(CreateHandler.OPERATION, throttled);
+        assertThat(classification.isRetryable()).isTrue();
+        assertThat(classification.getErrorCode()).isEqualTo(HandlerErrorCode.GeneralServiceException);
+        assertThat(classifier.classify(CreateHandler.OPERATION, unmodeledThrottle).isRetryable()).isTrue();
+        assertThat(classifier.classify(UpdateHandler.OPERATION,
+            new RateLimitedProxyClient.RateLimitExceededException(ApiNames.TAG_RESOURCE)).isRetryable()).isTrue();
+        assertThat(classifier.classify(CreateHandler.OPERATION, other)).isEqualTo(ErrorClassifier.GENERAL_FAILURE);
+        assertThat(classifier.classify(CreateHandler.OPERATION, new IllegalStateException()))
+            .isEqualTo(ErrorClassifier.GENERAL_FAILURE);
+        assertThat(classifier.classify(CreateHandler.OPERATION, null)).isEqualTo(ErrorClassifier.GENERAL_FAILURE);
+    }
+}
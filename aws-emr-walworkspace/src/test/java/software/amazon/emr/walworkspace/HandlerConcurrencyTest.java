@@ -0,0 +1,152 @@
+package software.amazon.emr.walworkspace;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.logging.log4j.Level;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.emrwal.EmrwalClient;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs thousands of mixed invocations through one shared instance of each handler on a growing number of threads,
+ * the way local tooling and bulk operations do in one JVM. Every workspace belongs to a single lifecycle, so each
+ * read must return exactly the tags its own lifecycle wrote, and each invocation's logger must only see its own
+ * workspace.
+ */
+public class HandlerConcurrencyTest extends AbstractTestBase {
+    private static final int LIFECYCLES = 400;
+    private static final int INVOCATIONS_PER_LIFECYCLE = 6;
+    private static final Pattern WORKSPACE_NAME = Pattern.compile("stress-\\d+");
+
+    private final ProviderSettings settings = ProviderSettings.builder()
+        .asyncTagging(true)
+        .logLevel(Level.DEBUG)
+        .build();
+    private final CreateHandler createHandler = new CreateHandler(settings);
+    private final ReadHandler readHandler = new ReadHandler(settings);
+    private final UpdateHandler updateHandler = new UpdateHandler(settings);
+    private final DeleteHandler deleteHandler = new DeleteHandler(settings);
+    private final ListHandler listHandler = new ListHandler();
+
+    private AmazonWebServicesClientProxy proxy;
+
+    @BeforeEach
+    public void setup() {
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+    }
+
+    @Test
+    public void sharedHandlers_StayCorrectOnManyThreads() throws Exception {
+        for (final int threads : new int[]{1, 4, 16}) {
+            final InMemoryEmrwalClient client = new InMemoryEmrwalClient()
+                .withLatency(InMemoryEmrwalClient.LatencyDistribution.uniform(Duration.ZERO, Duration.ofMillis(1)));
+            final ProxyClient<EmrwalClient> proxyClient = MOCK_PROXY(proxy, client);
+
+            final ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                final List<Future<Integer>> lifecycles = new ArrayList<>();
+                for (int i = 0; i < LIFECYCLES; i++) {
+                    final String name = "stress-" + i;
+                    lifecycles.add(executor.submit(() -> lifecycle(proxyClient, name)));
+                }
+                int invocations = 0;
+                for (final Future<Integer> lifecycle : lifecycles) {
+                    invocations += lifecycle.get();
+                }
+                assertThat(invocations).isEqualTo(LIFECYCLES * INVOCATIONS_PER_LIFECYCLE);
+            } finally {
+                executor.shutdownNow();
+            }
+
+            assertThat(client.workspaceCount()).isZero();
+            assertThat(client.callCount(ApiNames.CREATE_WORKSPACE)).isEqualTo(LIFECYCLES);
+            assertThat(client.callCount(ApiNames.DELETE_WORKSPACE)).isEqualTo(LIFECYCLES);
+        }
+    }
+
+    /**
+     * Create, read, update, read, list and delete one workspace, each invocation with a logger of its own.
+     *
+     * @return the number of invocations made
+     */
+    private int lifecycle(final ProxyClient<EmrwalClient> proxyClient, final String name) {
+        final Map<String, String> initialTags = new HashMap<>();
+        initialTags.put("owner", name);
+        initialTags.put("stage", "beta");
+        final ResourceModel created = model(name, initialTags);
+        final Map<String, String> updatedTags = new HashMap<>();
+        updatedTags.put("owner", name);
+        updatedTags.put("stage", "prod");
+        updatedTags.put("team", "storage");
+        final ResourceModel updated = model(name, updatedTags);
+        final ResourceModel identifier = ResourceModel.builder().wALWorkspaceName(name).build();
+
+        invoke(createHandler, request(created).build(), proxyClient, name);
+        assertThat(invoke(readHandler, request(identifier).build(), proxyClient, name).getResourceModel().getTags())
+            .isEqualTo(created.getTags());
+        invoke(updateHandler, request(updated).previousResourceState(created).build(), proxyClient, name);
+        assertThat(invoke(readHandler, request(identifier).build(), proxyClient, name).getResourceModel().getTags())
+            .isEqualTo(updated.getTags());
+        // The listing names other workspaces, its log is not checked
+        assertThat(listHandler.handleRequest(proxy, request(ResourceModel.builder().build()).build(),
+            new CallbackContext(), proxyClient, message -> { }).getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        invoke(deleteHandler, request(identifier).build(), proxyClient, name);
+        return INVOCATIONS_PER_LIFECYCLE;
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> invoke(final BaseHandlerStd handler,
+        final ResourceHandlerRequest<ResourceModel> request, final ProxyClient<EmrwalClient> proxyClient,
+        final String name) {
+        final List<String> lines = Collections.synchronizedList(new ArrayList<>());
+        final Logger invocationLogger = lines::add;
+
+        final ProgressEvent<ResourceModel, CallbackContext> event = handler.handleRequest(proxy, request,
+            new CallbackContext(), proxyClient, invocationLogger);
+
+        assertThat(event.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(lines).isNotEmpty();
+        synchronized (lines) {
+            for (final String line : lines) {
+                final Matcher matcher = WORKSPACE_NAME.matcher(line);
+                while (matcher.find()) {
+                    assertThat(matcher.group()).isEqualTo(name);
+                }
+            }
+        }
+        return event;
+    }
+
+    private static ResourceModel model(final String name, final Map<String, String> tags) {
+        return ResourceModel.builder()
+            .wALWorkspaceName(name)
+            .tags(Translator.convertResourceTagsToSet(tags))
+            .build();
+    }
+
+    private static ResourceHandlerRequest.ResourceHandlerRequestBuilder<ResourceModel> request(
+        final ResourceModel model) {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(model)
+            .awsPartition("aws")
+            .region("us-east-1")
+            .awsAccountId("123456789012");
+    }
+}
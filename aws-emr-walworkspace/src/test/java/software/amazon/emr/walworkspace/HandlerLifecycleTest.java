@@ -0,0 +1,226 @@
+package software.amazon.emr.walworkspace;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import software.amazon.awssdk.core.exception.RetryableException;
+import software.amazon.awssdk.services.emrwal.EmrwalClient;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
+
+/**
+ * Drives all five handlers against {@link InMemoryEmrwalClient}, the way CloudFormation would: IN_PROGRESS events
+ * and retryable exceptions are re-invoked with the returned callback context until the handler reaches a terminal
+ * status.
+ */
+@TestInstance(PER_CLASS)
+public class HandlerLifecycleTest extends AbstractTestBase {
+    private static final int MAX_INVOCATIONS = 20;
+    private static final String PARTITION = "aws";
+    private static final String REGION = "us-east-1";
+    private static final String ACCOUNT_ID = "123456789012";
+
+    private AmazonWebServicesClientProxy proxy;
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setup() {
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void lifecycle_AllHandlersAgainstFakeService() {
+        final InMemoryEmrwalClient client = new InMemoryEmrwalClient();
+        final ProxyClient<EmrwalClient> proxyClient = MOCK_PROXY(proxy, client);
+
+        assertThat(lifecycle(proxyClient, "workspace")).isTrue();
+
+        assertThat(client.workspaceCount()).isZero();
+        assertThat(client.callCount(ApiNames.CREATE_WORKSPACE)).isEqualTo(1);
+        assertThat(client.callCount(ApiNames.LIST_TAGS_FOR_RESOURCE)).isEqualTo(2);
+        assertThat(client.callCount(ApiNames.TAG_RESOURCE)).isEqualTo(1);
+        assertThat(client.callCount(ApiNames.UNTAG_RESOURCE)).isEqualTo(1);
+        assertThat(client.callCount(ApiNames.DELETE_WORKSPACE)).isEqualTo(1);
+        assertThat(client.throttledCount()).isZero();
+    }
+
+    @Test
+    public void list_FollowsServicePagination() {
+        final InMemoryEmrwalClient client = new InMemoryEmrwalClient()
+            .withWorkspaces("workspace", 25)
+            .withMaxPageSize(10);
+        final ProxyClient<EmrwalClient> proxyClient = MOCK_PROXY(proxy, client);
+
+        final Set<String> listed = new HashSet<>();
+        String nextToken = null;
+        do {
+            final ResourceHandlerRequest<ResourceModel> request = requestBuilder(ResourceModel.builder().build())
+                .nextToken(nextToken)
+                .build();
+            final ProgressEvent<ResourceModel, CallbackContext> event = new ListHandler()
+                .handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+            assertThat(event.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+            event.getResourceModels().forEach(model -> listed.add(model.getWALWorkspaceName()));
+            nextToken = event.getNextToken();
+        } while (nextToken != null);
+
+        assertThat(listed).hasSize(25);
+        assertThat(client.callCount(ApiNames.LIST_WORKSPACES)).isEqualTo(3);
+    }
+
+    @Test
+    public void lifecycle_ConcurrentUnderThrottlingAndTaggingFailures() throws Exception {
+        final InMemoryEmrwalClient client = new InMemoryEmrwalClient()
+            .withSeed(7L)
+            .withLatency(InMemoryEmrwalClient.LatencyDistribution.uniform(Duration.ZERO, Duration.ofMillis(2)))
+            .withThrottlingRate(0.1)
+            .withTaggingFailureRate(0.05);
+        final ProxyClient<EmrwalClient> proxyClient = MOCK_PROXY(proxy, client);
+
+        final List<Future<Boolean>> lifecycles = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            final String name = "workspace" + i;
+            lifecycles.add(executor.submit(() -> lifecycle(proxyClient, name)));
+        }
+        int completed = 0;
+        for (final Future<Boolean> lifecycle : lifecycles) {
+            completed += lifecycle.get() ? 1 : 0;
+        }
+
+        // A step only fails once its retry budget is spent, which takes several faults in a row
+        assertThat(completed).isGreaterThanOrEqualTo(36);
+        assertThat(client.workspaceCount()).isLessThanOrEqualTo(lifecycles.size() - completed);
+        assertThat(client.throttledCount()).isPositive();
+    }
+
+    @Test
+    public void latency_LogNormalMatchesMedian() {
+        final InMemoryEmrwalClient.LatencyDistribution latency = InMemoryEmrwalClient.LatencyDistribution
+            .logNormal(Duration.ofMillis(20), Duration.ofMillis(200));
+        final Random random = new Random(1L);
+        final List<Long> samples = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            samples.add(latency.sampleNanos(random));
+        }
+        Collections.sort(samples);
+
+        assertThat(samples.get(5_000)).isBetween(Duration.ofMillis(18).toNanos(), Duration.ofMillis(22).toNanos());
+        assertThat(samples.get(9_900)).isBetween(Duration.ofMillis(150).toNanos(), Duration.ofMillis(260).toNanos());
+    }
+
+    @Test
+    public void latency_AppliedPerCall() {
+        final InMemoryEmrwalClient client = new InMemoryEmrwalClient()
+            .withWorkspace("workspace", Collections.emptyMap())
+            .withLatency(ApiNames.LIST_TAGS_FOR_RESOURCE,
+                InMemoryEmrwalClient.LatencyDistribution.fixed(Duration.ofMillis(20)));
+        final ProxyClient<EmrwalClient> proxyClient = MOCK_PROXY(proxy, client);
+
+        final long start = System.nanoTime();
+        final ProgressEvent<ResourceModel, CallbackContext> event = new ReadHandler().handleRequest(proxy,
+            request(ResourceModel.builder().wALWorkspaceName("workspace").build()), new CallbackContext(),
+            proxyClient, logger);
+
+        assertThat(event.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(Duration.ofMillis(20).toNanos());
+    }
+
+    /**
+     * Create, read, update, list and delete one workspace.
+     *
+     * @return true if every step succeeded
+     */
+    private boolean lifecycle(final ProxyClient<EmrwalClient> proxyClient, final String name) {
+        final Map<String, String> initialTags = new HashMap<>();
+        initialTags.put("team", "storage");
+        initialTags.put("stage", "beta");
+        final ResourceModel created = ResourceModel.builder()
+            .wALWorkspaceName(name)
+            .tags(Translator.convertResourceTagsToSet(initialTags))
+            .build();
+        if (!succeeded(CreateHandler::new, request(created), proxyClient)) {
+            return false;
+        }
+
+        final ResourceModel identifier = ResourceModel.builder().wALWorkspaceName(name).build();
+        if (!succeeded(ReadHandler::new, request(identifier), proxyClient)) {
+            return false;
+        }
+
+        final Map<String, String> updatedTags = new HashMap<>();
+        updatedTags.put("team", "storage");
+        updatedTags.put("owner", "wal");
+        final ResourceHandlerRequest<ResourceModel> update = requestBuilder(ResourceModel.builder()
+            .wALWorkspaceName(name)
+            .tags(Translator.convertResourceTagsToSet(updatedTags))
+            .build())
+            .previousResourceState(created)
+            .build();
+        if (!succeeded(UpdateHandler::new, update, proxyClient)) {
+            return false;
+        }
+
+        if (!succeeded(ListHandler::new, request(ResourceModel.builder().build()), proxyClient)) {
+            return false;
+        }
+        return succeeded(DeleteHandler::new, request(identifier), proxyClient);
+    }
+
+    private boolean succeeded(final Supplier<BaseHandlerStd> handler,
+        final ResourceHandlerRequest<ResourceModel> request, final ProxyClient<EmrwalClient> proxyClient) {
+        CallbackContext callbackContext = new CallbackContext();
+        for (int invocation = 0; invocation < MAX_INVOCATIONS; invocation++) {
+            final ProgressEvent<ResourceModel, CallbackContext> event;
+            try {
+                event = handler.get().handleRequest(proxy, request, callbackContext, proxyClient, logger);
+            } catch (RetryableException e) {
+                continue;
+            }
+            if (event.getStatus() != OperationStatus.IN_PROGRESS) {
+                return event.getStatus() == OperationStatus.SUCCESS;
+            }
+            callbackContext = event.getCallbackContext();
+        }
+        return false;
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> request(final ResourceModel model) {
+        return requestBuilder(model).build();
+    }
+
+    private static ResourceHandlerRequest.ResourceHandlerRequestBuilder<ResourceModel> requestBuilder(
+        final ResourceModel model) {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(model)
+            .awsPartition(PARTITION)
+            .region(REGION)
+            .awsAccountId(ACCOUNT_ID);
+    }
+}
@@ -0,0 +1,83 @@
+package software.amazon.emr.walworkspace;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.logging.log4j.Level;
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.Logger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class HandlerLoggerTest {
+
+    private final List<String> lines = new ArrayList<>();
+    private final Logger sink = lines::add;
+
+    @Test
+    public void log_SkipsSupplierBelowThreshold() {
+        final HandlerLogger log = new HandlerLogger(sink, Level.INFO);
+
+        log.debug(() -> fail("debug message must not be built at INFO"));
+        log.info(() -> "listed 3 workspaces");
+        log.error("failed");
+
+        assertThat(lines).containsExactly("[INFO] listed 3 workspaces", "[ERROR] failed");
+    }
+
+    @Test
+    public void log_DebugThresholdWritesEverything() {
+        final HandlerLogger log = new HandlerLogger(sink, Level.DEBUG);
+
+        log.debug("a");
+        log.warn(() -> "b");
+
+        assertThat(lines).containsExactly("[DEBUG] a", "[WARN] b");
+    }
+
+    @Test
+    public void of_DefaultsToInfoWithoutLevel() {
+        final HandlerLogger log = HandlerLogger.of(sink, ProviderSettings.builder().build());
+
+        assertThat(log.isEnabled(Level.DEBUG)).isFalse();
+        assertThat(log.isEnabled(Level.INFO)).isTrue();
+    }
+
+    @Test
+    public void of_UsesConfiguredLevel() {
+        final HandlerLogger log = HandlerLogger.of(sink, ProviderSettings.builder().logLevel(Level.ERROR).build());
+
+        log.warn("dropped");
+        log.error("kept");
+
+        assertThat(lines).containsExactly("[ERROR] kept");
+    }
+
+    @Test
+    public void truncate_CapsLongMessages() {
+        final char[] chars = new char[HandlerLogger.MAX_MESSAGE_LENGTH + 5];
+        Arrays.fill(chars, 'x');
+
+        final String truncated = HandlerLogger.truncate(new String(chars));
+
+        assertThat(truncated).startsWith(new String(chars, 0, HandlerLogger.MAX_MESSAGE_LENGTH));
+        assertThat(truncated).endsWith("... (5 more characters)");
+        assertThat(HandlerLogger.truncate("short")).isEqualTo("short");
+    }
+
+    @Test
+    public void summarize_ListsFirstElementsOnly() {
+        final List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            values.add(i);
+        }
+
+        assertThat(HandlerLogger.summarize(values)).isEqualTo("12 [0, 1, 2, 3, 4, 5, 6, 7, 8, 9, ...]");
+        assertThat(HandlerLogger.summarize(Arrays.asList("a", "b"))).isEqualTo("2 [a, b]");
+        assertThat(HandlerLogger.summarize(Collections.emptyList())).isEqualTo("0 []");
+        assertThat(HandlerLogger.summarize(null)).isEqualTo("0 []");
+    }
+}
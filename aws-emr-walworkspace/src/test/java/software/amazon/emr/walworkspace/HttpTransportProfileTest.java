@@ -0,0 +1,80 @@
+package software.amazon.emr.walworkspace;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.services.emrwal.EmrwalClient;
+import software.amazon.cloudformation.LambdaWrapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HttpTransportProfileTest {
+
+    @Test
+    public void fromName_DefaultsToLambdaDefault() {
+        assertThat(HttpTransportProfile.fromName(null)).isEqualTo(HttpTransportProfile.LAMBDA_DEFAULT);
+        assertThat(HttpTransportProfile.fromName("unknown")).isEqualTo(HttpTransportProfile.LAMBDA_DEFAULT);
+        assertThat(HttpTransportProfile.fromName(" pooled ")).isEqualTo(HttpTransportProfile.POOLED);
+    }
+
+    @Test
+    public void applyTimeouts_LambdaDefaultKeepsSdkDefaults() {
+        final ClientOverrideConfiguration configuration = HttpTransportProfile.LAMBDA_DEFAULT
+            .applyTimeouts(ClientOverrideConfiguration.builder(), ProviderSettings.builder().build())
+            .build();
+
+        assertThat(configuration.apiCallAttemptTimeout()).isEmpty();
+        assertThat(configuration.apiCallTimeout()).isEmpty();
+    }
+
+    @Test
+    public void applyTimeouts_PooledSetsBothTimeouts() {
+        final ClientOverrideConfiguration configuration = HttpTransportProfile.POOLED
+            .applyTimeouts(ClientOverrideConfiguration.builder(), ProviderSettings.builder().build())
+            .build();
+
+        assertThat(configuration.apiCallAttemptTimeout()).contains(Duration.ofSeconds(10));
+        assertThat(configuration.apiCallTimeout()).contains(Duration.ofSeconds(30));
+    }
+
+    @Test
+    public void applyTimeouts_SettingsOverrideProfile() {
+        final ProviderSettings settings = ProviderSettings.builder()
+            .httpAttemptTimeoutMillis(500)
+            .httpCallTimeoutMillis(2000)
+            .build();
+
+        final ClientOverrideConfiguration configuration = HttpTransportProfile.LAMBDA_DEFAULT
+            .applyTimeouts(ClientOverrideConfiguration.builder(), settings)
+            .build();
+
+        assertThat(configuration.apiCallAttemptTimeout()).contains(Duration.ofMillis(500));
+        assertThat(configuration.apiCallTimeout()).contains(Duration.ofSeconds(2));
+    }
+
+    @Test
+    public void httpClient_OnlyPooledOwnsItsPool() {
+        assertThat(HttpTransportProfile.LAMBDA_DEFAULT.httpClient()).isSameAs(LambdaWrapper.HTTP_CLIENT);
+
+        try (SdkHttpClient first = HttpTransportProfile.POOLED.httpClient();
+             SdkHttpClient second = HttpTransportProfile.POOLED.httpClient()) {
+            assertThat(first).isNotSameAs(second).isNotSameAs(LambdaWrapper.HTTP_CLIENT);
+        }
+    }
+
+    @Test
+    public void createEMRWALClient_WithPooledProfile() {
+        final ProviderSettings settings = ProviderSettings.builder()
+            .httpTransportProfile(HttpTransportProfile.POOLED)
+            .build();
+
+        try (EmrwalClient client = ClientBuilder.createEMRWALClient("us-east-1", "http://localhost:8080",
+            StaticCredentialsProvider.create(AwsBasicCredentials.create("accessKey", "secretKey")), settings)) {
+            assertThat(client).isNotNull();
+        }
+    }
+}
@@ -0,0 +1,412 @@
+package software.amazon.emr.walworkspace;
+
+import java.util.ArrayList;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import software.amazon.awssdk.services.emrwal.EmrwalClient;
+import software.amazon.awssdk.services.emrwal.model.CreateWorkspaceRequest;
+import software.amazon.awssdk.services.emrwal.model.CreateWorkspaceResponse;
+import software.amazon.awssdk.services.emrwal.model.DeleteWorkspaceRequest;
+import software.amazon.awssdk.services.emrwal.model.DeleteWorkspaceResponse;
+import software.amazon.awssdk.services.emrwal.model.EmrwalException;
+import software.amazon.awssdk.services.emrwal.model.InvalidResourceException;
+import software.amazon.awssdk.services.emrwal.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.emrwal.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.emrwal.model.ListWorkspacesRequest;
+import software.amazon.awssdk.services.emrwal.model.ListWorkspacesResponse;
+import software.amazon.awssdk.services.emrwal.model.Tag;
+import software.amazon.awssdk.services.emrwal.model.TagResourceRequest;
+import software.amazon.awssdk.services.emrwal.model.TagResourceResponse;
+import software.amazon.awssdk.services.emrwal.model.TaggingFailedException;
+import software.amazon.awssdk.services.emrwal.model.TooManyTagsException;
+import software.amazon.awssdk.services.emrwal.model.UntagResourceRequest;
+import software.amazon.awssdk.services.emrwal.model.UntagResourceResponse;
+import software.amazon.awssdk.services.emrwal.model.WalThrottlingException;
+
+/**
+ * In-memory EmrwalClient for tests and benchmarks. Workspaces are kept sorted by name so ListWorkspaces pages are
+ * stable, the nextToken being the last name of the previous page. Failures carry the same messages as the
+ * service, so handlers map them exactly as they would in production.
+ *
+ * For load and latency tests every call can be delayed by a {@link LatencyDistribution}, rejected with a
+ * WalThrottlingException, and tagging calls can fail with a TaggingFailedException, each at a configured rate.
+ * Faults are drawn from a seeded Random so a single-threaded run is repeatable. Throttled and failed calls still
+ * pay the latency and leave the workspaces untouched, like the service.
+ *
+ * CreateWorkspace, TagResource and UntagResource reject a request carrying more tags than the per-call limit with a
+ * TooManyTagsException; there is no limit unless one is configured.
+ *
+ * ListWorkspaces can be made eventually consistent: a deleted workspace stays listed for a configured time after
+ * DeleteWorkspace returned, measured on a clock the test controls.
+ */
+public class InMemoryEmrwalClient implements EmrwalClient {
+    static final int DEFAULT_PAGE_SIZE = 1000;
+    static final long DEFAULT_SEED = 42L;
+
+    private final ConcurrentSkipListMap<String, ConcurrentMap<String, String>> workspaces =
+        new ConcurrentSkipListMap<>();
+    private final ConcurrentMap<String, AtomicLong> calls = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LatencyDistribution> latencies = new ConcurrentHashMap<>();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong taggingFailures = new AtomicLong();
+    private final AtomicLong inFlight = new AtomicLong();
+    private final AtomicLong maxInFlight = new AtomicLong();
+
+    private volatile Random random = new Random(DEFAULT_SEED);
+    private volatile LatencyDistribution defaultLatency = LatencyDistribution.none();
+    private volatile double throttlingRate;
+    private volatile double taggingFailureRate;
+    private volatile int maxPageSize = DEFAULT_PAGE_SIZE;
+    private volatile int maxTagsPerCall = Integer.MAX_VALUE;
+    private final ConcurrentMap<String, AtomicLong> largestTagCalls = new ConcurrentHashMap<>();
+    // Deleted workspaces ListWorkspaces still lists, with the clock reading until which it does
+    private final ConcurrentMap<String, Long> deletedButListed = new ConcurrentHashMap<>();
+    private volatile long listStalenessNanos;
+    private volatile LongSupplier clockNanos = System::nanoTime;
+
+    /**
+     * Per-call service latency.
+     */
+    @FunctionalInterface
+    public interface LatencyDistribution {
+        long sampleNanos(Random random);
+
+        static LatencyDistribution none() {
+            return random -> 0L;
+        }
+
+        static LatencyDistribution fixed(final Duration latency) {
+            final long nanos = latency.toNanos();
+            return random -> nanos;
+        }
+
+        static LatencyDistribution uniform(final Duration min, final Duration max) {
+            final long minNanos = min.toNanos();
+            final long spanNanos = max.toNanos() - minNanos;
+            return random -> minNanos + (long) (random.nextDouble() * spanNanos);
+        }
+
+        /**
+         * Log-normal latency with the given median and 99th percentile, the usual shape of a service's tail.
+         */
+        static LatencyDistribution logNormal(final Duration median, final Duration p99) {
+            final double mu = Math.log(median.toNanos());
+            // 2.326 is the standard normal quantile at 0.99
+            final double sigma = Math.log((double) p99.toNanos() / median.toNanos()) / 2.326;
+            return random -> (long) Math.exp(mu + sigma * random.nextGaussian());
+        }
+    }
+
+    /**
+     * Add workspaces named prefix0 .. prefix(count-1), bypassing the API.
+     */
+    public InMemoryEmrwalClient withWorkspaces(final String prefix, final int count) {
+        for (int i = 0; i < count; i++) {
+            workspaces.put(prefix + i, new ConcurrentHashMap<>());
+        }
+        return this;
+    }
+
+    public InMemoryEmrwalClient withWorkspace(final String name, final Map<String, String> tags) {
+        workspaces.put(name, new ConcurrentHashMap<>(tags));
+        return this;
+    }
+
+    public InMemoryEmrwalClient withSeed(final long seed) {
+        random = new Random(seed);
+        return this;
+    }
+
+    public InMemoryEmrwalClient withLatency(final LatencyDistribution latency) {
+        defaultLatency = latency;
+        return this;
+    }
+
+    /**
+     * Latency of a single API, see {@link ApiNames}; other APIs keep the default latency.
+     */
+    public InMemoryEmrwalClient withLatency(final String api, final LatencyDistribution latency) {
+        latencies.put(api, latency);
+        return this;
+    }
+
+    /**
+     * Fraction of calls, across all APIs, rejected with a WalThrottlingException.
+     */
+    public InMemoryEmrwalClient withThrottlingRate(final double rate) {
+        throttlingRate = rate;
+        return this;
+    }
+
+    /**
+     * Fraction of ListTagsForResource, TagResource and UntagResource calls failing with a TaggingFailedException.
+     */
+    public InMemoryEmrwalClient withTaggingFailureRate(final double rate) {
+        taggingFailureRate = rate;
+        return this;
+    }
+
+    /**
+     * Largest ListWorkspaces page the service returns, whatever maxResults asks for.
+     */
+    public InMemoryEmrwalClient withMaxPageSize(final int pageSize) {
+        maxPageSize = pageSize;
+        return this;
+    }
+
+    /**
+     * Most tags or tag keys a single CreateWorkspace, TagResource or UntagResource call may carry.
+     */
+    public InMemoryEmrwalClient withMaxTagsPerCall(final int maxTags) {
+        maxTagsPerCall = maxTags;
+        return this;
+    }
+
+    /**
+     * Most tags or tag keys any call to the given API carried, see {@link ApiNames}.
+     */
+    public long largestTagCall(final String api) {
+        final AtomicLong largest = largestTagCalls.get(api);
+        return largest == null ? 0 : largest.get();
+    }
+
+    /**
+     * Keep listing a deleted workspace in ListWorkspaces for the given time after DeleteWorkspace returned.
+     *
+     * @param clockNanos clock the staleness is measured on, e.g. one the test advances by each callback delay
+     */
+    public InMemoryEmrwalClient withEventuallyConsistentList(final Duration staleness, final LongSupplier clockNanos) {
+        this.listStalenessNanos = staleness.toNanos();
+        this.clockNanos = clockNanos;
+        return this;
+    }
+
+    public boolean hasWorkspace(final String name) {
+        return workspaces.containsKey(name);
+    }
+
+    public Map<String, String> tagsOf(final String name) {
+        return workspaces.get(name);
+    }
+
+    public int workspaceCount() {
+        return workspaces.size();
+    }
+
+    /**
+     * Number of calls made to the given API, see {@link ApiNames}.
+     */
+    public long callCount(final String api) {
+        final AtomicLong count = calls.get(api);
+        return count == null ? 0 : count.get();
+    }
+
+    public long throttledCount() {
+        return throttled.get();
+    }
+
+    public long taggingFailureCount() {
+        return taggingFailures.get();
+    }
+
+    /**
+     * Highest number of calls the service was serving at the same time.
+     */
+    public long maxConcurrentCalls() {
+        return maxInFlight.get();
+    }
+
+    @Override
+    public CreateWorkspaceResponse createWorkspace(final CreateWorkspaceRequest request) {
+        serve(ApiNames.CREATE_WORKSPACE);
+        checkTagLimit(ApiNames.CREATE_WORKSPACE, request.hasTags() ? request.tags().size() : 0);
+        final ConcurrentMap<String, String> tags = new ConcurrentHashMap<>();
+        if (request.hasTags()) {
+            request.tags().forEach(tag -> tags.put(tag.key(), valueOf(tag)));
+        }
+        if (workspaces.putIfAbsent(request.walWorkspace(), tags) != null) {
+            throw EmrwalException.builder()
+                .message(String.format("Workspace %s already exists", request.walWorkspace()))
+                .statusCode(400)
+                .build();
+        }
+        deletedButListed.remove(request.walWorkspace());
+        return CreateWorkspaceResponse.builder().build();
+    }
+
+    @Override
+    public DeleteWorkspaceResponse deleteWorkspace(final DeleteWorkspaceRequest request) {
+        serve(ApiNames.DELETE_WORKSPACE);
+        if (workspaces.remove(request.walWorkspace()) == null) {
+            throw InvalidResourceException.builder()
+                .message(String.format("Workspace %s does not exist", request.walWorkspace()))
+                .statusCode(400)
+                .build();
+        }
+        if (listStalenessNanos > 0) {
+            deletedButListed.put(request.walWorkspace(), clockNanos.getAsLong() + listStalenessNanos);
+        }
+        return DeleteWorkspaceResponse.builder().build();
+    }
+
+    @Override
+    public ListWorkspacesResponse listWorkspaces(final ListWorkspacesRequest request) {
+        serve(ApiNames.LIST_WORKSPACES);
+        final int pageSize = request.maxResults() == null
+            ? maxPageSize
+            : Math.min(request.maxResults(), maxPageSize);
+        final NavigableSet<String> listed = listedNames();
+        final NavigableSet<String> remaining = request.nextToken() == null
+            ? listed
+            : listed.tailSet(request.nextToken(), false);
+
+        final List<String> page = new ArrayList<>(Math.min(pageSize, remaining.size()));
+        final Iterator<String> names = remaining.iterator();
+        while (names.hasNext() && page.size() < pageSize) {
+            page.add(names.next());
+        }
+        final String nextToken = names.hasNext() ? page.get(page.size() - 1) : null;
+        return ListWorkspacesResponse.builder().walWorkspaceList(page).nextToken(nextToken).build();
+    }
+
+    /**
+     * The workspaces plus the deleted ones that are still listed.
+     */
+    private NavigableSet<String> listedNames() {
+        if (deletedButListed.isEmpty()) {
+            return workspaces.keySet();
+        }
+        final long now = clockNanos.getAsLong();
+        deletedButListed.values().removeIf(listedUntil -> listedUntil - now <= 0);
+        final NavigableSet<String> listed = new TreeSet<>(workspaces.keySet());
+        listed.addAll(deletedButListed.keySet());
+        return listed;
+    }
+
+    @Override
+    public ListTagsForResourceResponse listTagsForResource(final ListTagsForResourceRequest request) {
+        serveTagging(ApiNames.LIST_TAGS_FOR_RESOURCE);
+        final Map<String, String> tags = workspaces.get(workspaceName(request.resourceARN()));
+        if (tags == null) {
+            throw TaggingFailedException.builder()
+                .message("Unable to list tag, please make sure Workspace is created first")
+                .statusCode(400)
+                .build();
+        }
+        final List<Tag> sdkTags = new ArrayList<>(tags.size());
+        tags.forEach((key, value) -> sdkTags.add(Tag.builder().key(key).value(value.isEmpty() ? null : value).build()));
+        return ListTagsForResourceResponse.builder().tags(sdkTags).build();
+    }
+
+    @Override
+    public TagResourceResponse tagResource(final TagResourceRequest request) {
+        serveTagging(ApiNames.TAG_RESOURCE);
+        checkTagLimit(ApiNames.TAG_RESOURCE, request.tags().size());
+        final Map<String, String> tags = taggableWorkspace(request.resourceARN());
+        request.tags().forEach(tag -> tags.put(tag.key(), valueOf(tag)));
+        return TagResourceResponse.builder().build();
+    }
+
+    @Override
+    public UntagResourceResponse untagResource(final UntagResourceRequest request) {
+        serveTagging(ApiNames.UNTAG_RESOURCE);
+        checkTagLimit(ApiNames.UNTAG_RESOURCE, request.tagKeys().size());
+        final Map<String, String> tags = taggableWorkspace(request.resourceARN());
+        request.tagKeys().forEach(tags::remove);
+        return UntagResourceResponse.builder().build();
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private Map<String, String> taggableWorkspace(final String arn) {
+        final Map<String, String> tags = workspaces.get(workspaceName(arn));
+        if (tags == null) {
+            throw TaggingFailedException.builder()
+                .message("Unable to retrieve workspace for tagging")
+                .statusCode(400)
+                .build();
+        }
+        return tags;
+    }
+
+    private void checkTagLimit(final String api, final int tagCount) {
+        largestTagCalls.computeIfAbsent(api, key -> new AtomicLong()).accumulateAndGet(tagCount, Math::max);
+        if (tagCount > maxTagsPerCall) {
+            throw TooManyTagsException.builder()
+                .message(String.format("A request can carry at most %d tags, got %d", maxTagsPerCall, tagCount))
+                .statusCode(400)
+                .build();
+        }
+    }
+
+    private void serveTagging(final String api) {
+        serve(api);
+        if (taggingFailureRate > 0 && random.nextDouble() < taggingFailureRate) {
+            taggingFailures.incrementAndGet();
+            throw TaggingFailedException.builder()
+                .message("Tagging failed, please retry")
+                .statusCode(500)
+                .build();
+        }
+    }
+
+    /**
+     * Count the call, wait out its latency and decide whether it is throttled.
+     */
+    private void serve(final String api) {
+        calls.computeIfAbsent(api, key -> new AtomicLong()).incrementAndGet();
+        final LatencyDistribution latency = latencies.getOrDefault(api, defaultLatency);
+        final long concurrent = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(concurrent, Math::max);
+        try {
+            sleep(latency.sampleNanos(random));
+        } finally {
+            inFlight.decrementAndGet();
+        }
+        if (throttlingRate > 0 && random.nextDouble() < throttlingRate) {
+            throttled.incrementAndGet();
+            throw WalThrottlingException.builder()
+                .message("Rate exceeded")
+                .statusCode(400)
+                .build();
+        }
+    }
+
+    private static void sleep(final long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String valueOf(final Tag tag) {
+        return tag.value() == null ? "" : tag.value();
+    }
+
+    static String workspaceName(final String arn) {
+        return arn == null ? "" : arn.substring(arn.lastIndexOf('/') + 1);
+    }
+}
@@ -0,0 +1,57 @@
+package software.amazon.emr.walworkspace;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void indexOf_ExactBelowSubBuckets() {
+        for (int value = 0; value < LatencyHistogram.SUB_BUCKETS * 2; value++) {
+            assertThat(LatencyHistogram.indexOf(value)).isEqualTo(value);
+            assertThat(LatencyHistogram.lowerBoundOf(value)).isEqualTo(value);
+        }
+    }
+
+    @Test
+    public void indexOf_BucketsCoverValuesWithinRelativeError() {
+        for (long value = 1; value < LatencyHistogram.MAX_VALUE; value = value * 3 / 2 + 1) {
+            final int index = LatencyHistogram.indexOf(value);
+            assertThat(LatencyHistogram.lowerBoundOf(index)).isLessThanOrEqualTo(value);
+            assertThat(LatencyHistogram.upperBoundOf(index)).isGreaterThanOrEqualTo(value);
+            assertThat(LatencyHistogram.upperBoundOf(index) - LatencyHistogram.lowerBoundOf(index))
+                .isLessThanOrEqualTo(value / LatencyHistogram.SUB_BUCKETS);
+        }
+    }
+
+    @Test
+    public void percentile_ReportsBucketBoundCappedAtMax() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1_000L);
+        }
+
+        assertThat(histogram.getCount()).isEqualTo(100);
+        assertThat(histogram.getMax()).isEqualTo(100_000L);
+        assertThat(histogram.getTotal()).isEqualTo(5_050_000L);
+        assertThat(histogram.percentile(50)).isBetween(50_000L, 50_000L + 50_000L / LatencyHistogram.SUB_BUCKETS);
+        assertThat(histogram.percentile(99)).isBetween(99_000L, 100_000L);
+        assertThat(histogram.percentile(100)).isEqualTo(100_000L);
+    }
+
+    @Test
+    public void record_ClampsOutOfRangeValues() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5L);
+        histogram.record(Long.MAX_VALUE);
+
+        assertThat(histogram.percentile(50)).isZero();
+        assertThat(histogram.getMax()).isEqualTo(LatencyHistogram.MAX_VALUE);
+    }
+
+    @Test
+    public void percentile_EmptyIsZero() {
+        assertThat(new LatencyHistogram().percentile(99)).isZero();
+    }
+}
@@ -2,6 +2,7 @@ package software.amazon.emr.walworkspace;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.TestInstance;
@@ -16,6 +17,7 @@ import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -23,6 +25,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @TestInstance(PER_CLASS)
@@ -97,6 +101,35 @@ public class ListHandlerTest extends AbstractTestBase {
         assertThat(response.getErrorCode()).isNull();
     }
 
+    @Test
+    public void handleRequest_ReturnsSinglePageWithNextToken() {
+        final ResourceModel model = ResourceModel.builder().build();
+        final ListWorkspacesResponse listWorkspacesResponse = ListWorkspacesResponse.builder()
+            .walWorkspaceList(Collections.singletonList(WALWORKSPACE_NAME))
+            .nextToken("page-2")
+            .build();
+
+        when(sdkClient.listWorkspaces(any(ListWorkspacesRequest.class))).thenReturn(listWorkspacesResponse);
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(model)
+            .nextToken("page-1")
+            .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getNextToken()).isEqualTo("page-2");
+        Assertions.assertThat(response.getResourceModels()).hasSize(1);
+        assertThat(response.getResourceModels().get(0).getWALWorkspaceName()).isEqualTo(WALWORKSPACE_NAME);
+
+        final ArgumentCaptor<ListWorkspacesRequest> captor = ArgumentCaptor.forClass(ListWorkspacesRequest.class);
+        verify(sdkClient, times(1)).listWorkspaces(captor.capture());
+        assertThat(captor.getValue().nextToken()).isEqualTo("page-1");
+        assertThat(captor.getValue().maxResults()).isEqualTo(BaseHandlerStd.MAX_RESULT);
+    }
 
     private ListWorkspacesResponse mockedListWorkspacesResponse(boolean emptyList) {
         if (emptyList) {
@@ -0,0 +1,105 @@
+package software.amazon.emr.walworkspace;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.emrwal.EmrwalClient;
+import software.amazon.awssdk.services.emrwal.model.CreateWorkspaceRequest;
+import software.amazon.awssdk.services.emrwal.model.CreateWorkspaceResponse;
+import software.amazon.awssdk.services.emrwal.model.ListWorkspacesRequest;
+import software.amazon.awssdk.services.emrwal.model.ListWorkspacesResponse;
+import software.amazon.awssdk.services.emrwal.model.Tag;
+import software.amazon.awssdk.services.emrwal.model.WalThrottlingException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@TestInstance(PER_CLASS)
+@ExtendWith(MockitoExtension.class)
+public class MetricsProxyClientTest extends AbstractTestBase {
+
+    @Mock
+    EmrwalClient sdkClient;
+    @Mock
+    private AmazonWebServicesClientProxy proxy;
+    @Mock
+    private ProxyClient<EmrwalClient> proxyClient;
+
+    @BeforeEach
+    public void setup() {
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS,
+            () -> Duration.ofSeconds(600).toMillis());
+        sdkClient = mock(EmrwalClient.class);
+        proxyClient = MOCK_PROXY(proxy, sdkClient);
+    }
+
+    @Test
+    public void invoke_RecordsCallsItemsAndThrottles() {
+        when(sdkClient.createWorkspace(any(CreateWorkspaceRequest.class)))
+            .thenThrow(WalThrottlingException.builder().message("Rate exceeded").build())
+            .thenReturn(CreateWorkspaceResponse.builder().build());
+        when(sdkClient.listWorkspaces(any(ListWorkspacesRequest.class)))
+            .thenReturn(ListWorkspacesResponse.builder().walWorkspaceList("a", "b", "c").build());
+        final MetricsProxyClient metrics = new MetricsProxyClient(proxyClient);
+        final CreateWorkspaceRequest createRequest = CreateWorkspaceRequest.builder()
+            .walWorkspace(WALWORKSPACE_NAME)
+            .tags(Tag.builder().key("k1").value("v1").build(), Tag.builder().key("k2").value("v2").build())
+            .build();
+
+        assertThatThrownBy(() -> metrics.injectCredentialsAndInvokeV2(createRequest, metrics.client()::createWorkspace))
+            .isInstanceOf(WalThrottlingException.class);
+        metrics.injectCredentialsAndInvokeV2(createRequest, metrics.client()::createWorkspace);
+        metrics.injectCredentialsAndInvokeV2(ListWorkspacesRequest.builder().build(), metrics.client()::listWorkspaces);
+
+        final MetricsProxyClient.ApiMetrics create = metrics.get(ApiNames.CREATE_WORKSPACE);
+        assertThat(create.latency.getCount()).isEqualTo(2);
+        assertThat(create.errors.get()).isEqualTo(1);
+        assertThat(create.throttles.get()).isEqualTo(1);
+        assertThat(create.items.get()).isEqualTo(4);
+
+        final MetricsProxyClient.ApiMetrics list = metrics.get(ApiNames.LIST_WORKSPACES);
+        assertThat(list.latency.getCount()).isEqualTo(1);
+        assertThat(list.errors.get()).isZero();
+        assertThat(list.items.get()).isEqualTo(3);
+
+        assertThat(metrics.get(ApiNames.TAG_RESOURCE)).isNull();
+    }
+
+    @Test
+    public void toRecord_SingleLineWithApisInNameOrder() {
+        when(sdkClient.listWorkspaces(any(ListWorkspacesRequest.class)))
+            .thenReturn(ListWorkspacesResponse.builder().walWorkspaceList("a").build());
+        when(sdkClient.createWorkspace(any(CreateWorkspaceRequest.class)))
+            .thenReturn(CreateWorkspaceResponse.builder().build());
+        final MetricsProxyClient metrics = new MetricsProxyClient(proxyClient);
+
+        metrics.injectCredentialsAndInvokeV2(ListWorkspacesRequest.builder().build(), metrics.client()::listWorkspaces);
+        metrics.injectCredentialsAndInvokeV2(CreateWorkspaceRequest.builder().walWorkspace(WALWORKSPACE_NAME).build(),
+            metrics.client()::createWorkspace);
+        final String record = metrics.toRecord("CreateHandler", 2);
+
+        assertThat(record).startsWith(MetricsProxyClient.RECORD_PREFIX + "{\"handler\":\"CreateHandler\",\"attempt\":2,");
+        assertThat(record).doesNotContain("\n");
+        assertThat(record.indexOf("\"CreateWorkspace\":{\"calls\":1,\"errors\":0,\"throttles\":0,\"items\":0,"))
+            .isPositive()
+            .isLessThan(record.indexOf("\"ListWorkspaces\":{\"calls\":1,\"errors\":0,\"throttles\":0,\"items\":1,"));
+        assertThat(record).endsWith("}}}");
+    }
+
+    @Test
+    public void toRecord_NoCalls() {
+        assertThat(new MetricsProxyClient(proxyClient).toRecord("ReadHandler", 0))
+            .isEqualTo(MetricsProxyClient.RECORD_PREFIX + "{\"handler\":\"ReadHandler\",\"attempt\":0,\"apis\":{}}");
+    }
+}
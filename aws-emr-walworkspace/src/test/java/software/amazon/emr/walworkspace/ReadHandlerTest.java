@@ -10,6 +10,7 @@ import software.amazon.awssdk.services.emrwal.EmrwalClient;
 import software.amazon.awssdk.services.emrwal.model.ListTagsForResourceRequest;
 import software.amazon.awssdk.services.emrwal.model.ListTagsForResourceResponse;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
@@ -23,7 +24,11 @@ import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
 import static org.mockito.Mockito.mock;
 
 
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @TestInstance(PER_CLASS)
@@ -73,6 +78,62 @@ public class ReadHandlerTest extends AbstractTestBase {
         assertThat(response.getErrorCode()).isNull();
     }
 
+    @Test
+    public void handleRequest_InvalidNameIsNotFoundWithoutServiceCall() {
+        final ResourceModel model = ResourceModel.builder().wALWorkspaceName("not-a-valid-name").build();
+        final ResourceHandlerRequest<ResourceModel> request =
+            ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(model).build();
+        final CallbackContext callbackContext = new CallbackContext();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, callbackContext, proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
+        verify(sdkClient, never()).listTagsForResource(any(ListTagsForResourceRequest.class));
+        assertThat(callbackContext.getWalWorkspaceArn()).isNull();
+    }
+
+    @Test
+    public void handleRequest_InvalidNameIsNotFoundFromEntryPoint() {
+        final ResourceModel model = ResourceModel.builder().wALWorkspaceName("not-a-valid-name").build();
+        final ResourceHandlerRequest<ResourceModel> request =
+            ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(model).build();
+
+        // The entry point CloudFormation invokes: a malformed identifier must fail like Delete does, as NotFound,
+        // before any call is made
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
+        assertThat(response.getMessage()).contains("WALWorkspaceName");
+        assertThat(response.getCallbackContext().getWalWorkspaceArn()).isNull();
+        verify(sdkClient, never()).listTagsForResource(any(ListTagsForResourceRequest.class));
+    }
+
+    @Test
+    public void handleRequest_ReusesArnFromCallbackContext() {
+        final ResourceModel model = ResourceModel.builder().wALWorkspaceName(WALWORKSPACE_NAME).build();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(model)
+            .awsPartition("aws")
+            .region("us-east-1")
+            .awsAccountId("123456789012")
+            .build();
+        when(sdkClient.listTagsForResource(any(ListTagsForResourceRequest.class))).thenReturn(
+            mockedReadWALWorkspaceResponse());
+        final CallbackContext callbackContext = new CallbackContext();
+
+        handler.handleRequest(proxy, request, callbackContext, proxyClient, logger);
+        handler.handleRequest(proxy, request, callbackContext, proxyClient, logger);
+
+        assertThat(callbackContext.getWalWorkspaceArn())
+            .isEqualTo("arn:aws:emrwal:us-east-1:123456789012:workspace/" + WALWORKSPACE_NAME);
+        verify(sdkClient, times(2)).listTagsForResource(
+            argThat((ListTagsForResourceRequest read) -> callbackContext.getWalWorkspaceArn().equals(read.resourceARN())));
+    }
+
     private ListTagsForResourceResponse mockedReadWALWorkspaceResponse() {
         return ListTagsForResourceResponse.builder().build();
     }
@@ -0,0 +1,29 @@
+package software.amazon.emr.walworkspace;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+
+/**
+ * One EMR WAL API call as {@link RecordingProxyClient} saw it: the request, the response or the failure, when the
+ * call started relative to the start of the recording and how long it took.
+ */
+@lombok.Value
+class RecordedCall {
+    String api;
+    long startNanos;
+    long latencyNanos;
+    AwsRequest request;
+    // Exactly one of response and error is set
+    AwsResponse response;
+    RuntimeException error;
+
+    static RecordedCall succeeded(final long startNanos, final long latencyNanos, final AwsRequest request,
+        final AwsResponse response) {
+        return new RecordedCall(ApiNames.of(request), startNanos, latencyNanos, request, response, null);
+    }
+
+    static RecordedCall failed(final long startNanos, final long latencyNanos, final AwsRequest request,
+        final RuntimeException error) {
+        return new RecordedCall(ApiNames.of(request), startNanos, latencyNanos, request, null, error);
+    }
+}
@@ -0,0 +1,47 @@
+package software.amazon.emr.walworkspace;
+
+import java.util.function.Function;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.services.emrwal.EmrwalClient;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+/**
+ * Writes every EMR WAL call that goes through it, with its response or failure and its latency, to a
+ * {@link TrafficRecorder}. The recording can be served back by {@link ReplayEmrwalClient}.
+ *
+ * Tests and benchmarks put it directly on the proxy client they hand to a handler, so the latencies are the
+ * service's. A call is only recorded once it has finished and a failure to write never fails the call.
+ */
+class RecordingProxyClient extends ForwardingProxyClient<EmrwalClient> {
+    private final TrafficRecorder recorder;
+
+    RecordingProxyClient(final ProxyClient<EmrwalClient> delegate, final TrafficRecorder recorder) {
+        super(delegate);
+        this.recorder = recorder;
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT
+    injectCredentialsAndInvokeV2(final RequestT request, final Function<RequestT, ResponseT> requestFunction) {
+        final long start = System.nanoTime();
+        final ResponseT response;
+        try {
+            response = super.injectCredentialsAndInvokeV2(request, requestFunction);
+        } catch (RuntimeException e) {
+            record(RecordedCall.failed(recorder.elapsedNanos(start), System.nanoTime() - start, request, e));
+            throw e;
+        }
+        record(RecordedCall.succeeded(recorder.elapsedNanos(start), System.nanoTime() - start, request, response));
+        return response;
+    }
+
+    private void record(final RecordedCall call) {
+        try {
+            recorder.record(call);
+        } catch (RuntimeException e) {
+            // The recording is incomplete, the handler carries on
+        }
+    }
+}
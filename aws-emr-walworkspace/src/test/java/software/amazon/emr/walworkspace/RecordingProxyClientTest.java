@@ -0,0 +1,148 @@
+package software.amazon.emr.walworkspace;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.awssdk.services.emrwal.EmrwalClient;
+import software.amazon.awssdk.services.emrwal.model.ListWorkspacesRequest;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RecordingProxyClientTest extends AbstractTestBase {
+    private static final ProviderSettings SETTINGS = ProviderSettings.builder().asyncTagging(true).build();
+
+    @TempDir
+    Path tempDir;
+
+    private AmazonWebServicesClientProxy proxy;
+
+    @BeforeEach
+    public void setup() {
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+    }
+
+    @Test
+    public void replay_ServesRecordedLifecycleWithoutTheService() {
+        final Path recording = tempDir.resolve("lifecycle.jsonl");
+        final InMemoryEmrwalClient service = new InMemoryEmrwalClient()
+            .withWorkspace("other", Collections.emptyMap())
+            .withMaxPageSize(1);
+        final ProxyClient<EmrwalClient> recorded = new RecordingProxyClient(MOCK_PROXY(proxy, service),
+            TrafficRecorder.forFile(recording.toString()));
+
+        lifecycle(recorded);
+
+        final List<RecordedCall> calls = TrafficCodec.read(recording);
+        final long serviceCalls = service.callCount(ApiNames.CREATE_WORKSPACE)
+            + service.callCount(ApiNames.LIST_TAGS_FOR_RESOURCE)
+            + service.callCount(ApiNames.TAG_RESOURCE)
+            + service.callCount(ApiNames.UNTAG_RESOURCE)
+            + service.callCount(ApiNames.LIST_WORKSPACES)
+            + service.callCount(ApiNames.DELETE_WORKSPACE);
+        assertThat(calls).hasSize((int) serviceCalls);
+
+        final ReplayEmrwalClient replay = new ReplayEmrwalClient(calls, 0);
+        lifecycle(MOCK_PROXY(proxy, replay));
+
+        assertThat(replay.remainingCalls()).isZero();
+    }
+
+    @Test
+    public void replay_RethrowsRecordedFailure() {
+        final Path recording = tempDir.resolve("failure.jsonl");
+        final ProxyClient<EmrwalClient> recorded = new RecordingProxyClient(
+            MOCK_PROXY(proxy, new InMemoryEmrwalClient()), TrafficRecorder.forFile(recording.toString()));
+        final ResourceHandlerRequest<ResourceModel> request = request(ResourceModel.builder()
+            .wALWorkspaceName("missing")
+            .build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> original = new DeleteHandler(SETTINGS)
+            .handleRequest(proxy, request, new CallbackContext(), recorded, logger);
+        final ProgressEvent<ResourceModel, CallbackContext> replayed = new DeleteHandler(SETTINGS)
+            .handleRequest(proxy, request, new CallbackContext(),
+                MOCK_PROXY(proxy, ReplayEmrwalClient.of(recording, 0)), logger);
+
+        assertThat(original.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(replayed.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(replayed.getErrorCode()).isEqualTo(original.getErrorCode());
+    }
+
+    @Test
+    public void replay_FailsOnDivergence() {
+        final ReplayEmrwalClient replay = new ReplayEmrwalClient(Collections.emptyList(), 0);
+
+        assertThatThrownBy(() -> replay.listWorkspaces(ListWorkspacesRequest.builder().build()))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void replay_TakesRecordedLatencyOverSpeed() {
+        final RecordedCall call = RecordedCall.succeeded(0, Duration.ofMillis(200).toNanos(),
+            ListWorkspacesRequest.builder().build(), null);
+        final ReplayEmrwalClient replay = new ReplayEmrwalClient(Collections.singletonList(call), 10);
+
+        final long start = System.nanoTime();
+        replay.listWorkspaces(ListWorkspacesRequest.builder().build());
+
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(Duration.ofMillis(20).toNanos());
+    }
+
+    private void lifecycle(final ProxyClient<EmrwalClient> proxyClient) {
+        final Map<String, String> initialTags = new HashMap<>();
+        initialTags.put("team", "storage");
+        initialTags.put("stage", "beta");
+        final ResourceModel created = ResourceModel.builder()
+            .wALWorkspaceName("workspace")
+            .tags(Translator.convertResourceTagsToSet(initialTags))
+            .build();
+        final Map<String, String> updatedTags = new HashMap<>();
+        updatedTags.put("team", "storage");
+        updatedTags.put("owner", "wal");
+        final ResourceModel identifier = ResourceModel.builder().wALWorkspaceName("workspace").build();
+
+        assertSucceeded(new CreateHandler(SETTINGS)
+            .handleRequest(proxy, request(created), new CallbackContext(), proxyClient, logger));
+        assertSucceeded(new UpdateHandler(SETTINGS).handleRequest(proxy,
+            requestBuilder(ResourceModel.builder()
+                .wALWorkspaceName("workspace")
+                .tags(Translator.convertResourceTagsToSet(updatedTags))
+                .build())
+                .previousResourceState(created)
+                .build(),
+            new CallbackContext(), proxyClient, logger));
+        assertSucceeded(new ReadHandler(SETTINGS)
+            .handleRequest(proxy, request(identifier), new CallbackContext(), proxyClient, logger));
+        assertSucceeded(new DeleteHandler(SETTINGS)
+            .handleRequest(proxy, request(identifier), new CallbackContext(), proxyClient, logger));
+    }
+
+    private static void assertSucceeded(final ProgressEvent<ResourceModel, CallbackContext> event) {
+        assertThat(event.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> request(final ResourceModel model) {
+        return requestBuilder(model).build();
+    }
+
+    private static ResourceHandlerRequest.ResourceHandlerRequestBuilder<ResourceModel> requestBuilder(
+        final ResourceModel model) {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(model)
+            .awsPartition("aws")
+            .region("us-east-1")
+            .awsAccountId("123456789012");
+    }
+}
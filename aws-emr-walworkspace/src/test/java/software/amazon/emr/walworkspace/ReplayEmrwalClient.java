@@ -0,0 +1,135 @@
+package software.amazon.emr.walworkspace;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.services.emrwal.EmrwalClient;
+import software.amazon.awssdk.services.emrwal.model.CreateWorkspaceRequest;
+import software.amazon.awssdk.services.emrwal.model.CreateWorkspaceResponse;
+import software.amazon.awssdk.services.emrwal.model.DeleteWorkspaceRequest;
+import software.amazon.awssdk.services.emrwal.model.DeleteWorkspaceResponse;
+import software.amazon.awssdk.services.emrwal.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.emrwal.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.emrwal.model.ListWorkspacesRequest;
+import software.amazon.awssdk.services.emrwal.model.ListWorkspacesResponse;
+import software.amazon.awssdk.services.emrwal.model.TagResourceRequest;
+import software.amazon.awssdk.services.emrwal.model.TagResourceResponse;
+import software.amazon.awssdk.services.emrwal.model.UntagResourceRequest;
+import software.amazon.awssdk.services.emrwal.model.UntagResourceResponse;
+
+/**
+ * EmrwalClient for tests and benchmarks that serves the calls of a {@link RecordingProxyClient} recording, so a
+ * handler run against production traffic can be repeated without the service.
+ *
+ * Each request is answered by the earliest call not served yet with the same API and the same encoded request,
+ * so the concurrent tagging calls of one handler may arrive in a different order than they were recorded in. A
+ * request the recording has no call for left is a divergence from the recorded run and fails with an
+ * IllegalStateException. A recorded failure is thrown again.
+ *
+ * Every call takes its recorded latency divided by the speed: 1 replays the original timing, 10 ten times faster
+ * and 0 answers at once.
+ */
+public class ReplayEmrwalClient implements EmrwalClient {
+    private final List<RecordedCall> pending;
+    private final double speed;
+
+    public ReplayEmrwalClient(final List<RecordedCall> calls, final double speed) {
+        if (speed < 0) {
+            throw new IllegalArgumentException("Speed must not be negative");
+        }
+        this.pending = new ArrayList<>(calls);
+        this.speed = speed;
+    }
+
+    public static ReplayEmrwalClient of(final Path recording, final double speed) {
+        return new ReplayEmrwalClient(TrafficCodec.read(recording), speed);
+    }
+
+    /**
+     * Recorded calls no request has been answered with yet.
+     */
+    public synchronized int remainingCalls() {
+        return pending.size();
+    }
+
+    @Override
+    public CreateWorkspaceResponse createWorkspace(final CreateWorkspaceRequest request) {
+        return (CreateWorkspaceResponse) serve(request);
+    }
+
+    @Override
+    public DeleteWorkspaceResponse deleteWorkspace(final DeleteWorkspaceRequest request) {
+        return (DeleteWorkspaceResponse) serve(request);
+    }
+
+    @Override
+    public ListWorkspacesResponse listWorkspaces(final ListWorkspacesRequest request) {
+        return (ListWorkspacesResponse) serve(request);
+    }
+
+    @Override
+    public ListTagsForResourceResponse listTagsForResource(final ListTagsForResourceRequest request) {
+        return (ListTagsForResourceResponse) serve(request);
+    }
+
+    @Override
+    public TagResourceResponse tagResource(final TagResourceRequest request) {
+        return (TagResourceResponse) serve(request);
+    }
+
+    @Override
+    public UntagResourceResponse untagResource(final UntagResourceRequest request) {
+        return (UntagResourceResponse) serve(request);
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private AwsResponse serve(final AwsRequest request) {
+        final RecordedCall call = take(request);
+        if (speed > 0) {
+            sleep((long) (call.getLatencyNanos() / speed));
+        }
+        if (call.getError() != null) {
+            throw call.getError();
+        }
+        return call.getResponse();
+    }
+
+    private synchronized RecordedCall take(final AwsRequest request) {
+        final String api = ApiNames.of(request);
+        final JsonNode encoded = TrafficCodec.encodeRequest(request);
+        final Iterator<RecordedCall> calls = pending.iterator();
+        while (calls.hasNext()) {
+            final RecordedCall call = calls.next();
+            if (call.getApi().equals(api) && TrafficCodec.encodeRequest(call.getRequest()).equals(encoded)) {
+                calls.remove();
+                return call;
+            }
+        }
+        throw new IllegalStateException("No recorded " + api + " call left for " + encoded);
+    }
+
+    private static void sleep(final long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
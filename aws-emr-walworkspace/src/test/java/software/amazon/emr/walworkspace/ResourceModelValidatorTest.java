@@ -0,0 +1,122 @@
+package software.amazon.emr.walworkspace;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ResourceModelValidatorTest extends AbstractTestBase {
+    private final ResourceModelValidator validator = ResourceModelValidator.shared();
+
+    @Test
+    public void validate_ValidModel() {
+        final ResourceModel model = ResourceModel.builder()
+            .wALWorkspaceName("workspace1")
+            .tags(new HashSet<>(Arrays.asList(new Tag("key", "value"), new Tag("empty", ""))))
+            .build();
+
+        assertThat(validator.validate(model)).isEmpty();
+        assertThat(validator.validate(ResourceModel.builder().wALWorkspaceName("w").build())).isEmpty();
+    }
+
+    @Test
+    public void validate_Name() {
+        assertThat(validator.validate(ResourceModel.builder().build())).containsExactly("WALWorkspaceName is required");
+        assertThat(validator.validate(ResourceModel.builder().wALWorkspaceName("").build())).hasSize(1);
+        assertThat(validator.validate(ResourceModel.builder().wALWorkspaceName("has-dash").build()))
+            .containsExactly("WALWorkspaceName has-dash must match ^[a-zA-Z0-9]+$");
+        assertThat(validator.validate(ResourceModel.builder().wALWorkspaceName(repeat('a', 33)).build()))
+            .containsExactly("WALWorkspaceName must be at most 32 characters, got 33");
+    }
+
+    @Test
+    public void validate_Tags() {
+        final ResourceModel model = ResourceModel.builder()
+            .wALWorkspaceName("workspace1")
+            .tags(new HashSet<>(Arrays.asList(
+                new Tag(repeat('k', 129), "value"),
+                new Tag("long", repeat('v', 257)),
+                new Tag("AWS:reserved", "value"),
+                new Tag("noValue", null),
+                new Tag("duplicate", "first"),
+                new Tag("duplicate", "second"))))
+            .build();
+
+        final List<String> violations = validator.validate(model);
+
+        assertThat(violations).containsExactlyInAnyOrder(
+            "Key must be at most 128 characters, got 129",
+            "Value must be at most 256 characters, got 257",
+            "Key AWS:reserved must not start with aws:",
+            "Value is required",
+            "Tags contain the key duplicate more than once");
+    }
+
+    @Test
+    public void validate_CountsUnicodeCharacters() {
+        // 128 characters outside the BMP are 256 chars in Java
+        final StringBuilder key = new StringBuilder();
+        for (int i = 0; i < 128; i++) {
+            key.appendCodePoint(0x1F600);
+        }
+        final ResourceModel model = ResourceModel.builder()
+            .wALWorkspaceName("workspace1")
+            .tags(Collections.singleton(new Tag(key.toString(), "value")))
+            .build();
+
+        assertThat(validator.validate(model)).isEmpty();
+    }
+
+    @Test
+    public void fromSchema_ConstraintsComeFromSchema() throws Exception {
+        final ResourceModelValidator strict = ResourceModelValidator.fromSchema(new ObjectMapper().readTree(
+            "{\"properties\": {\"WALWorkspaceName\": {\"maxLength\": 3, \"pattern\": \"^[a-z]+$\"}}}"));
+
+        assertThat(strict.validate(ResourceModel.builder().wALWorkspaceName("abc").build())).isEmpty();
+        assertThat(strict.validate(ResourceModel.builder().wALWorkspaceName("abcd").build())).hasSize(1);
+        assertThat(strict.validate(ResourceModel.builder().wALWorkspaceName("ABC").build())).hasSize(1);
+    }
+
+    @Test
+    public void load_MissingSchema() {
+        assertThatThrownBy(() -> ResourceModelValidator.load("missing.json"))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void handleRequest_InvalidModelFailsBeforeAnyCall() {
+        final AmazonWebServicesClientProxy proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS,
+            () -> Duration.ofSeconds(600).toMillis());
+        final ResourceModel model = ResourceModel.builder()
+            .wALWorkspaceName("workspace1")
+            .tags(Collections.singleton(new Tag("aws:key", "value")))
+            .build();
+        final ResourceHandlerRequest<ResourceModel> request =
+            ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(model).build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            new CreateHandler().handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
+        assertThat(response.getMessage()).isEqualTo("Key aws:key must not start with aws:");
+    }
+
+    private static String repeat(final char c, final int count) {
+        final char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+}
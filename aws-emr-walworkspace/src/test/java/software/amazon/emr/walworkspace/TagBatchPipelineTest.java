@@ -0,0 +1,127 @@
+package software.amazon.emr.walworkspace;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.emrwal.model.WalThrottlingException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TagBatchPipelineTest {
+    private static final String ARN = "arn:aws:emrwal:us-east-1:123456789012:workspace/batched";
+
+    @Test
+    public void partition_SortedAndDeterministic() {
+        final TagSet tags = tags(120);
+
+        final List<TagSet> batches = tags.partition(TagBatchPipeline.MAX_TAGS_PER_CALL);
+
+        assertThat(batches).extracting(TagSet::size).containsExactly(50, 50, 20);
+        assertThat(batches.get(0).keys()).startsWith("key000", "key001").doesNotContain("key050");
+        assertThat(new ArrayList<>(batches.get(2).keys())).isSorted();
+        assertThat(tags(120).partition(TagBatchPipeline.MAX_TAGS_PER_CALL)).isEqualTo(batches);
+        assertThat(tags(3).partition(TagBatchPipeline.MAX_TAGS_PER_CALL)).hasSize(1);
+        assertThat(TagSet.empty().partition(TagBatchPipeline.MAX_TAGS_PER_CALL)).isEmpty();
+    }
+
+    @Test
+    public void apply_StaysWithinTagLimit() {
+        final InMemoryEmrwalClient client = new InMemoryEmrwalClient()
+            .withWorkspace("batched", Collections.emptyMap())
+            .withMaxTagsPerCall(TagBatchPipeline.MAX_TAGS_PER_CALL);
+        final List<TagSet> completed = new ArrayList<>();
+
+        new TagBatchPipeline(TagBatchPipeline.MAX_TAGS_PER_CALL, 1, null).apply(tags(120),
+            batch -> client.tagResource(Translator.tagResourceRequest(ARN, batch)), completed::add);
+
+        assertThat(client.callCount(ApiNames.TAG_RESOURCE)).isEqualTo(3);
+        assertThat(client.largestTagCall(ApiNames.TAG_RESOURCE)).isEqualTo(TagBatchPipeline.MAX_TAGS_PER_CALL);
+        assertThat(client.tagsOf("batched")).hasSize(120);
+        assertThat(completed).hasSize(3);
+    }
+
+    @Test
+    public void apply_BoundsConcurrency() {
+        final InMemoryEmrwalClient client = new InMemoryEmrwalClient()
+            .withWorkspace("batched", Collections.emptyMap())
+            .withLatency(InMemoryEmrwalClient.LatencyDistribution.fixed(Duration.ofMillis(20)));
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            new TagBatchPipeline(10, 3, executor).apply(tags(100),
+                batch -> client.tagResource(Translator.tagResourceRequest(ARN, batch)), batch -> { });
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(client.callCount(ApiNames.TAG_RESOURCE)).isEqualTo(10);
+        assertThat(client.maxConcurrentCalls()).isBetween(1L, 3L);
+        assertThat(client.tagsOf("batched")).hasSize(100);
+    }
+
+    @Test
+    public void apply_ReportsCompletedBatchesBeforeFailure() {
+        final List<TagSet> sent = new ArrayList<>();
+        final List<TagSet> completed = new ArrayList<>();
+
+        assertThatThrownBy(() -> new TagBatchPipeline(50, 1, null).apply(tags(120),
+            batch -> {
+                sent.add(batch);
+                if (sent.size() == 2) {
+                    throw WalThrottlingException.builder().message("Rate exceeded").build();
+                }
+            },
+            completed::add))
+            .isInstanceOf(WalThrottlingException.class);
+
+        // The third batch is never started once the second failed
+        assertThat(sent).hasSize(2);
+        assertThat(completed).containsExactly(sent.get(0));
+    }
+
+    @Test
+    public void apply_ProgressesWhenExecutorIsBusy() throws InterruptedException {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        final List<TagSet> completed = new ArrayList<>();
+        try {
+            new TagBatchPipeline(10, 4, executor).apply(tags(35), batch -> { }, completed::add);
+        } finally {
+            release.countDown();
+            executor.shutdown();
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        }
+
+        assertThat(completed).hasSize(4);
+    }
+
+    @Test
+    public void forSettings_SequentialWithoutAsyncTagging() {
+        final TagBatchPipeline pipeline = TagBatchPipeline.forSettings(ProviderSettings.builder().build());
+
+        assertThat(pipeline.getBatchSize()).isEqualTo(TagBatchPipeline.MAX_TAGS_PER_CALL);
+        assertThat(pipeline.getConcurrency()).isEqualTo(1);
+    }
+
+    private static TagSet tags(final int count) {
+        final TagSet.Builder builder = TagSet.builder();
+        for (int i = 0; i < count; i++) {
+            builder.put(String.format("key%03d", i), "value" + i);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,46 @@
+package software.amazon.emr.walworkspace;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TagReconciliationPlanTest {
+
+    @Test
+    public void of_addAndRemove() {
+        final Map<String, String> previous = new HashMap<>();
+        previous.put("kept", "value");
+        previous.put("removed", "value");
+        previous.put("changed", "old");
+        final Map<String, String> desired = new HashMap<>();
+        desired.put("kept", "value");
+        desired.put("changed", "new");
+        desired.put("added", "value");
+
+        final TagReconciliationPlan plan = TagReconciliationPlan.of(previous, desired);
+
+        assertThat(plan.getAction()).isEqualTo(TagReconciliationPlan.Action.ADD_AND_REMOVE);
+        assertThat(plan.getTagsToAdd().toModelTags()).containsExactlyInAnyOrder(new Tag("changed", "new"), new Tag("added", "value"));
+        assertThat(plan.getTagsToRemove().toModelTags()).containsExactly(new Tag("removed", "value"));
+        assertThat(plan.getCallCount(TagBatchPipeline.MAX_TAGS_PER_CALL)).isEqualTo(2);
+        assertThat(plan.getCallCount(1)).isEqualTo(3);
+    }
+
+    @Test
+    public void of_nullAndEmptyValuesAreEqual() {
+        final Map<String, String> previous = new HashMap<>();
+        previous.put("key", null);
+        final Map<String, String> desired = new HashMap<>();
+        desired.put("key", "");
+
+        final TagReconciliationPlan plan = TagReconciliationPlan.of(previous, desired);
+
+        assertThat(plan.getAction()).isEqualTo(TagReconciliationPlan.Action.NONE);
+        assertThat(plan.requiresTag()).isFalse();
+        assertThat(plan.requiresUntag()).isFalse();
+        assertThat(plan.getCallCount(TagBatchPipeline.MAX_TAGS_PER_CALL)).isZero();
+    }
+}
@@ -0,0 +1,94 @@
+package software.amazon.emr.walworkspace;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+public class TagSetTest {
+
+    @Test
+    public void fromSdk_KeepsServiceListAndReadsNullAsEmpty() {
+        final List<software.amazon.awssdk.services.emrwal.model.Tag> sdkTags = Arrays.asList(sdkTag("a", "1"),
+            sdkTag("b", "2"));
+        final TagSet tags = TagSet.fromSdk(sdkTags);
+
+        assertThat(tags.toSdkTags()).isEqualTo(sdkTags);
+        assertThat(tags.toSdkTags()).isSameAs(tags.toSdkTags());
+        assertThat(tags.toModelTags()).containsExactlyInAnyOrder(new Tag("a", "1"), new Tag("b", "2"));
+        assertThat(tags.toModelTags()).isSameAs(tags.toModelTags());
+
+        final TagSet withNull = TagSet.fromSdk(Collections.singletonList(sdkTag("a", null)));
+        assertThat(withNull.asMap()).containsEntry("a", "");
+        assertThat(withNull.toSdkTags()).containsExactly(sdkTag("a", ""));
+    }
+
+    @Test
+    public void builder_LaterSourceWins() {
+        final Map<String, String> stackTags = new HashMap<>();
+        stackTags.put("key", "stack");
+        stackTags.put("other", "value");
+
+        final TagSet tags = TagSet.builder()
+            .putAll(stackTags)
+            .putAll(Collections.singleton(new Tag("key", "model")))
+            .build();
+
+        assertThat(tags.asMap()).containsOnly(entry("key", "model"), entry("other", "value"));
+        assertThat(TagSet.builder().build()).isSameAs(TagSet.empty());
+        assertThat(TagSet.fromMap(null)).isSameAs(TagSet.empty());
+    }
+
+    @Test
+    public void diff_AddedChangedAndRemoved() {
+        final Map<String, String> previous = new HashMap<>();
+        previous.put("kept", "value");
+        previous.put("removed", "value");
+        previous.put("changed", "old");
+        previous.put("empty", null);
+        final Map<String, String> desired = new HashMap<>();
+        desired.put("kept", "value");
+        desired.put("changed", "new");
+        desired.put("added", "value");
+        desired.put("empty", "");
+
+        final TagSet previousTags = TagSet.fromMap(previous);
+        final TagSet desiredTags = TagSet.fromMap(desired);
+
+        assertThat(desiredTags.addedOrChangedSince(previousTags).asMap())
+            .containsOnly(entry("changed", "new"), entry("added", "value"));
+        assertThat(desiredTags.removedSince(previousTags).keys()).containsExactly("removed");
+        assertThat(desiredTags.addedOrChangedSince(desiredTags)).isSameAs(TagSet.empty());
+        assertThat(desiredTags.removedSince(TagSet.fromMap(desired))).isSameAs(TagSet.empty());
+    }
+
+    @Test
+    public void intern_CloudFormationKeys() {
+        final String key = new String("aws:cloudformation:stack-name".toCharArray());
+
+        assertThat(TagSet.intern(key)).isSameAs(TagSet.CLOUDFORMATION_KEYS.get(0));
+        assertThat(TagSet.fromMap(Collections.singletonMap(key, "stack")).keys().iterator().next())
+            .isSameAs(TagSet.CLOUDFORMATION_KEYS.get(0));
+        final String other = new String("aws:cloudformation:other".toCharArray());
+        assertThat(TagSet.intern(other)).isSameAs(other);
+    }
+
+    @Test
+    public void ofKeys_UntagRequestCarriesKeys() {
+        final TagSet keys = TagSet.ofKeys(Arrays.asList("a", "b"));
+
+        assertThat(Translator.untagResourceRequest("arn", keys).tagKeys()).containsExactlyInAnyOrder("a", "b");
+        assertThat(Translator.tagResourceRequest("arn", TagSet.fromMap(Collections.singletonMap("a", "1"))).tags())
+            .containsExactly(sdkTag("a", "1"));
+    }
+
+    private static software.amazon.awssdk.services.emrwal.model.Tag sdkTag(final String key, final String value) {
+        return software.amazon.awssdk.services.emrwal.model.Tag.builder().key(key).value(value).build();
+    }
+}
@@ -0,0 +1,295 @@
+package software.amazon.emr.walworkspace;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.emrwal.model.CreateWorkspaceRequest;
+import software.amazon.awssdk.services.emrwal.model.CreateWorkspaceResponse;
+import software.amazon.awssdk.services.emrwal.model.DeleteWorkspaceRequest;
+import software.amazon.awssdk.services.emrwal.model.DeleteWorkspaceResponse;
+import software.amazon.awssdk.services.emrwal.model.EmrwalException;
+import software.amazon.awssdk.services.emrwal.model.InvalidResourceException;
+import software.amazon.awssdk.services.emrwal.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.emrwal.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.emrwal.model.ListWorkspacesRequest;
+import software.amazon.awssdk.services.emrwal.model.ListWorkspacesResponse;
+import software.amazon.awssdk.services.emrwal.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.emrwal.model.Tag;
+import software.amazon.awssdk.services.emrwal.model.TagResourceRequest;
+import software.amazon.awssdk.services.emrwal.model.TagResourceResponse;
+import software.amazon.awssdk.services.emrwal.model.TaggingFailedException;
+import software.amazon.awssdk.services.emrwal.model.TooManyTagsException;
+import software.amazon.awssdk.services.emrwal.model.UntagResourceRequest;
+import software.amazon.awssdk.services.emrwal.model.UntagResourceResponse;
+import software.amazon.awssdk.services.emrwal.model.WalThrottlingException;
+
+/**
+ * Line-delimited JSON form of a {@link RecordedCall}, one call per line:
+ *
+ * {"api":"TagResource","at":1250,"us":48211,"req":{"arn":"...","tags":{"k":"v"}},"res":{}}
+ *
+ * at and us are the start offset and the latency in microseconds. A failed call has "err" instead of "res", with
+ * the exception's simple class name, the status code and AWS error code of a service exception and its message.
+ * Only the fields the handlers set or read are kept. Tags are written as an object in key order and tag keys in
+ * sorted order, so two requests for the same tags encode alike whatever order they were built in.
+ */
+final class TrafficCodec {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private TrafficCodec() {
+    }
+
+    static String encode(final RecordedCall call) {
+        final ObjectNode line = MAPPER.createObjectNode();
+        line.put("api", call.getApi());
+        line.put("at", call.getStartNanos() / 1000);
+        line.put("us", call.getLatencyNanos() / 1000);
+        line.set("req", encodeRequest(call.getRequest()));
+        if (call.getError() != null) {
+            line.set("err", encodeError(call.getError()));
+        } else {
+            line.set("res", encodeResponse(call.getResponse()));
+        }
+        return line.toString();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the line is not a call this codec wrote
+     */
+    static RecordedCall decode(final String line) {
+        final JsonNode node;
+        try {
+            node = MAPPER.readTree(line);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Not a recorded call: " + line, e);
+        }
+        final String api = node.path("api").asText();
+        final AwsRequest request = decodeRequest(api, node.path("req"));
+        final long startNanos = node.path("at").asLong() * 1000;
+        final long latencyNanos = node.path("us").asLong() * 1000;
+        if (node.has("err")) {
+            return RecordedCall.failed(startNanos, latencyNanos, request, decodeError(node.get("err")));
+        }
+        return RecordedCall.succeeded(startNanos, latencyNanos, request, decodeResponse(api, node.path("res")));
+    }
+
+    /**
+     * Every call of a recording, in the order they were recorded. Blank lines are skipped.
+     */
+    static List<RecordedCall> read(final Path recording) {
+        final List<RecordedCall> calls = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(recording, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.trim().isEmpty()) {
+                    calls.add(decode(line));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read recording " + recording, e);
+        }
+        return calls;
+    }
+
+    /**
+     * The canonical encoding of a request, equal for two requests that make the same call.
+     */
+    static JsonNode encodeRequest(final AwsRequest request) {
+        final ObjectNode node = MAPPER.createObjectNode();
+        if (request instanceof CreateWorkspaceRequest) {
+            final CreateWorkspaceRequest create = (CreateWorkspaceRequest) request;
+            node.put("name", create.walWorkspace());
+            if (create.hasTags()) {
+                node.set("tags", encodeTags(create.tags()));
+            }
+        } else if (request instanceof DeleteWorkspaceRequest) {
+            node.put("name", ((DeleteWorkspaceRequest) request).walWorkspace());
+        } else if (request instanceof ListWorkspacesRequest) {
+            final ListWorkspacesRequest list = (ListWorkspacesRequest) request;
+            if (list.maxResults() != null) {
+                node.put("max", list.maxResults());
+            }
+            if (list.nextToken() != null) {
+                node.put("next", list.nextToken());
+            }
+        } else if (request instanceof ListTagsForResourceRequest) {
+            node.put("arn", ((ListTagsForResourceRequest) request).resourceARN());
+        } else if (request instanceof TagResourceRequest) {
+            final TagResourceRequest tag = (TagResourceRequest) request;
+            node.put("arn", tag.resourceARN());
+            node.set("tags", encodeTags(tag.tags()));
+        } else if (request instanceof UntagResourceRequest) {
+            final UntagResourceRequest untag = (UntagResourceRequest) request;
+            node.put("arn", untag.resourceARN());
+            final ArrayNode keys = node.putArray("keys");
+            new TreeSet<>(untag.tagKeys()).forEach(keys::add);
+        } else {
+            throw new IllegalArgumentException("Cannot record " + ApiNames.of(request));
+        }
+        return node;
+    }
+
+    private static JsonNode encodeResponse(final AwsResponse response) {
+        final ObjectNode node = MAPPER.createObjectNode();
+        if (response instanceof ListWorkspacesResponse) {
+            final ListWorkspacesResponse list = (ListWorkspacesResponse) response;
+            final ArrayNode names = node.putArray("names");
+            list.walWorkspaceList().forEach(names::add);
+            if (list.nextToken() != null) {
+                node.put("next", list.nextToken());
+            }
+        } else if (response instanceof ListTagsForResourceResponse) {
+            node.set("tags", encodeTags(((ListTagsForResourceResponse) response).tags()));
+        }
+        return node;
+    }
+
+    private static JsonNode encodeError(final RuntimeException error) {
+        final ObjectNode node = MAPPER.createObjectNode();
+        node.put("type", error.getClass().getSimpleName());
+        if (error instanceof EmrwalException) {
+            final EmrwalException serviceError = (EmrwalException) error;
+            node.put("status", serviceError.statusCode());
+            final AwsErrorDetails details = serviceError.awsErrorDetails();
+            if (details != null && details.errorCode() != null) {
+                node.put("code", details.errorCode());
+            }
+            node.put("message", details != null && details.errorMessage() != null
+                ? details.errorMessage()
+                : serviceError.getMessage());
+        } else {
+            node.put("message", error.getMessage());
+        }
+        return node;
+    }
+
+    private static ObjectNode encodeTags(final List<Tag> tags) {
+        final Map<String, String> sorted = new TreeMap<>();
+        tags.forEach(tag -> sorted.put(tag.key(), tag.value()));
+        final ObjectNode node = MAPPER.createObjectNode();
+        sorted.forEach(node::put);
+        return node;
+    }
+
+    private static AwsRequest decodeRequest(final String api, final JsonNode node) {
+        switch (api) {
+            case ApiNames.CREATE_WORKSPACE:
+                final CreateWorkspaceRequest.Builder create = CreateWorkspaceRequest.builder()
+                    .walWorkspace(text(node, "name"));
+                if (node.has("tags")) {
+                    create.tags(decodeTags(node.get("tags")));
+                }
+                return create.build();
+            case ApiNames.DELETE_WORKSPACE:
+                return DeleteWorkspaceRequest.builder().walWorkspace(text(node, "name")).build();
+            case ApiNames.LIST_WORKSPACES:
+                return ListWorkspacesRequest.builder()
+                    .maxResults(node.has("max") ? node.get("max").asInt() : null)
+                    .nextToken(text(node, "next"))
+                    .build();
+            case ApiNames.LIST_TAGS_FOR_RESOURCE:
+                return ListTagsForResourceRequest.builder().resourceARN(text(node, "arn")).build();
+            case ApiNames.TAG_RESOURCE:
+                return TagResourceRequest.builder()
+                    .resourceARN(text(node, "arn"))
+                    .tags(decodeTags(node.path("tags")))
+                    .build();
+            case ApiNames.UNTAG_RESOURCE:
+                final List<String> keys = new ArrayList<>();
+                node.path("keys").forEach(key -> keys.add(key.asText()));
+                return UntagResourceRequest.builder().resourceARN(text(node, "arn")).tagKeys(keys).build();
+            default:
+                throw new IllegalArgumentException("Unknown API " + api);
+        }
+    }
+
+    private static AwsResponse decodeResponse(final String api, final JsonNode node) {
+        switch (api) {
+            case ApiNames.CREATE_WORKSPACE:
+                return CreateWorkspaceResponse.builder().build();
+            case ApiNames.DELETE_WORKSPACE:
+                return DeleteWorkspaceResponse.builder().build();
+            case ApiNames.LIST_WORKSPACES:
+                final List<String> names = new ArrayList<>();
+                node.path("names").forEach(name -> names.add(name.asText()));
+                return ListWorkspacesResponse.builder().walWorkspaceList(names).nextToken(text(node, "next")).build();
+            case ApiNames.LIST_TAGS_FOR_RESOURCE:
+                return ListTagsForResourceResponse.builder().tags(decodeTags(node.path("tags"))).build();
+            case ApiNames.TAG_RESOURCE:
+                return TagResourceResponse.builder().build();
+            case ApiNames.UNTAG_RESOURCE:
+                return UntagResourceResponse.builder().build();
+            default:
+                throw new IllegalArgumentException("Unknown API " + api);
+        }
+    }
+
+    private static RuntimeException decodeError(final JsonNode node) {
+        final String message = text(node, "message");
+        if (!node.has("status")) {
+            return SdkClientException.builder().message(node.path("type").asText() + ": " + message).build();
+        }
+        final EmrwalException.Builder builder;
+        switch (node.path("type").asText()) {
+            case "WalThrottlingException":
+                builder = WalThrottlingException.builder();
+                break;
+            case "TaggingFailedException":
+                builder = TaggingFailedException.builder();
+                break;
+            case "InvalidResourceException":
+                builder = InvalidResourceException.builder();
+                break;
+            case "ResourceNotFoundException":
+                builder = ResourceNotFoundException.builder();
+                break;
+            case "TooManyTagsException":
+                builder = TooManyTagsException.builder();
+                break;
+            default:
+                builder = EmrwalException.builder();
+        }
+        builder.message(message).statusCode(node.get("status").asInt());
+        if (node.has("code")) {
+            builder.awsErrorDetails(AwsErrorDetails.builder()
+                .errorCode(node.get("code").asText())
+                .errorMessage(message)
+                .build());
+        }
+        return builder.build();
+    }
+
+    private static List<Tag> decodeTags(final JsonNode node) {
+        final List<Tag> tags = new ArrayList<>(node.size());
+        final Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            final JsonNode value = field.getValue();
+            tags.add(Tag.builder().key(field.getKey()).value(value.isNull() ? null : value.asText()).build());
+        }
+        return tags;
+    }
+
+    private static String text(final JsonNode node, final String field) {
+        final JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+}
@@ -0,0 +1,109 @@
+package software.amazon.emr.walworkspace;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.emrwal.model.EmrwalException;
+import software.amazon.awssdk.services.emrwal.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.emrwal.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.emrwal.model.ListWorkspacesRequest;
+import software.amazon.awssdk.services.emrwal.model.ListWorkspacesResponse;
+import software.amazon.awssdk.services.emrwal.model.Tag;
+import software.amazon.awssdk.services.emrwal.model.TagResourceRequest;
+import software.amazon.awssdk.services.emrwal.model.UntagResourceRequest;
+import software.amazon.awssdk.services.emrwal.model.WalThrottlingException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TrafficCodecTest {
+
+    @Test
+    public void encode_OneCompactLineWithSortedTags() {
+        final TagResourceRequest request = TagResourceRequest.builder()
+            .resourceARN("arn")
+            .tags(Tag.builder().key("b").value("2").build(), Tag.builder().key("a").value("1").build())
+            .build();
+
+        final String line = TrafficCodec.encode(RecordedCall.succeeded(2_000, 48_000, request, null));
+
+        assertThat(line).isEqualTo(
+            "{\"api\":\"TagResource\",\"at\":2,\"us\":48,\"req\":{\"arn\":\"arn\",\"tags\":{\"a\":\"1\",\"b\":\"2\"}},"
+                + "\"res\":{}}");
+    }
+
+    @Test
+    public void decode_RoundTripsRequestAndResponse() {
+        final ListWorkspacesRequest request = ListWorkspacesRequest.builder().maxResults(10).nextToken("w1").build();
+        final ListWorkspacesResponse response = ListWorkspacesResponse.builder()
+            .walWorkspaceList("w2", "w3")
+            .nextToken("w3")
+            .build();
+
+        final RecordedCall call = TrafficCodec.decode(
+            TrafficCodec.encode(RecordedCall.succeeded(5_000, 1_000_000, request, response)));
+
+        assertThat(call.getApi()).isEqualTo(ApiNames.LIST_WORKSPACES);
+        assertThat(call.getStartNanos()).isEqualTo(5_000);
+        assertThat(call.getLatencyNanos()).isEqualTo(1_000_000);
+        assertThat(call.getRequest()).isEqualTo(request);
+        assertThat(call.getResponse()).isEqualTo(response);
+        assertThat(call.getError()).isNull();
+    }
+
+    @Test
+    public void decode_RoundTripsTagsAndTagKeys() {
+        final ListTagsForResourceResponse tags = ListTagsForResourceResponse.builder()
+            .tags(Tag.builder().key("k1").value("v1").build(), Tag.builder().key("k2").value("v2").build())
+            .build();
+        final RecordedCall listed = TrafficCodec.decode(TrafficCodec.encode(RecordedCall.succeeded(0, 0,
+            ListTagsForResourceRequest.builder().resourceARN("arn").build(), tags)));
+        final UntagResourceRequest untag = UntagResourceRequest.builder()
+            .resourceARN("arn")
+            .tagKeys("k1", "k2")
+            .build();
+        final RecordedCall untagged = TrafficCodec.decode(TrafficCodec.encode(RecordedCall.succeeded(0, 0, untag,
+            null)));
+
+        assertThat(listed.getResponse()).isEqualTo(tags);
+        assertThat(untagged.getRequest()).isEqualTo(untag);
+    }
+
+    @Test
+    public void decode_RebuildsServiceError() {
+        final WalThrottlingException throttled = WalThrottlingException.builder()
+            .message("Rate exceeded")
+            .statusCode(400)
+            .build();
+
+        final RecordedCall call = TrafficCodec.decode(TrafficCodec.encode(RecordedCall.failed(0, 0,
+            ListWorkspacesRequest.builder().build(), throttled)));
+
+        assertThat(call.getResponse()).isNull();
+        assertThat(call.getError()).isInstanceOf(WalThrottlingException.class)
+            .hasMessageContaining("Rate exceeded");
+        assertThat(((EmrwalException) call.getError()).statusCode()).isEqualTo(400);
+        assertThat(ErrorClassifier.DEFAULT.classify(ErrorClassifier.ANY_OPERATION, call.getError()).isRetryable())
+            .isTrue();
+    }
+
+    @Test
+    public void encodeRequest_IgnoresTagOrder() {
+        final TagResourceRequest ab = TagResourceRequest.builder()
+            .resourceARN("arn")
+            .tags(Tag.builder().key("a").value("1").build(), Tag.builder().key("b").value("2").build())
+            .build();
+        final TagResourceRequest ba = TagResourceRequest.builder()
+            .resourceARN("arn")
+            .tags(Tag.builder().key("b").value("2").build(), Tag.builder().key("a").value("1").build())
+            .build();
+
+        assertThat(TrafficCodec.encodeRequest(ab)).isEqualTo(TrafficCodec.encodeRequest(ba));
+    }
+
+    @Test
+    public void decode_RejectsMalformedLine() {
+        assertThatThrownBy(() -> TrafficCodec.decode("not json"))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TrafficCodec.decode("{\"api\":\"DescribeWorkspace\",\"req\":{}}"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,63 @@
+package software.amazon.emr.walworkspace;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Appends recorded calls to a file in the {@link TrafficCodec} format. Start times are measured from the moment the
+ * recorder was opened, so one recorder per file is shared by every handler invocation of the JVM and the calls of a
+ * whole lifecycle line up on one timeline.
+ *
+ * Every call is flushed as it is written.
+ */
+final class TrafficRecorder {
+    private static final ConcurrentMap<Path, TrafficRecorder> RECORDERS = new ConcurrentHashMap<>();
+
+    private final Path file;
+    private final long originNanos = System.nanoTime();
+    private BufferedWriter writer;
+
+    private TrafficRecorder(final Path file) {
+        this.file = file;
+    }
+
+    /**
+     * The recorder of a file, opened on first use. Calls are appended to what the file already holds.
+     */
+    static TrafficRecorder forFile(final String file) {
+        return RECORDERS.computeIfAbsent(Paths.get(file).toAbsolutePath(), TrafficRecorder::new);
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    /**
+     * Nanoseconds since the recorder was opened.
+     */
+    long elapsedNanos(final long nanoTime) {
+        return nanoTime - originNanos;
+    }
+
+    synchronized void record(final RecordedCall call) {
+        try {
+            if (writer == null) {
+                writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+            }
+            writer.write(TrafficCodec.encode(call));
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to record to " + file, e);
+        }
+    }
+}
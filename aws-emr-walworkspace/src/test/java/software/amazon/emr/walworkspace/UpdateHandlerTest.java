@@ -1,8 +1,12 @@
 package software.amazon.emr.walworkspace;
 
 import java.time.Duration;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.TestInstance;
 import software.amazon.awssdk.services.emrwal.EmrwalClient;
@@ -12,6 +16,7 @@ import software.amazon.awssdk.services.emrwal.model.TagResourceRequest;
 import software.amazon.awssdk.services.emrwal.model.TagResourceResponse;
 import software.amazon.awssdk.services.emrwal.model.UntagResourceRequest;
 import software.amazon.awssdk.services.emrwal.model.UntagResourceResponse;
+import software.amazon.awssdk.services.emrwal.model.WalThrottlingException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
@@ -20,6 +25,7 @@ import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -27,6 +33,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @TestInstance(PER_CLASS)
@@ -61,8 +70,6 @@ public class UpdateHandlerTest extends AbstractTestBase {
                 .build();
         final TagResourceResponse tagResourceResponse = TagResourceResponse.builder().build();
         when(sdkClient.tagResource(any(TagResourceRequest.class))).thenReturn(tagResourceResponse);
-        final UntagResourceResponse untagResourceResponse = UntagResourceResponse.builder().build();
-        when(sdkClient.untagResource(any(UntagResourceRequest.class))).thenReturn(untagResourceResponse);
         final ListTagsForResourceResponse listTagsForResourceResponse = ListTagsForResourceResponse
             .builder().tags(sdkTags).build();
         when(sdkClient.listTagsForResource(any(ListTagsForResourceRequest.class))).thenReturn(listTagsForResourceResponse);
@@ -82,6 +89,8 @@ public class UpdateHandlerTest extends AbstractTestBase {
         assertThat(response.getResourceModel().getTags()).isEqualTo(tags);
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
+        verify(sdkClient, times(1)).tagResource(any(TagResourceRequest.class));
+        verify(sdkClient, never()).untagResource(any(UntagResourceRequest.class));
     }
 
     @Test void handleRequest_WithUntagging() {
@@ -93,8 +102,6 @@ public class UpdateHandlerTest extends AbstractTestBase {
             ResourceModel.builder().wALWorkspaceName(WALWORKSPACE_NAME)
                 .tags(tags)
                 .build();
-        final TagResourceResponse tagResourceResponse = TagResourceResponse.builder().build();
-        when(sdkClient.tagResource(any(TagResourceRequest.class))).thenReturn(tagResourceResponse);
         final UntagResourceResponse untagResourceResponse = UntagResourceResponse.builder().build();
         when(sdkClient.untagResource(any(UntagResourceRequest.class))).thenReturn(untagResourceResponse);
         final ListTagsForResourceResponse listTagsForResourceResponse = ListTagsForResourceResponse
@@ -116,5 +123,289 @@ public class UpdateHandlerTest extends AbstractTestBase {
         assertThat(response.getResourceModel().getTags()).isEqualTo(tags);
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
+        verify(sdkClient, times(1)).untagResource(any(UntagResourceRequest.class));
+        verify(sdkClient, never()).tagResource(any(TagResourceRequest.class));
+    }
+
+    @Test
+    public void handleRequest_UnchangedTagsSkipTagging() {
+        Set<Tag> tags = new HashSet<>();
+        tags.add(new Tag("key", "value"));
+
+        Set<software.amazon.awssdk.services.emrwal.model.Tag> sdkTags = new HashSet<>();
+        sdkTags.add(software.amazon.awssdk.services.emrwal.model.Tag.builder().key("key").value("value").build());
+        final ResourceModel model =
+            ResourceModel.builder().wALWorkspaceName(WALWORKSPACE_NAME)
+                .tags(tags)
+                .build();
+        final ListTagsForResourceResponse listTagsForResourceResponse = ListTagsForResourceResponse
+            .builder().tags(sdkTags).build();
+        when(sdkClient.listTagsForResource(any(ListTagsForResourceRequest.class))).thenReturn(listTagsForResourceResponse);
+
+        final ResourceHandlerRequest<ResourceModel> request =
+            ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(model).build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getTags()).isEqualTo(tags);
+        verify(sdkClient, never()).tagResource(any(TagResourceRequest.class));
+        verify(sdkClient, never()).untagResource(any(UntagResourceRequest.class));
+    }
+
+    @Test
+    public void handleRequest_ValueChangeIsSingleOverwrite() {
+        Set<Tag> tags = new HashSet<>();
+        tags.add(new Tag("key", "new-value"));
+
+        Set<software.amazon.awssdk.services.emrwal.model.Tag> sdkTags = new HashSet<>();
+        sdkTags.add(software.amazon.awssdk.services.emrwal.model.Tag.builder().key("key").value("old-value").build());
+        final ResourceModel model =
+            ResourceModel.builder().wALWorkspaceName(WALWORKSPACE_NAME)
+                .tags(tags)
+                .build();
+        final TagResourceResponse tagResourceResponse = TagResourceResponse.builder().build();
+        when(sdkClient.tagResource(any(TagResourceRequest.class))).thenReturn(tagResourceResponse);
+        final ListTagsForResourceResponse listTagsForResourceResponse = ListTagsForResourceResponse
+            .builder().tags(sdkTags).build();
+        when(sdkClient.listTagsForResource(any(ListTagsForResourceRequest.class))).thenReturn(listTagsForResourceResponse);
+
+        final ResourceHandlerRequest<ResourceModel> request =
+            ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(model).build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        final ArgumentCaptor<TagResourceRequest> captor = ArgumentCaptor.forClass(TagResourceRequest.class);
+        verify(sdkClient, times(1)).tagResource(captor.capture());
+        assertThat(captor.getValue().tags()).hasSize(1);
+        assertThat(captor.getValue().tags().get(0).value()).isEqualTo("new-value");
+        verify(sdkClient, never()).untagResource(any(UntagResourceRequest.class));
+    }
+
+    @Test
+    public void handleRequest_TagAndUntagOverlap() {
+        Set<Tag> tags = new HashSet<>();
+        tags.add(new Tag("added", "value"));
+
+        Set<software.amazon.awssdk.services.emrwal.model.Tag> sdkTags = new HashSet<>();
+        sdkTags.add(software.amazon.awssdk.services.emrwal.model.Tag.builder().key("removed").value("value").build());
+        final ResourceModel model =
+            ResourceModel.builder().wALWorkspaceName(WALWORKSPACE_NAME)
+                .tags(tags)
+                .build();
+
+        // Each call injects latency by waiting for the other one to start: run one after the other, the first
+        // call would time out and fail the update
+        final CountDownLatch bothStarted = new CountDownLatch(2);
+        when(sdkClient.tagResource(any(TagResourceRequest.class))).thenAnswer(invocation -> {
+            awaitPeer(bothStarted);
+            return TagResourceResponse.builder().build();
+        });
+        when(sdkClient.untagResource(any(UntagResourceRequest.class))).thenAnswer(invocation -> {
+            awaitPeer(bothStarted);
+            return UntagResourceResponse.builder().build();
+        });
+        final ListTagsForResourceResponse listTagsForResourceResponse = ListTagsForResourceResponse
+            .builder().tags(sdkTags).build();
+        when(sdkClient.listTagsForResource(any(ListTagsForResourceRequest.class))).thenReturn(listTagsForResourceResponse);
+
+        final ResourceHandlerRequest<ResourceModel> request =
+            ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(model).build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            new UpdateHandler(ProviderSettings.builder().asyncTagging(true).build())
+                .handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(bothStarted.getCount()).isEqualTo(0);
+        verify(sdkClient, times(1)).tagResource(any(TagResourceRequest.class));
+        verify(sdkClient, times(1)).untagResource(any(UntagResourceRequest.class));
+    }
+
+    @Test
+    public void handleRequest_FailureReadingTagsRetriesFromStart() {
+        when(sdkClient.listTagsForResource(any(ListTagsForResourceRequest.class)))
+            .thenThrow(throttled())
+            .thenReturn(serviceTags("removed"));
+        when(sdkClient.tagResource(any(TagResourceRequest.class))).thenReturn(TagResourceResponse.builder().build());
+        when(sdkClient.untagResource(any(UntagResourceRequest.class))).thenReturn(UntagResourceResponse.builder().build());
+        final ResourceHandlerRequest<ResourceModel> request = requestAdding("added");
+        final UpdateHandler sequentialHandler = new UpdateHandler(ProviderSettings.builder().asyncTagging(false).build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> first =
+            sequentialHandler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+        assertThat(first.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(first.getCallbackContext().getUpdateStage()).isNull();
+
+        final ProgressEvent<ResourceModel, CallbackContext> second =
+            sequentialHandler.handleRequest(proxy, request, first.getCallbackContext(), proxyClient, logger);
+        assertThat(second.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        verify(sdkClient, times(2)).listTagsForResource(any(ListTagsForResourceRequest.class));
+        verify(sdkClient, times(1)).untagResource(any(UntagResourceRequest.class));
+        verify(sdkClient, times(1)).tagResource(any(TagResourceRequest.class));
+    }
+
+    @Test
+    public void handleRequest_FailureUntaggingResumesAtUntag() {
+        when(sdkClient.listTagsForResource(any(ListTagsForResourceRequest.class))).thenReturn(serviceTags("removed"));
+        when(sdkClient.untagResource(any(UntagResourceRequest.class)))
+            .thenThrow(throttled())
+            .thenReturn(UntagResourceResponse.builder().build());
+        when(sdkClient.tagResource(any(TagResourceRequest.class))).thenReturn(TagResourceResponse.builder().build());
+        final ResourceHandlerRequest<ResourceModel> request = requestAdding("added");
+        final UpdateHandler sequentialHandler = new UpdateHandler(ProviderSettings.builder().asyncTagging(false).build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> first =
+            sequentialHandler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+        assertThat(first.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(first.getCallbackContext().getUpdateStage()).isEqualTo(UpdateStage.UNTAG);
+        assertThat(first.getCallbackContext().getPendingTagKeysToRemove()).containsExactly("removed");
+        assertThat(first.getCallbackContext().getPendingTagsToAdd()).containsOnlyKeys("added");
+
+        final ProgressEvent<ResourceModel, CallbackContext> second =
+            sequentialHandler.handleRequest(proxy, request, first.getCallbackContext(), proxyClient, logger);
+        assertThat(second.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        verify(sdkClient, times(1)).listTagsForResource(any(ListTagsForResourceRequest.class));
+        verify(sdkClient, times(2)).untagResource(any(UntagResourceRequest.class));
+        verify(sdkClient, times(1)).tagResource(any(TagResourceRequest.class));
+    }
+
+    @Test
+    public void handleRequest_FailureTaggingResumesAtTag() {
+        when(sdkClient.listTagsForResource(any(ListTagsForResourceRequest.class))).thenReturn(serviceTags("removed"));
+        when(sdkClient.untagResource(any(UntagResourceRequest.class))).thenReturn(UntagResourceResponse.builder().build());
+        when(sdkClient.tagResource(any(TagResourceRequest.class)))
+            .thenThrow(throttled())
+            .thenReturn(TagResourceResponse.builder().build());
+        final ResourceHandlerRequest<ResourceModel> request = requestAdding("added");
+        final UpdateHandler sequentialHandler = new UpdateHandler(ProviderSettings.builder().asyncTagging(false).build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> first =
+            sequentialHandler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+        assertThat(first.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(first.getCallbackContext().getUpdateStage()).isEqualTo(UpdateStage.TAG);
+        assertThat(first.getCallbackContext().getPendingTagKeysToRemove()).isEmpty();
+
+        final ProgressEvent<ResourceModel, CallbackContext> second =
+            sequentialHandler.handleRequest(proxy, request, first.getCallbackContext(), proxyClient, logger);
+        assertThat(second.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        verify(sdkClient, times(1)).listTagsForResource(any(ListTagsForResourceRequest.class));
+        verify(sdkClient, times(1)).untagResource(any(UntagResourceRequest.class));
+        final ArgumentCaptor<TagResourceRequest> captor = ArgumentCaptor.forClass(TagResourceRequest.class);
+        verify(sdkClient, times(2)).tagResource(captor.capture());
+        assertThat(captor.getValue().tags()).hasSize(1);
+        assertThat(captor.getValue().tags().get(0).key()).isEqualTo("added");
+    }
+
+    @Test
+    public void handleRequest_ConcurrentTaggingKeepsSucceededCall() {
+        when(sdkClient.listTagsForResource(any(ListTagsForResourceRequest.class))).thenReturn(serviceTags("removed"));
+        when(sdkClient.untagResource(any(UntagResourceRequest.class))).thenReturn(UntagResourceResponse.builder().build());
+        when(sdkClient.tagResource(any(TagResourceRequest.class)))
+            .thenThrow(throttled())
+            .thenReturn(TagResourceResponse.builder().build());
+        final ResourceHandlerRequest<ResourceModel> request = requestAdding("added");
+        final UpdateHandler asyncHandler = new UpdateHandler(ProviderSettings.builder().asyncTagging(true).build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> first =
+            asyncHandler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+        assertThat(first.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(first.getCallbackContext().getUpdateStage()).isEqualTo(UpdateStage.TAG);
+
+        final ProgressEvent<ResourceModel, CallbackContext> second =
+            asyncHandler.handleRequest(proxy, request, first.getCallbackContext(), proxyClient, logger);
+        assertThat(second.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        verify(sdkClient, times(1)).listTagsForResource(any(ListTagsForResourceRequest.class));
+        verify(sdkClient, times(1)).untagResource(any(UntagResourceRequest.class));
+        verify(sdkClient, times(2)).tagResource(any(TagResourceRequest.class));
+    }
+
+    @Test
+    public void handleRequest_LargeTagSetsAreBatched() {
+        final Map<String, String> current = new HashMap<>();
+        for (int i = 0; i < 60; i++) {
+            current.put("old" + i, "value");
+        }
+        final InMemoryEmrwalClient client = new InMemoryEmrwalClient()
+            .withWorkspace(WALWORKSPACE_NAME, current)
+            .withMaxTagsPerCall(TagBatchPipeline.MAX_TAGS_PER_CALL);
+        final Set<Tag> tags = new HashSet<>();
+        for (int i = 0; i < 120; i++) {
+            tags.add(new Tag("new" + i, "value"));
+        }
+        final ResourceModel model = ResourceModel.builder().wALWorkspaceName(WALWORKSPACE_NAME).tags(tags).build();
+        final ResourceHandlerRequest<ResourceModel> request =
+            ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(model).build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = new UpdateHandler(
+            ProviderSettings.builder().asyncTagging(true).tagBatchConcurrency(2).build())
+            .handleRequest(proxy, request, new CallbackContext(), MOCK_PROXY(proxy, client), logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(client.callCount(ApiNames.UNTAG_RESOURCE)).isEqualTo(2);
+        assertThat(client.callCount(ApiNames.TAG_RESOURCE)).isEqualTo(3);
+        assertThat(client.tagsOf(WALWORKSPACE_NAME)).hasSize(120).doesNotContainKey("old0");
+    }
+
+    @Test
+    public void handleRequest_FailedBatchResumesWithRemainingBatches() {
+        when(sdkClient.listTagsForResource(any(ListTagsForResourceRequest.class)))
+            .thenReturn(ListTagsForResourceResponse.builder().build());
+        when(sdkClient.tagResource(any(TagResourceRequest.class)))
+            .thenReturn(TagResourceResponse.builder().build())
+            .thenThrow(throttled())
+            .thenReturn(TagResourceResponse.builder().build());
+        final Set<Tag> tags = new HashSet<>();
+        for (int i = 0; i < 120; i++) {
+            tags.add(new Tag(String.format("key%03d", i), "value"));
+        }
+        final ResourceModel model = ResourceModel.builder().wALWorkspaceName(WALWORKSPACE_NAME).tags(tags).build();
+        final ResourceHandlerRequest<ResourceModel> request =
+            ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(model).build();
+        final UpdateHandler sequentialHandler = new UpdateHandler(ProviderSettings.builder().asyncTagging(false).build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> first =
+            sequentialHandler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+        assertThat(first.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(first.getCallbackContext().getPendingTagsToAdd()).hasSize(70).doesNotContainKey("key049");
+
+        final ProgressEvent<ResourceModel, CallbackContext> second =
+            sequentialHandler.handleRequest(proxy, request, first.getCallbackContext(), proxyClient, logger);
+        assertThat(second.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        final ArgumentCaptor<TagResourceRequest> captor = ArgumentCaptor.forClass(TagResourceRequest.class);
+        verify(sdkClient, times(4)).tagResource(captor.capture());
+        assertThat(captor.getAllValues()).extracting(tagRequest -> tagRequest.tags().size())
+            .containsExactly(50, 50, 50, 20);
+        assertThat(captor.getAllValues().get(2).tags().get(0).key()).isEqualTo("key050");
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> requestAdding(final String key) {
+        Set<Tag> tags = new HashSet<>();
+        tags.add(new Tag(key, "value"));
+        final ResourceModel model = ResourceModel.builder().wALWorkspaceName(WALWORKSPACE_NAME).tags(tags).build();
+        return ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(model).build();
+    }
+
+    private static ListTagsForResourceResponse serviceTags(final String key) {
+        return ListTagsForResourceResponse.builder()
+            .tags(software.amazon.awssdk.services.emrwal.model.Tag.builder().key(key).value("value").build())
+            .build();
+    }
+
+    private static WalThrottlingException throttled() {
+        return WalThrottlingException.builder().message("Rate exceeded").build();
+    }
+
+    private static void awaitPeer(final CountDownLatch bothStarted) throws InterruptedException {
+        bothStarted.countDown();
+        if (!bothStarted.await(5, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("tag and untag did not overlap");
+        }
     }
 }
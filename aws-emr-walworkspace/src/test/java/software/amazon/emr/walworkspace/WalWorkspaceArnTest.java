@@ -0,0 +1,47 @@
+package software.amazon.emr.walworkspace;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class WalWorkspaceArnTest {
+
+    @Test
+    public void of_BuildsArnWithSharedPrefix() {
+        final WalWorkspaceArn first = WalWorkspaceArn.of("aws", "us-east-1", "123456789012", "first");
+        final WalWorkspaceArn second = WalWorkspaceArn.of("aws", "us-east-1", "123456789012", "second");
+        final WalWorkspaceArn otherRegion = WalWorkspaceArn.of("aws", "eu-west-1", "123456789012", "first");
+
+        assertThat(first.toString()).isEqualTo("arn:aws:emrwal:us-east-1:123456789012:workspace/first");
+        assertThat(second.toString()).isEqualTo("arn:aws:emrwal:us-east-1:123456789012:workspace/second");
+        assertThat(otherRegion.toString()).isEqualTo("arn:aws:emrwal:eu-west-1:123456789012:workspace/first");
+        assertThat(first.getWalWorkspaceName()).isEqualTo("first");
+    }
+
+    @Test
+    public void restore_KeepsArnAndName() {
+        final WalWorkspaceArn arn = WalWorkspaceArn.of("aws-cn", "cn-north-1", "123456789012", "Workspace1");
+
+        final WalWorkspaceArn restored = WalWorkspaceArn.restore(arn.toString());
+
+        assertThat(restored).isEqualTo(arn);
+        assertThat(restored.getWalWorkspaceName()).isEqualTo("Workspace1");
+    }
+
+    @Test
+    public void validateName_FollowsSchema() {
+        WalWorkspaceArn.validateName("a");
+        WalWorkspaceArn.validateName("abcdefghijABCDEFGHIJ012345678901");
+
+        assertThatThrownBy(() -> WalWorkspaceArn.validateName(null)).isInstanceOf(CfnInvalidRequestException.class);
+        assertThatThrownBy(() -> WalWorkspaceArn.validateName("")).isInstanceOf(CfnInvalidRequestException.class);
+        assertThatThrownBy(() -> WalWorkspaceArn.validateName("abcdefghijABCDEFGHIJ0123456789012"))
+            .isInstanceOf(CfnInvalidRequestException.class);
+        assertThatThrownBy(() -> WalWorkspaceArn.validateName("with-dash"))
+            .isInstanceOf(CfnInvalidRequestException.class);
+        assertThatThrownBy(() -> WalWorkspaceArn.validateName("café"))
+            .isInstanceOf(CfnInvalidRequestException.class);
+    }
+}
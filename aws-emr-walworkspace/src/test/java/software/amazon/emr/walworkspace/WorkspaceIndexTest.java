@@ -0,0 +1,94 @@
+package software.amazon.emr.walworkspace;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.TestInstance;
+import software.amazon.awssdk.services.emrwal.EmrwalClient;
+import software.amazon.awssdk.services.emrwal.model.ListWorkspacesRequest;
+import software.amazon.awssdk.services.emrwal.model.ListWorkspacesResponse;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@TestInstance(PER_CLASS)
+@ExtendWith(MockitoExtension.class)
+public class WorkspaceIndexTest extends AbstractTestBase {
+
+    @Mock
+    EmrwalClient sdkClient;
+    @Mock
+    private AmazonWebServicesClientProxy proxy;
+    @Mock
+    private ProxyClient<EmrwalClient> proxyClient;
+
+    @BeforeEach
+    public void setup() {
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS,
+            () -> Duration.ofSeconds(600).toMillis());
+        sdkClient = mock(EmrwalClient.class);
+        proxyClient = MOCK_PROXY(proxy, sdkClient);
+    }
+
+    @Test
+    public void contains_stopsOnFirstMatchingPage() {
+        when(sdkClient.listWorkspaces(any(ListWorkspacesRequest.class)))
+            .thenReturn(page("token-1", "first", WALWORKSPACE_NAME))
+            .thenReturn(page(null, "never-read"));
+
+        final WorkspaceIndex index = new WorkspaceIndex(proxyClient);
+
+        assertThat(index.contains(WALWORKSPACE_NAME)).isTrue();
+        assertThat(index.contains("first")).isTrue();
+        assertThat(index.getPagesFetched()).isEqualTo(1);
+        verify(sdkClient, times(1)).listWorkspaces(any(ListWorkspacesRequest.class));
+    }
+
+    @Test
+    public void contains_followsNextToken() {
+        when(sdkClient.listWorkspaces(any(ListWorkspacesRequest.class))).thenAnswer(invocation -> {
+            final ListWorkspacesRequest listRequest = invocation.getArgument(0);
+            return "token-1".equals(listRequest.nextToken())
+                ? page(null, WALWORKSPACE_NAME)
+                : page("token-1", "first");
+        });
+
+        final WorkspaceIndex index = new WorkspaceIndex(proxyClient);
+
+        assertThat(index.contains(WALWORKSPACE_NAME)).isTrue();
+        assertThat(index.getPagesFetched()).isEqualTo(2);
+    }
+
+    @Test
+    public void contains_missingWorkspaceReadsEachPageOnce() {
+        when(sdkClient.listWorkspaces(any(ListWorkspacesRequest.class)))
+            .thenReturn(page("token-1", "first"))
+            .thenReturn(page(null, "second"));
+
+        final WorkspaceIndex index = new WorkspaceIndex(proxyClient);
+
+        assertThat(index.contains(WALWORKSPACE_NAME)).isFalse();
+        assertThat(index.contains("other")).isFalse();
+        assertThat(index.contains("second")).isTrue();
+        assertThat(index.getPagesFetched()).isEqualTo(2);
+    }
+
+    private ListWorkspacesResponse page(final String nextToken, final String... names) {
+        return ListWorkspacesResponse.builder()
+            .walWorkspaceList(Arrays.asList(names))
+            .nextToken(nextToken)
+            .build();
+    }
+}
@@ -0,0 +1,186 @@
+package software.amazon.emr.walworkspace;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.emrwal.EmrwalClient;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WorkspaceMetadataCacheTest extends AbstractTestBase {
+    private static final ProviderSettings CACHING = ProviderSettings.builder()
+        .metadataCacheTtlMillis(60_000)
+        .metadataCacheMaxEntries(16)
+        .build();
+
+    private final AtomicLong now = new AtomicLong();
+
+    @BeforeEach
+    public void setup() {
+        WorkspaceMetadataCache.forSettings(CACHING).invalidateAll();
+    }
+
+    @Test
+    public void get_ExpiresAfterTtl() {
+        final WorkspaceMetadataCache cache = new WorkspaceMetadataCache(1000, 10, now::get);
+        final TagSet tags = TagSet.fromMap(Collections.singletonMap("key", "value"));
+
+        assertThat(cache.get("arn")).isNull();
+        cache.put("arn", tags, cache.generation());
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+        assertThat(cache.get("arn")).isSameAs(tags);
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        assertThat(cache.get("arn")).isNull();
+
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void put_EvictsLeastRecentlyUsed() {
+        final WorkspaceMetadataCache cache = new WorkspaceMetadataCache(1000, 2, now::get);
+
+        cache.put("a", TagSet.empty(), cache.generation());
+        cache.put("b", TagSet.empty(), cache.generation());
+        cache.get("a");
+        cache.put("c", TagSet.empty(), cache.generation());
+
+        assertThat(cache.get("a")).isNotNull();
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("c")).isNotNull();
+        assertThat(cache.getEvictions()).isEqualTo(1);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void put_SkippedWhenInvalidatedDuringRead() {
+        final WorkspaceMetadataCache cache = new WorkspaceMetadataCache(1000, 10, now::get);
+        final TagSet fetched = TagSet.fromMap(Collections.singletonMap("key", "old"));
+
+        final long readGeneration = cache.generation();
+        // An Update of the workspace lands while the read is waiting for ListTagsForResource
+        cache.invalidate("arn");
+        cache.put("arn", fetched, readGeneration);
+        cache.put("other", fetched, readGeneration);
+
+        assertThat(cache.get("arn")).isNull();
+        assertThat(cache.get("other")).isSameAs(fetched);
+        cache.put("arn", fetched, cache.generation());
+        assertThat(cache.get("arn")).isSameAs(fetched);
+    }
+
+    @Test
+    public void put_SkippedWhenInvalidationRecordWasEvicted() {
+        final WorkspaceMetadataCache cache = new WorkspaceMetadataCache(1000, 2, now::get);
+
+        final long readGeneration = cache.generation();
+        cache.invalidate("arn");
+        cache.invalidate("b");
+        cache.invalidate("c");
+        cache.put("arn", TagSet.empty(), readGeneration);
+
+        assertThat(cache.get("arn")).isNull();
+    }
+
+    @Test
+    public void forSettings_DisabledWithoutTtl() {
+        final WorkspaceMetadataCache cache = WorkspaceMetadataCache.forSettings(ProviderSettings.builder().build());
+
+        cache.put("arn", TagSet.empty(), cache.generation());
+
+        assertThat(cache).isSameAs(WorkspaceMetadataCache.DISABLED);
+        assertThat(cache.get("arn")).isNull();
+        assertThat(cache.getMisses()).isZero();
+        assertThat(WorkspaceMetadataCache.forSettings(CACHING)).isSameAs(WorkspaceMetadataCache.forSettings(CACHING));
+    }
+
+    @Test
+    public void get_ConcurrentReadersAndWriters() throws Exception {
+        final WorkspaceMetadataCache cache = new WorkspaceMetadataCache(60_000, 64, System::nanoTime);
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        final String arn = "arn" + (i % 128);
+                        if (cache.get(arn) == null) {
+                            cache.put(arn, TagSet.empty(), cache.generation());
+                        }
+                        if (i % 100 == 0) {
+                            cache.invalidate(arn);
+                        }
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(cache.getHits() + cache.getMisses()).isEqualTo(80_000);
+        assertThat(cache.size()).isLessThanOrEqualTo(64);
+    }
+
+    @Test
+    public void handlers_ReadServedFromCacheUntilInvalidated() {
+        final InMemoryEmrwalClient client = new InMemoryEmrwalClient()
+            .withWorkspace("workspace", Collections.singletonMap("key", "value"));
+        final AmazonWebServicesClientProxy proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS,
+            () -> Duration.ofSeconds(600).toMillis());
+        final ProxyClient<EmrwalClient> proxyClient = MOCK_PROXY(proxy, client);
+        final ResourceModel model = ResourceModel.builder().wALWorkspaceName("workspace").build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> first = new ReadHandler(CACHING)
+            .handleRequest(proxy, request(model), new CallbackContext(), proxyClient, logger);
+        final ProgressEvent<ResourceModel, CallbackContext> second = new ReadHandler(CACHING)
+            .handleRequest(proxy, request(model), new CallbackContext(), proxyClient, logger);
+
+        assertThat(second.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(second.getResourceModel()).isEqualTo(first.getResourceModel());
+        assertThat(client.callCount(ApiNames.LIST_TAGS_FOR_RESOURCE)).isEqualTo(1);
+
+        final ResourceModel updated = ResourceModel.builder()
+            .wALWorkspaceName("workspace")
+            .tags(Collections.singleton(new Tag("key", "updated")))
+            .build();
+        assertThat(new UpdateHandler(CACHING)
+            .handleRequest(proxy, request(updated), new CallbackContext(), proxyClient, logger)
+            .getStatus()).isEqualTo(OperationStatus.SUCCESS);
+
+        final ProgressEvent<ResourceModel, CallbackContext> afterUpdate = new ReadHandler(CACHING)
+            .handleRequest(proxy, request(model), new CallbackContext(), proxyClient, logger);
+        assertThat(afterUpdate.getResourceModel().getTags()).containsExactly(new Tag("key", "updated"));
+
+        new DeleteHandler(CACHING).handleRequest(proxy, request(model), new CallbackContext(), proxyClient, logger);
+        final ProgressEvent<ResourceModel, CallbackContext> afterDelete = new ReadHandler(CACHING)
+            .handleRequest(proxy, request(model), new CallbackContext(), proxyClient, logger);
+        assertThat(afterDelete.getStatus()).isNotEqualTo(OperationStatus.SUCCESS);
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> request(final ResourceModel model) {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(model)
+            .awsPartition("aws")
+            .region("us-east-1")
+            .awsAccountId("123456789012")
+            .build();
+    }
+}